@@ -2,19 +2,24 @@ package mystars;
 
 import mystars.commands.Command;
 import mystars.commands.shared.LoginCommand;
-import mystars.commands.shared.LogoutCommand;
 import mystars.data.course.CourseList;
 import mystars.data.exception.MyStarsException;
+import mystars.data.sender.Notification;
 import mystars.data.shared.AccessDateTime;
-import mystars.data.user.Admin;
 import mystars.data.user.Student;
 import mystars.data.user.UserList;
 import mystars.parser.Parser;
+import mystars.server.SessionServer;
+import mystars.storage.Bootstrap;
+import mystars.storage.SqlStorage;
 import mystars.storage.Storage;
+import mystars.storage.StorageBackend;
 import mystars.ui.AdminUi;
 import mystars.ui.StudentUi;
 import mystars.ui.Ui;
 
+import java.io.IOException;
+import java.util.ArrayList;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -29,19 +34,24 @@ public class MyStars {
     public static Logger logger;
 
     /**
-     * Parser object.
+     * JDBC URL of database to use in place of db folder, null to use db folder.
      */
-    private final Parser parser;
+    private static final String DATABASE_URL = System.getProperty("mystars.database");
 
     /**
-     * Storage handler.
+     * Port to serve sessions on over TCP, null to run a single session on standard input and output.
+     */
+    private static final String SERVER_PORT = System.getProperty("mystars.port");
+
+    /**
+     * Parser object.
      */
-    private final Storage storage;
+    private final Parser parser;
 
     /**
-     * User interface.
+     * Storage handler.
      */
-    private Ui ui;
+    private final StorageBackend storage;
 
     /**
      * List of users.
@@ -58,6 +68,11 @@ public class MyStars {
      */
     private AccessDateTime accessDateTime;
 
+    /**
+     * Error loading data, shown when a session starts, null if data loaded.
+     */
+    private String loadError;
+
     /**
      * Initializes MySTARS.
      */
@@ -65,18 +80,20 @@ public class MyStars {
         logger = Logger.getLogger(MyStars.class.getName());
         logger.setLevel(Level.WARNING);
         parser = new Parser();
-        ui = new StudentUi(parser);
-        storage = new Storage(parser);
+        storage = DATABASE_URL == null ? new Storage(parser) : new SqlStorage(parser, DATABASE_URL);
         try {
-            courses = new CourseList(storage.loadCourses());
-            users = new UserList(storage.loadUsers());
-            users.addDetails(storage.loadStudents(), storage.loadAdmins());
-            accessDateTime = new AccessDateTime(storage.loadAccessPeriod());
-            storage.loadCourseRegisteredStudents(courses, users);
-            storage.loadCourseWaitlistStudents(courses, users);
+            Bootstrap bootstrap = storage.bootstrap();
+            courses = bootstrap.getCourses();
+            users = bootstrap.getUsers();
+            accessDateTime = bootstrap.getAccessDateTime();
+            logger.log(Level.INFO, storage.getLoadReport().toString());
+            ArrayList<Notification> notifications = courses.promoteWaitlistedStudents();
+            storage.saveEnrolments(courses);
+            storage.saveNotifications(notifications);
+            storage.saveSnapshot(courses, users);
 
         } catch (MyStarsException e) {
-            ui.showToUser(e.getMessage());
+            loadError = e.getMessage();
             users = new UserList();
         }
     }
@@ -85,29 +102,89 @@ public class MyStars {
      * Starts MySTARS.
      *
      * @param args Command line argument.
+     * @throws IOException If server port cannot be listened on.
      */
-    public static void main(String[] args) {
-        new MyStars().run();
+    public static void main(String[] args) throws IOException {
+        if (SERVER_PORT == null) {
+            new MyStars().run();
+            return;
+        }
+
+        MyStars myStars = new MyStars();
+        Runtime.getRuntime().addShutdownHook(new Thread(myStars::shutdown));
+        try (SessionServer server = new SessionServer(myStars, Integer.parseInt(SERVER_PORT))) {
+            server.serve();
+        }
     }
 
     /**
-     * Runs MySTARS.
+     * Runs MySTARS on standard input and output, and waits for saves to be written and saves snapshot when the user
+     * exits.
      */
     public void run() {
+        Session session = new Session();
+        run(session);
+        try {
+            storage.flush();
+            storage.saveSnapshot(courses, users);
+        } catch (MyStarsException e) {
+            new StudentUi(session, parser).showToUser(e.getMessage());
+        }
+    }
+
+    /**
+     * Waits for saves so far to be written, such as when a session ends without logging out. Errors are logged.
+     */
+    public void flush() {
+        try {
+            storage.flush();
+        } catch (MyStarsException e) {
+            logger.log(Level.WARNING, e.getMessage());
+        }
+    }
+
+    /**
+     * Writes enrolment changes not yet written and saves snapshot of courses and users, such as when the server
+     * shuts down. The writer thread does not keep the program running, so saves are flushed whether or not snapshot
+     * is enabled. Errors are logged.
+     */
+    public void shutdown() {
+        try {
+            storage.saveEnrolments(courses);
+            storage.flush();
+            storage.saveSnapshot(courses, users);
+        } catch (MyStarsException e) {
+            logger.log(Level.WARNING, e.getMessage());
+        }
+    }
+
+    /**
+     * Runs a session of MySTARS until the user exits.
+     * Sessions may run concurrently, each on its own thread, and snapshot is saved once when the server shuts down
+     * rather than after each session.
+     *
+     * @param session Session to run.
+     */
+    public void run(Session session) {
+        Ui ui = new StudentUi(session, parser);
+        if (loadError != null) {
+            ui.showToUser(loadError);
+        }
         ui.showLine();
         ui.showWelcome();
-        Command command = new LogoutCommand(ui);
-        while (!command.isExit()) {
+        while (!session.isExit()) {
             try {
-                if (!command.isLogin()) {
-                    command = new LoginCommand(ui, users, accessDateTime);
-                } else if (command.getUser() instanceof Student) {
-                    ui = new StudentUi();
-                    command = parser.parseStudentInput(ui.readCommand(), users, (StudentUi) ui, courses, storage);
-                } else if (command.getUser() instanceof Admin) {
-                    ui = new AdminUi();
-                    command = parser.parseAdminInput(ui.readCommand(), users, (AdminUi) ui, courses, storage,
-                            accessDateTime);
+                Command command;
+                if (!session.isLogin()) {
+                    command = new LoginCommand(session, ui, users, accessDateTime, storage);
+                } else if (session.getUser() instanceof Student) {
+                    ui = new StudentUi(session, parser);
+                    command = parser.parseStudentInput(session, ui.readCommand(), users, (StudentUi) ui, courses,
+                            storage);
+                } else {
+                    ui = new AdminUi(session, parser);
+                    command = parser.parseAdminInput(session, ui.readCommand(), users, (AdminUi) ui, courses,
+                            storage, accessDateTime);
                 }
                 command.execute();
             } catch (MyStarsException e) {
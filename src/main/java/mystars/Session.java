@@ -0,0 +1,161 @@
+package mystars;
+
+import mystars.data.user.User;
+
+import java.io.Console;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Scanner;
+
+/**
+ * One user's run of MySTARS, with its own input/output streams, login status and logged in user.
+ * Sessions share courses, users and storage, so several can run in the same process.
+ */
+public class Session {
+
+    /**
+     * Scanner for user input.
+     */
+    private final Scanner in;
+
+    /**
+     * Stream for output to user.
+     */
+    private final PrintStream out;
+
+    /**
+     * If session reads from the process console, so passwords can be read without echo.
+     */
+    private final boolean isConsole;
+
+    /**
+     * Exit status.
+     */
+    private boolean isExit = false;
+
+    /**
+     * Login status.
+     */
+    private boolean isLogin = false;
+
+    /**
+     * Logged in user.
+     */
+    private User user;
+
+    /**
+     * Initializes session on standard input and output.
+     */
+    public Session() {
+        this(System.in, System.out, true);
+    }
+
+    /**
+     * Initializes session on streams, such as those of a network connection.
+     *
+     * @param in  Stream of user input.
+     * @param out Stream for output to user.
+     */
+    public Session(InputStream in, OutputStream out) {
+        this(in, new PrintStream(out, true, StandardCharsets.UTF_8), false);
+    }
+
+    /**
+     * Initializes session.
+     *
+     * @param in        Stream of user input.
+     * @param out       Stream for output to user.
+     * @param isConsole If session reads from the process console.
+     */
+    private Session(InputStream in, PrintStream out, boolean isConsole) {
+        this.in = new Scanner(in, StandardCharsets.UTF_8);
+        this.out = out;
+        this.isConsole = isConsole;
+    }
+
+    /**
+     * Returns next line of user input.
+     *
+     * @return Line of user input.
+     */
+    public String readLine() {
+        return in.nextLine();
+    }
+
+    /**
+     * Returns password from user, without echo if session is on the process console.
+     *
+     * @return Password from user.
+     */
+    public char[] readPassword() {
+        Console console = System.console();
+        if (!isConsole || console == null) {
+            return readLine().toCharArray();
+        }
+
+        return console.readPassword();
+    }
+
+    /**
+     * Prints line to user.
+     *
+     * @param line Line to print.
+     */
+    public void println(String line) {
+        out.println(line);
+    }
+
+    /**
+     * Returns exit status.
+     *
+     * @return Exit status.
+     */
+    public boolean isExit() {
+        return isExit;
+    }
+
+    /**
+     * Sets exit status to true.
+     */
+    public void setExit() {
+        isExit = true;
+    }
+
+    /**
+     * Returns login status.
+     *
+     * @return Login status.
+     */
+    public boolean isLogin() {
+        return isLogin;
+    }
+
+    /**
+     * Sets login status.
+     *
+     * @param isLogin Login status to set.
+     */
+    public void setLoginStatus(boolean isLogin) {
+        this.isLogin = isLogin;
+    }
+
+    /**
+     * Returns logged in user.
+     *
+     * @return User.
+     */
+    public User getUser() {
+        return user;
+    }
+
+    /**
+     * Sets logged in user.
+     *
+     * @param user User to set.
+     */
+    public void setUser(User user) {
+        this.user = user;
+    }
+}
@@ -1,5 +1,6 @@
 package mystars.commands;
 
+import mystars.Session;
 import mystars.data.exception.MyStarsException;
 import mystars.data.user.User;
 
@@ -15,70 +16,78 @@ public abstract class Command {
     public static final String COMMAND_ERROR = "I don't understand what you have entered.";
 
     /**
-     * Exit status.
+     * Session command is run in.
      */
-    private static boolean isExit = false;
+    private final Session session;
 
     /**
-     * Login status.
-     */
-    private static boolean isLogin = false;
-
-    /**
-     * Logged in user.
+     * Initializes session for subclasses.
+     *
+     * @param session Session command is run in.
      */
-    private static User user;
+    protected Command(Session session) {
+        this.session = session;
+    }
 
     /**
-     * Returns MySTARS's exit status.
+     * Returns session's exit status.
      *
      * @return Exit status.
      */
     public boolean isExit() {
-        return isExit;
+        return session.isExit();
     }
 
     /**
-     * Sets MySTARS's exit status to true.
+     * Sets session's exit status to true.
      */
     protected void setExit() {
-        isExit = true;
+        session.setExit();
     }
 
     /**
-     * Returns MySTARS's login status.
+     * Returns session's login status.
      *
      * @return Login status.
      */
     public boolean isLogin() {
-        return isLogin;
+        return session.isLogin();
     }
 
     /**
-     * Sets MySTARS's login status.
+     * Sets session's login status.
      *
      * @param isLogin Login status to set.
      */
     protected void setLoginStatus(boolean isLogin) {
-        Command.isLogin = isLogin;
+        session.setLoginStatus(isLogin);
     }
 
     /**
-     * Returns logged in user.
+     * Returns user logged in to session.
      *
      * @return User.
      */
     public User getUser() {
-        return user;
+        return session.getUser();
     }
 
     /**
-     * Sets logged in user.
+     * Sets user logged in to session.
      *
      * @param user User to set.
      */
     protected void setUser(User user) {
-        Command.user = user;
+        session.setUser(user);
+    }
+
+    /**
+     * Returns session command is run in.
+     *
+     * @return Session.
+     */
+    protected Session getSession() {
+        return session;
     }
 
     /**
@@ -1,9 +1,10 @@
 package mystars.commands.admin;
 
+import mystars.Session;
 import mystars.data.exception.MyStarsException;
 import mystars.data.user.Student;
 import mystars.data.user.UserList;
-import mystars.storage.Storage;
+import mystars.storage.StorageBackend;
 import mystars.ui.AdminUi;
 
 /**
@@ -19,7 +20,7 @@ public class AddStudentCommand extends AdminCommand {
     /**
      * Storage handler.
      */
-    private final Storage storage;
+    private final StorageBackend storage;
 
     /**
      * List of users.
@@ -29,12 +30,13 @@ public class AddStudentCommand extends AdminCommand {
     /**
      * Initializes command for execution.
      *
+     * @param session Session command is run in.
      * @param ui      Ui object.
      * @param storage Storage handler.
      * @param users   List of users.
      */
-    public AddStudentCommand(AdminUi ui, Storage storage, UserList users) {
-        super(ui);
+    public AddStudentCommand(Session session, AdminUi ui, StorageBackend storage, UserList users) {
+        super(session, ui);
         this.storage = storage;
         this.users = users;
     }
@@ -1,15 +1,14 @@
 package mystars.commands.admin;
 
-import mystars.MyStars;
+import mystars.Session;
 import mystars.data.course.Course;
 import mystars.data.course.CourseList;
 import mystars.data.exception.MyStarsException;
-import mystars.data.sender.Sender;
-import mystars.storage.Storage;
+import mystars.data.sender.Notification;
+import mystars.storage.StorageBackend;
 import mystars.ui.AdminUi;
 
-import java.util.logging.Level;
-
+import java.util.ArrayList;
 
 /**
  * Adds or updates course.
@@ -24,7 +23,7 @@ public class AddUpdateCourseCommand extends AdminCommand {
     /**
      * Storage handler.
      */
-    private final Storage storage;
+    private final StorageBackend storage;
 
     /**
      * List of courses.
@@ -32,12 +31,13 @@ public class AddUpdateCourseCommand extends AdminCommand {
     private final CourseList courses;
 
     /**
+     * @param session Session command is run in.
      * @param ui      Ui object.
      * @param storage Storage handler.
      * @param courses List of courses.
      */
-    public AddUpdateCourseCommand(AdminUi ui, Storage storage, CourseList courses) {
-        super(ui);
+    public AddUpdateCourseCommand(Session session, AdminUi ui, StorageBackend storage, CourseList courses) {
+        super(session, ui);
         this.storage = storage;
         this.courses = courses;
     }
@@ -66,19 +66,17 @@ public class AddUpdateCourseCommand extends AdminCommand {
         } else {
             course = ui.getCourseDetails(indexNumber);
 
-            if (!courses.getCourses().stream().allMatch(course::isValidNumOfAUs)) {
+            if (!courses.isValidNumOfAUs(course)) {
                 throw new MyStarsException(DIFFERENT_AU_ERROR);
             }
         }
 
-        Course modifiedCourse = courses.updateCourse(course);
-        if (modifiedCourse.checkWaitlist()) {
-            MyStars.logger.log(Level.INFO, Sender.SEND_MESSAGE);
+        ArrayList<Notification> notifications = courses.updateCourse(course).promoteWaitlistedStudents();
+        storage.saveCourses(courses);
+        storage.saveNotifications(notifications);
+        if (!notifications.isEmpty()) {
             ui.showEmailSent();
         }
-
-
-        storage.saveCourses(courses);
         ui.showCourseList(courses);
     }
 }
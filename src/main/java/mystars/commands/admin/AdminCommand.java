@@ -1,5 +1,6 @@
 package mystars.commands.admin;
 
+import mystars.Session;
 import mystars.commands.Command;
 import mystars.ui.AdminUi;
 
@@ -22,9 +23,11 @@ abstract class AdminCommand extends Command {
     /**
      * Initializes Ui object for subclasses.
      *
-     * @param ui Ui object.
+     * @param session Session command is run in.
+     * @param ui      Ui object.
      */
-    AdminCommand(AdminUi ui) {
+    AdminCommand(Session session, AdminUi ui) {
+        super(session);
         this.ui = ui;
     }
 }
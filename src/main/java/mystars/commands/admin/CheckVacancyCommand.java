@@ -1,5 +1,6 @@
 package mystars.commands.admin;
 
+import mystars.Session;
 import mystars.data.course.CourseList;
 import mystars.data.exception.MyStarsException;
 import mystars.ui.AdminUi;
@@ -22,11 +23,12 @@ public class CheckVacancyCommand extends AdminCommand {
     /**
      * Initializes command for execution.
      *
+     * @param session Session command is run in.
      * @param ui      Ui object.
      * @param courses List of courses.
      */
-    public CheckVacancyCommand(AdminUi ui, CourseList courses) {
-        super(ui);
+    public CheckVacancyCommand(Session session, AdminUi ui, CourseList courses) {
+        super(session, ui);
         this.courses = courses;
     }
 
@@ -1,8 +1,9 @@
 package mystars.commands.admin;
 
+import mystars.Session;
 import mystars.data.exception.MyStarsException;
 import mystars.data.shared.AccessDateTime;
-import mystars.storage.Storage;
+import mystars.storage.StorageBackend;
 import mystars.ui.AdminUi;
 
 /**
@@ -18,7 +19,7 @@ public class EditStudentAccessCommand extends AdminCommand {
     /**
      * Storage handler.
      */
-    private final Storage storage;
+    private final StorageBackend storage;
 
     /**
      * Student's access date/time.
@@ -28,12 +29,14 @@ public class EditStudentAccessCommand extends AdminCommand {
     /**
      * Initializes command for execution.
      *
+     * @param session        Session command is run in.
      * @param ui             Ui object.
      * @param storage        Storage handler.
      * @param accessDateTime Student's access date/time.
      */
-    public EditStudentAccessCommand(AdminUi ui, Storage storage, AccessDateTime accessDateTime) {
-        super(ui);
+    public EditStudentAccessCommand(Session session, AdminUi ui, StorageBackend storage,
+                                    AccessDateTime accessDateTime) {
+        super(session, ui);
         this.storage = storage;
         this.accessDateTime = accessDateTime;
     }
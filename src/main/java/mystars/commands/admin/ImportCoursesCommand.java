@@ -0,0 +1,85 @@
+package mystars.commands.admin;
+
+import mystars.Session;
+import mystars.data.course.Course;
+import mystars.data.course.CourseList;
+import mystars.data.exception.MyStarsException;
+import mystars.data.sender.Notification;
+import mystars.storage.CourseImporter;
+import mystars.storage.StorageBackend;
+import mystars.ui.AdminUi;
+
+import java.nio.file.Paths;
+import java.util.ArrayList;
+
+/**
+ * Adds or updates courses in bulk from a file.
+ */
+public class ImportCoursesCommand extends AdminCommand {
+
+    /**
+     * Command word to trigger this command.
+     */
+    public static final String COMMAND_WORD = "7";
+
+    /**
+     * Storage handler.
+     */
+    private final StorageBackend storage;
+
+    /**
+     * List of courses.
+     */
+    private final CourseList courses;
+
+    /**
+     * Reader of courses to import.
+     */
+    private final CourseImporter importer;
+
+    /**
+     * Initializes command for execution.
+     *
+     * @param session  Session command is run in.
+     * @param ui       Ui object.
+     * @param storage  Storage handler.
+     * @param courses  List of courses.
+     * @param importer Reader of courses to import.
+     */
+    public ImportCoursesCommand(Session session, AdminUi ui, StorageBackend storage, CourseList courses,
+                                CourseImporter importer) {
+        super(session, ui);
+        this.storage = storage;
+        this.courses = courses;
+        this.importer = importer;
+    }
+
+    /**
+     * Asks user for file of courses, and checks every course in it, and the students registered in them, before
+     * adding or updating any of them. Then, transfers waitlisted students to new vacancies and saves courses to file
+     * once. Notifications gathered are queued even if a course cannot be updated.
+     *
+     * @throws MyStarsException If there is issue executing command.
+     */
+    @Override
+    public void execute() throws MyStarsException {
+        ArrayList<Course> importedCourses = importer.read(Paths.get(ui.getImportPath()), courses);
+
+        ArrayList<Notification> notifications = new ArrayList<>();
+        try {
+            for (Course course : importedCourses) {
+                notifications.addAll(courses.updateCourse(course).promoteWaitlistedStudents());
+            }
+        } catch (MyStarsException e) {
+            storage.saveNotifications(notifications);
+            throw e;
+        }
+
+        storage.saveCourses(courses);
+        storage.saveNotifications(notifications);
+        if (!notifications.isEmpty()) {
+            ui.showEmailSent();
+        }
+        ui.showImportedCourses(importedCourses.size());
+    }
+}
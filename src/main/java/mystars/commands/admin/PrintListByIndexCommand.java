@@ -1,10 +1,16 @@
 package mystars.commands.admin;
 
+import mystars.Session;
 import mystars.data.course.CourseList;
+import mystars.data.course.RosterOrder;
 import mystars.data.exception.MyStarsException;
+import mystars.data.user.Student;
 import mystars.data.user.UserList;
 import mystars.ui.AdminUi;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * Prints list of students in an index.
  */
@@ -28,12 +34,13 @@ public class PrintListByIndexCommand extends AdminCommand {
     /**
      * Initializes command for execution.
      *
+     * @param session Session command is run in.
      * @param ui      Ui object.
      * @param courses List of courses.
      * @param users   List of users.
      */
-    public PrintListByIndexCommand(AdminUi ui, CourseList courses, UserList users) {
-        super(ui);
+    public PrintListByIndexCommand(Session session, AdminUi ui, CourseList courses, UserList users) {
+        super(session, ui);
         this.courses = courses;
         this.users = users;
     }
@@ -48,6 +55,10 @@ public class PrintListByIndexCommand extends AdminCommand {
         String indexNumber = ui.getIndexNumber();
         courses.checkIndexNoInList(indexNumber);
 
-        ui.showStudentListByIndex(users, indexNumber);
+        // Students are listed in the order of the list of users, as they always have been.
+        List<Student> students = new ArrayList<>(courses.getRosterByIndex(indexNumber, false, RosterOrder.ENROLMENT, 0,
+                Integer.MAX_VALUE));
+        students.sort(users.getListOrder());
+        ui.showStudentListByIndex(students, indexNumber);
     }
 }
@@ -1,5 +1,8 @@
 package mystars.commands.shared;
 
+import mystars.Session;
+import mystars.data.exception.MyStarsException;
+import mystars.storage.StorageBackend;
 import mystars.ui.Ui;
 
 /**
@@ -10,17 +13,22 @@ public class ExitCommand extends SharedCommand {
     /**
      * Initializes command for execution.
      *
-     * @param ui Ui object.
+     * @param session Session command is run in.
+     * @param ui      Ui object.
+     * @param storage Storage handler.
      */
-    public ExitCommand(Ui ui) {
-        super(ui);
+    public ExitCommand(Session session, Ui ui, StorageBackend storage) {
+        super(session, ui, storage);
     }
 
     /**
-     * Says goodbye to user and exits MySTARS.
+     * Waits for saves to be written, says goodbye to user and exits MySTARS.
+     *
+     * @throws MyStarsException If there is issue saving data.
      */
     @Override
-    public void execute() {
+    public void execute() throws MyStarsException {
+        storage.flush();
         setExit();
 
         ui.showExit();
@@ -1,9 +1,12 @@
 package mystars.commands.shared;
 
+import mystars.Session;
 import mystars.data.exception.MyStarsException;
 import mystars.data.shared.AccessDateTime;
 import mystars.data.user.Student;
+import mystars.data.user.User;
 import mystars.data.user.UserList;
+import mystars.storage.StorageBackend;
 import mystars.ui.Ui;
 
 /**
@@ -24,12 +27,14 @@ public class LoginCommand extends SharedCommand {
     /**
      * Initializes command for execution.
      *
+     * @param session        Session command is run in.
      * @param ui             Ui object.
      * @param users          List of users.
      * @param accessDateTime Student's access date/time.
+     * @param storage        Storage handler.
      */
-    public LoginCommand(Ui ui, UserList users, AccessDateTime accessDateTime) {
-        super(ui);
+    public LoginCommand(Session session, Ui ui, UserList users, AccessDateTime accessDateTime, StorageBackend storage) {
+        super(session, ui, storage);
         this.users = users;
         this.accessDateTime = accessDateTime;
     }
@@ -43,15 +48,17 @@ public class LoginCommand extends SharedCommand {
     public void execute()
             throws MyStarsException {
         char[][] usernameAndPassword = ui.readUsernameAndPassword();
-        setLoginStatus(users.isLoginValid(usernameAndPassword));
-        setUser(users.getUser(usernameAndPassword));
+        // Password is hashed once, as hashing takes most of the time of a login.
+        User user = users.getUser(usernameAndPassword);
+        setLoginStatus(user != null);
+        setUser(user);
 
         if (!isLogin()) {
             ui.showLine();
             throw new MyStarsException(INVALID_LOGIN_ERROR);
         }
 
-        if (users.getUser(usernameAndPassword) instanceof Student && !accessDateTime.isAccessPeriod()) {
+        if (user instanceof Student && !accessDateTime.isAccessPeriod()) {
             ui.showClosed();
 
             checkExit();
@@ -1,5 +1,8 @@
 package mystars.commands.shared;
 
+import mystars.Session;
+import mystars.data.exception.MyStarsException;
+import mystars.storage.StorageBackend;
 import mystars.ui.Ui;
 
 /**
@@ -12,20 +15,30 @@ public class LogoutCommand extends SharedCommand {
      */
     public static final String COMMAND_WORD = "7";
 
+    /**
+     * Command word to trigger this command from the admin menu, which lists logout last.
+     */
+    public static final String ADMIN_COMMAND_WORD = "8";
+
     /**
      * Initializes command for execution.
      *
-     * @param ui Ui object.
+     * @param session Session command is run in.
+     * @param ui      Ui object.
+     * @param storage Storage handler.
      */
-    public LogoutCommand(Ui ui) {
-        super(ui);
+    public LogoutCommand(Session session, Ui ui, StorageBackend storage) {
+        super(session, ui, storage);
     }
 
     /**
-     * Logs out user and asks to exit.
+     * Waits for saves to be written, logs out user and asks to exit.
+     *
+     * @throws MyStarsException If there is issue saving data.
      */
     @Override
-    public void execute() {
+    public void execute() throws MyStarsException {
+        storage.flush();
         setLoginStatus(false);
         ui.showLogout();
 
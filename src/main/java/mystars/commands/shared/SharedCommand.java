@@ -1,6 +1,9 @@
 package mystars.commands.shared;
 
+import mystars.Session;
 import mystars.commands.Command;
+import mystars.data.exception.MyStarsException;
+import mystars.storage.StorageBackend;
 import mystars.ui.Ui;
 
 /**
@@ -19,20 +22,31 @@ abstract class SharedCommand extends Command {
     final Ui ui;
 
     /**
-     * Initializes Ui object for subclasses.
+     * Storage handler.
+     */
+    final StorageBackend storage;
+
+    /**
+     * Initializes Ui object and storage handler for subclasses.
      *
-     * @param ui Ui object.
+     * @param session Session command is run in.
+     * @param ui      Ui object.
+     * @param storage Storage handler.
      */
-    SharedCommand(Ui ui) {
+    SharedCommand(Session session, Ui ui, StorageBackend storage) {
+        super(session);
         this.ui = ui;
+        this.storage = storage;
     }
 
     /**
      * Checks if exit is called.
+     *
+     * @throws MyStarsException If there is issue saving data before exit.
      */
-    void checkExit() {
+    void checkExit() throws MyStarsException {
         if (ui.askExit()) {
-            new ExitCommand(ui).execute();
+            new ExitCommand(getSession(), ui, storage).execute();
         }
     }
 }
@@ -1,12 +1,16 @@
 package mystars.commands.student;
 
+import mystars.Session;
 import mystars.data.course.Course;
 import mystars.data.course.CourseList;
 import mystars.data.exception.MyStarsException;
+import mystars.data.sender.Notification;
 import mystars.data.user.Student;
-import mystars.storage.Storage;
+import mystars.storage.StorageBackend;
 import mystars.ui.StudentUi;
 
+import java.util.ArrayList;
+
 /**
  * Adds course for student.
  */
@@ -25,17 +29,18 @@ public class AddCourseCommand extends StudentCommand {
     /**
      * Storage handler.
      */
-    private final Storage storage;
+    private final StorageBackend storage;
 
     /**
      * Initializes command for execution.
      *
+     * @param session Session command is run in.
      * @param ui      Ui object.
      * @param courses List of courses.
      * @param storage Storage handler.
      */
-    public AddCourseCommand(StudentUi ui, CourseList courses, Storage storage) {
-        super(ui);
+    public AddCourseCommand(Session session, StudentUi ui, CourseList courses, StorageBackend storage) {
+        super(session, ui);
         this.courses = courses;
         this.storage = storage;
     }
@@ -52,17 +57,33 @@ public class AddCourseCommand extends StudentCommand {
 
         Course course = courses.getCourseByIndex(indexNumber);
         Student student = (Student) getUser();
+        ArrayList<Notification> notifications = new ArrayList<>();
 
-        if (course.isVacancy()) {
-            student.addCourseToRegistered(course);
+        if (course.tryClaimVacancy()) {
+            try {
+                student.addCourseToRegistered(course);
+            } catch (MyStarsException e) {
+                course.releaseVacancy();
+                throw e;
+            }
             course.addRegisteredStudent(student);
             ui.showAddedCourse(course, REGISTERED);
         } else {
             student.addCourseToWaitlisted(course);
             course.addWaitlistedStudent(student);
             ui.showAddedCourse(course, WAITLISTED);
+            ui.showWaitlistPosition(course.getWaitlistPosition(student));
+
+            // Another session may have released a vacancy before the student joined the waitlist.
+            if (course.isVacancy()) {
+                notifications = course.promoteWaitlistedStudents();
+            }
         }
 
-        storage.saveCourses(courses);
+        storage.saveEnrolments(courses);
+        storage.saveNotifications(notifications);
+        if (!notifications.isEmpty()) {
+            ui.showEmailSent();
+        }
     }
 }
@@ -1,15 +1,15 @@
 package mystars.commands.student;
 
-import mystars.MyStars;
+import mystars.Session;
 import mystars.data.course.Course;
 import mystars.data.course.CourseList;
 import mystars.data.exception.MyStarsException;
-import mystars.data.sender.Sender;
+import mystars.data.sender.Notification;
 import mystars.data.user.Student;
-import mystars.storage.Storage;
+import mystars.storage.StorageBackend;
 import mystars.ui.StudentUi;
 
-import java.util.logging.Level;
+import java.util.ArrayList;
 
 /**
  * Changes index no for student.
@@ -29,17 +29,18 @@ public class ChangeIndexNoCommand extends StudentCommand {
     /**
      * Storage handler.
      */
-    private final Storage storage;
+    private final StorageBackend storage;
 
     /**
      * Initializes command for execution.
      *
+     * @param session Session command is run in.
      * @param ui      Ui object.
      * @param courses List of courses.
      * @param storage Storage handler.
      */
-    public ChangeIndexNoCommand(StudentUi ui, CourseList courses, Storage storage) {
-        super(ui);
+    public ChangeIndexNoCommand(Session session, StudentUi ui, CourseList courses, StorageBackend storage) {
+        super(session, ui);
         this.courses = courses;
         this.storage = storage;
     }
@@ -66,21 +67,31 @@ public class ChangeIndexNoCommand extends StudentCommand {
             throw new MyStarsException(SAME_INDEX_ERROR);
         } else if (!desiredCourse.isSameCourseCode(currentCourse)) {
             throw new MyStarsException(DIFFERENT_COURSE_ERROR);
-        } else if (!desiredCourse.isVacancy()) {
-            throw new MyStarsException(NO_VACANCY_ERROR);
         }
 
-        student.dropRegisteredCourse(currentCourse);
-        currentCourse.dropRegisteredStudent(student);
-        student.addCourseToRegistered(desiredCourse);
-        desiredCourse.addRegisteredStudent(student);
+        Course[] lockedCourses = Course.lockInOrder(currentCourse, desiredCourse);
+        try {
+            if (!desiredCourse.tryClaimVacancy()) {
+                throw new MyStarsException(NO_VACANCY_ERROR);
+            }
+            try {
+                student.changeRegisteredCourse(currentCourse, desiredCourse);
+            } catch (MyStarsException e) {
+                desiredCourse.releaseVacancy();
+                throw e;
+            }
+            currentCourse.dropRegisteredStudent(student);
+            desiredCourse.addRegisteredStudent(student);
+        } finally {
+            Course.unlock(lockedCourses);
+        }
 
-        if (currentCourse.checkWaitlist()) {
-            MyStars.logger.log(Level.INFO, Sender.SEND_MESSAGE);
+        ArrayList<Notification> notifications = currentCourse.promoteWaitlistedStudents();
+        storage.saveEnrolments(courses);
+        storage.saveNotifications(notifications);
+        if (!notifications.isEmpty()) {
             ui.showEmailSent();
         }
-
-        storage.saveCourses(courses);
         ui.showIndexNoChanged(desiredCourse, currentCourse);
     }
 }
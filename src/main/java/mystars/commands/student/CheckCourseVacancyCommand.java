@@ -1,5 +1,6 @@
 package mystars.commands.student;
 
+import mystars.Session;
 import mystars.data.course.CourseList;
 import mystars.data.exception.MyStarsException;
 import mystars.ui.StudentUi;
@@ -22,11 +23,12 @@ public class CheckCourseVacancyCommand extends StudentCommand {
     /**
      * Initializes command for execution.
      *
+     * @param session Session command is run in.
      * @param ui      Ui object.
      * @param courses List of courses.
      */
-    public CheckCourseVacancyCommand(StudentUi ui, CourseList courses) {
-        super(ui);
+    public CheckCourseVacancyCommand(Session session, StudentUi ui, CourseList courses) {
+        super(session, ui);
         this.courses = courses;
     }
 
@@ -1,16 +1,16 @@
 package mystars.commands.student;
 
-import mystars.MyStars;
+import mystars.Session;
 import mystars.data.course.Course;
 import mystars.data.course.CourseList;
 import mystars.data.exception.MyStarsException;
-import mystars.data.sender.Sender;
+import mystars.data.sender.Notification;
+import mystars.data.sender.NotificationType;
 import mystars.data.user.Student;
-import mystars.storage.Storage;
+import mystars.storage.StorageBackend;
 import mystars.ui.StudentUi;
 
-import java.util.logging.Level;
-
+import java.util.ArrayList;
 
 /**
  * Drops course for student.
@@ -30,17 +30,18 @@ public class DropCourseCommand extends StudentCommand {
     /**
      * Storage handler.
      */
-    private final Storage storage;
+    private final StorageBackend storage;
 
     /**
      * Initializes command for execution.
      *
+     * @param session Session command is run in.
      * @param ui      Ui object.
      * @param courses List of courses.
      * @param storage Storage handler.
      */
-    public DropCourseCommand(StudentUi ui, CourseList courses, Storage storage) {
-        super(ui);
+    public DropCourseCommand(Session session, StudentUi ui, CourseList courses, StorageBackend storage) {
+        super(session, ui);
         this.courses = courses;
         this.storage = storage;
     }
@@ -70,11 +71,14 @@ public class DropCourseCommand extends StudentCommand {
             throw new MyStarsException(COURSE_NOT_FOUND_ERROR);
         }
 
-        if (course.checkWaitlist()) {
-            MyStars.logger.log(Level.INFO, Sender.SEND_MESSAGE);
+        ArrayList<Notification> notifications = course.promoteWaitlistedStudents();
+        boolean isWaitlistPromoted = !notifications.isEmpty();
+        notifications.add(new Notification(student.getEmail(), course.getCourseCode(), course.getIndexNumber(),
+                student.getName(), NotificationType.DROP));
+        storage.saveEnrolments(courses);
+        storage.saveNotifications(notifications);
+        if (isWaitlistPromoted) {
             ui.showEmailSent();
         }
-
-        storage.saveCourses(courses);
     }
 }
@@ -1,5 +1,6 @@
 package mystars.commands.student;
 
+import mystars.Session;
 import mystars.data.user.Student;
 import mystars.ui.StudentUi;
 
@@ -16,10 +17,11 @@ public class PrintCourseRegCommand extends StudentCommand {
     /**
      * Initializes command for execution.
      *
-     * @param ui Ui object.
+     * @param session Session command is run in.
+     * @param ui      Ui object.
      */
-    public PrintCourseRegCommand(StudentUi ui) {
-        super(ui);
+    public PrintCourseRegCommand(Session session, StudentUi ui) {
+        super(session, ui);
     }
 
     /**
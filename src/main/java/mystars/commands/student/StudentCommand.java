@@ -1,5 +1,6 @@
 package mystars.commands.student;
 
+import mystars.Session;
 import mystars.commands.Command;
 import mystars.ui.StudentUi;
 
@@ -76,9 +77,11 @@ public abstract class StudentCommand extends Command {
     /**
      * Initializes Ui object for subclasses.
      *
-     * @param ui Ui object.
+     * @param session Session command is run in.
+     * @param ui      Ui object.
      */
-    StudentCommand(StudentUi ui) {
+    StudentCommand(Session session, StudentUi ui) {
+        super(session);
         this.ui = ui;
     }
 }
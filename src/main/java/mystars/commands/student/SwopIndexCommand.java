@@ -1,13 +1,19 @@
 package mystars.commands.student;
 
+import mystars.Session;
 import mystars.data.course.Course;
 import mystars.data.course.CourseList;
 import mystars.data.exception.MyStarsException;
+import mystars.data.sender.Notification;
+import mystars.data.sender.NotificationType;
 import mystars.data.user.Student;
+import mystars.data.user.User;
 import mystars.data.user.UserList;
-import mystars.storage.Storage;
+import mystars.storage.StorageBackend;
 import mystars.ui.StudentUi;
 
+import java.util.List;
+
 /**
  * Swops index no. for student.
  */
@@ -26,7 +32,7 @@ public class SwopIndexCommand extends StudentCommand {
     /**
      * Storage handler.
      */
-    private final Storage storage;
+    private final StorageBackend storage;
 
     /**
      * List of users.
@@ -36,13 +42,14 @@ public class SwopIndexCommand extends StudentCommand {
     /**
      * Initializes command for execution.
      *
+     * @param session Session command is run in.
      * @param ui      Ui object.
      * @param courses List of courses.
      * @param storage Storage handler.
      * @param users   List of users.
      */
-    public SwopIndexCommand(StudentUi ui, CourseList courses, Storage storage, UserList users) {
-        super(ui);
+    public SwopIndexCommand(Session session, StudentUi ui, CourseList courses, StorageBackend storage, UserList users) {
+        super(session, ui);
         this.courses = courses;
         this.storage = storage;
         this.users = users;
@@ -67,47 +74,71 @@ public class SwopIndexCommand extends StudentCommand {
         Course peerCourse = courses.getCourseByIndex(peerIndexNumber);
 
         char[][] usernameAndPassword = ui.readUsernameAndPassword();
-        if (!(users.getUser(usernameAndPassword) instanceof Student)) {
+        User user = users.getUser(usernameAndPassword);
+        if (!(user instanceof Student)) {
             throw new MyStarsException(INVALID_USER_ERROR);
         }
 
-        Student peer = (Student) users.getUser(usernameAndPassword);
+        Student peer = (Student) user;
 
         if (peer.equals(student)) {
             throw new MyStarsException(SAME_USER_ERROR);
-        } else if (!student.getRegisteredCourses().isIndexNoInList(originalIndexNumber)
-                || !peer.getRegisteredCourses().isIndexNoInList(peerIndexNumber)) {
-            throw new MyStarsException(NOT_REGISTERED_ERROR);
         }
 
-        if (student.getRegisteredCourses().getCourseByIndex(originalIndexNumber)
-                .isSameCourseCode(peer.getRegisteredCourses().getCourseByIndex(peerIndexNumber))) {
-            // Drop courses
-            student.dropRegisteredCourse(currentCourse);
-            peer.dropRegisteredCourse(peerCourse);
-            currentCourse.dropRegisteredStudent(student);
-            peerCourse.dropRegisteredStudent(peer);
+        Course[] lockedCourses = Course.lockInOrder(currentCourse, peerCourse);
+        boolean isSwopped;
+        try {
+            isSwopped = swop(student, currentCourse, peer, peerCourse);
+        } finally {
+            Course.unlock(lockedCourses);
+        }
+
+        ui.showIndexSwop(currentCourse, peerCourse, student, peer);
+
+        storage.saveEnrolments(courses);
+        if (isSwopped) {
+            storage.saveNotifications(List.of(
+                    new Notification(student.getEmail(), peerCourse.getCourseCode(), peerCourse.getIndexNumber(),
+                            student.getName(), NotificationType.SWOP),
+                    new Notification(peer.getEmail(), currentCourse.getCourseCode(), currentCourse.getIndexNumber(),
+                            peer.getName(), NotificationType.SWOP)));
+        }
+    }
 
+    /**
+     * Swops indexes of student and peer, with both courses locked.
+     * Neither vacancy is given up, so other sessions cannot take either seat midway.
+     *
+     * @param student       Student swopping.
+     * @param currentCourse Course of student.
+     * @param peer          Peer swopping.
+     * @param peerCourse    Course of peer.
+     * @return True if indexes are swopped, false if either student cannot change index.
+     * @throws MyStarsException If either is not registered for their course, or courses are different.
+     */
+    private boolean swop(Student student, Course currentCourse, Student peer, Course peerCourse)
+            throws MyStarsException {
+        if (!student.isCourseInRegistered(currentCourse) || !peer.isCourseInRegistered(peerCourse)) {
+            throw new MyStarsException(NOT_REGISTERED_ERROR);
+        } else if (!currentCourse.isSameCourseCode(peerCourse)) {
+            throw new MyStarsException(DIFFERENT_COURSE_ERROR);
+        }
+
+        try {
+            student.changeRegisteredCourse(currentCourse, peerCourse);
             try {
-                // Add courses
-                student.addCourseToRegistered(peerCourse);
-                peer.addCourseToRegistered(currentCourse);
-                peerCourse.addRegisteredStudent(student);
-                currentCourse.addRegisteredStudent(peer);
+                peer.changeRegisteredCourse(peerCourse, currentCourse);
             } catch (MyStarsException e) {
-                // Undo dropping of course if there is error adding courses
-                student.addCourseToRegistered(currentCourse);
-                currentCourse.addRegisteredStudent(student);
-                peer.addCourseToRegistered(peerCourse);
-                peerCourse.addRegisteredStudent(peer);
-                ui.showToUser(e.getMessage());
+                // Undo change of student's index if peer's index cannot be changed
+                student.changeRegisteredCourse(peerCourse, currentCourse);
+                throw e;
             }
-        } else {
-            throw new MyStarsException(DIFFERENT_COURSE_ERROR);
+        } catch (MyStarsException e) {
+            ui.showToUser(e.getMessage());
+            return false;
         }
-
-        ui.showIndexSwop(currentCourse, peerCourse, student, peer);
-
-        storage.saveCourses(courses);
+        currentCourse.replaceRegisteredStudent(student, peer);
+        peerCourse.replaceRegisteredStudent(peer, student);
+        return true;
     }
 }
@@ -0,0 +1,79 @@
+package mystars.data.course;
+
+import java.util.HashMap;
+
+/**
+ * Number of AUs of each course code in a list of courses, with the number of indexes counted under it, to check that
+ * every index of a course code has the same number of AUs with one lookup. Course codes are upper-cased.
+ */
+class AuRegistry {
+
+    /**
+     * Different AUs from other indexes error message.
+     */
+    private static final String DIFFERENT_AU_ERROR = "%s has %d AUs, but other indexes of the course have %d AUs.";
+
+    /**
+     * Number of AUs by course code, taken from the first index counted.
+     */
+    private final HashMap<String, Integer> noOfAUsByCourseCode = new HashMap<>();
+
+    /**
+     * Number of indexes counted by course code.
+     */
+    private final HashMap<String, Integer> noOfIndexesByCourseCode = new HashMap<>();
+
+    /**
+     * Counts index of course code. The number of AUs is kept if the course code already has indexes.
+     *
+     * @param courseCode Upper-cased course code.
+     * @param noOfAUs    Number of AUs of index.
+     */
+    void register(String courseCode, int noOfAUs) {
+        noOfAUsByCourseCode.putIfAbsent(courseCode, noOfAUs);
+        noOfIndexesByCourseCode.merge(courseCode, 1, Integer::sum);
+    }
+
+    /**
+     * Stops counting an index of course code, forgetting its number of AUs once it has no index left.
+     *
+     * @param courseCode Upper-cased course code.
+     */
+    void unregister(String courseCode) {
+        Integer noOfIndexes = noOfIndexesByCourseCode.get(courseCode);
+        if (noOfIndexes == null) {
+            return;
+        }
+        if (noOfIndexes > 1) {
+            noOfIndexesByCourseCode.put(courseCode, noOfIndexes - 1);
+        } else {
+            noOfIndexesByCourseCode.remove(courseCode);
+            noOfAUsByCourseCode.remove(courseCode);
+        }
+    }
+
+    /**
+     * Returns if course has the same number of AUs as its course code, not counting indexes about to be replaced.
+     *
+     * @param course       Course to check.
+     * @param noOfReplaced Number of indexes of the course code about to be replaced.
+     * @return True if same number of AUs or no other index is kept, false otherwise.
+     */
+    boolean isValid(Course course, int noOfReplaced) {
+        String courseCode = course.getCourseCode().toUpperCase();
+        Integer noOfAUs = noOfAUsByCourseCode.get(courseCode);
+        return noOfAUs == null || noOfAUs == course.getNumOfAUs()
+                || noOfIndexesByCourseCode.get(courseCode) <= noOfReplaced;
+    }
+
+    /**
+     * Returns why course does not have the number of AUs of its course code.
+     *
+     * @param course Course that is not valid.
+     * @return Message comparing number of AUs of course to that of its course code.
+     */
+    String getViolation(Course course) {
+        return String.format(DIFFERENT_AU_ERROR, course.getCourseCode(), course.getNumOfAUs(),
+                noOfAUsByCourseCode.get(course.getCourseCode().toUpperCase()));
+    }
+}
@@ -4,17 +4,28 @@ import mystars.MyStars;
 import mystars.data.course.lesson.Lesson;
 import mystars.data.course.lesson.LessonList;
 import mystars.data.exception.MyStarsException;
-import mystars.data.sender.EmailSender;
-import mystars.data.sender.Sender;
+import mystars.data.sender.Notification;
 import mystars.data.user.Student;
 import mystars.parser.Parser;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.logging.Level;
 import java.util.stream.Collectors;
 
 /**
  * Course object.
+ * Vacancies are claimed with an atomic counter so that sessions can register concurrently. Registered students are
+ * kept in a concurrent queue, whose removal of a student is linear in the number registered, and waitlisted students
+ * in a synchronized {@link Waitlist}. Operations on several courses lock them with {@link #lockInOrder(Course...)}.
  */
 public class Course {
 
@@ -41,7 +52,7 @@ public class Course {
     /**
      * Number of vacancies.
      */
-    private int initialVacancies;
+    private volatile int initialVacancies;
 
     /**
      * List of lessons.
@@ -64,14 +75,39 @@ public class Course {
     private int numOfAUs;
 
     /**
-     * List of registered students.
+     * Registered students, in order of registration.
      */
-    private ArrayList<Student> registeredStudents;
+    private ConcurrentLinkedQueue<Student> registeredStudents;
 
     /**
-     * List of waitlisted students.
+     * Waitlisted students, in order of waitlisting.
      */
-    private ArrayList<Student> waitlistedStudents;
+    private Waitlist waitlistedStudents;
+
+    /**
+     * Number of vacancies claimed, by registered students and by students about to be registered.
+     */
+    private final AtomicInteger noOfClaimedVacancies = new AtomicInteger();
+
+    /**
+     * Number of claimed vacancies left by dropped students and kept for waitlisted students.
+     */
+    private final AtomicInteger noOfReservedVacancies = new AtomicInteger();
+
+    /**
+     * Lock for promoting waitlisted students and for operations on several courses.
+     */
+    private final ReentrantLock lock = new ReentrantLock();
+
+    /**
+     * Enrolment changes not yet saved to journal.
+     */
+    private final ConcurrentLinkedDeque<String> pendingChanges;
+
+    /**
+     * Version of course, incremented whenever course details or students change.
+     */
+    private final AtomicInteger version = new AtomicInteger();
 
     /**
      * Initializes course object.
@@ -93,6 +129,7 @@ public class Course {
         setLessonList(lessonList);
         setRegisteredStudents(new ArrayList<>());
         setWaitlistedStudents(new ArrayList<>());
+        pendingChanges = new ConcurrentLinkedDeque<>();
     }
 
     /**
@@ -113,13 +150,31 @@ public class Course {
         return indexNumber;
     }
 
+    /**
+     * Returns school code.
+     *
+     * @return School code.
+     */
+    public String getSchool() {
+        return school;
+    }
+
+    /**
+     * Returns list of lessons.
+     *
+     * @return List of lessons.
+     */
+    public LessonList getLessonList() {
+        return lessonList;
+    }
+
     /**
      * Returns number of available vacancies.
      *
      * @return Number of available vacancies.
      */
     public int getVacancies() {
-        return getInitialVacancies() - getRegisteredStudents().size();
+        return getInitialVacancies() - noOfClaimedVacancies.get();
     }
 
     /**
@@ -150,39 +205,71 @@ public class Course {
     }
 
     /**
-     * Returns list of registered students.
+     * Returns registered students.
      *
-     * @return Number of AUs.
+     * @return Registered students, in order of registration.
      */
-    ArrayList<Student> getRegisteredStudents() {
+    Collection<Student> getRegisteredStudents() {
         return registeredStudents;
     }
 
+    /**
+     * Returns read-only copy of registered students.
+     *
+     * @return Registered students.
+     */
+    public List<Student> getRegisteredStudentList() {
+        return Collections.unmodifiableList(new ArrayList<>(getRegisteredStudents()));
+    }
+
     /**
      * Sets registered students.
      *
      * @param students Registered students to set.
      */
     public void setRegisteredStudents(ArrayList<Student> students) {
-        registeredStudents = students;
+        registeredStudents = new ConcurrentLinkedQueue<>(students);
+        noOfClaimedVacancies.set(students.size());
+        noOfReservedVacancies.set(0);
+        version.incrementAndGet();
     }
 
     /**
-     * Returns list of waitlisted students.
+     * Returns waitlisted students.
      *
-     * @return Number of AUs.
+     * @return Waitlisted students, in order of waitlisting.
      */
-    ArrayList<Student> getWaitlistedStudents() {
+    Waitlist getWaitlistedStudents() {
         return waitlistedStudents;
     }
 
+    /**
+     * Returns read-only copy of waitlisted students.
+     *
+     * @return Waitlisted students.
+     */
+    public List<Student> getWaitlistedStudentList() {
+        return Collections.unmodifiableList(getWaitlistedStudents().toList());
+    }
+
+    /**
+     * Returns position of student in waitlist.
+     *
+     * @param student Student to find.
+     * @return Position from 1 at the head, 0 if student is not waitlisted.
+     */
+    public int getWaitlistPosition(Student student) {
+        return getWaitlistedStudents().getPosition(student);
+    }
+
     /**
      * Sets waitlisted students.
      *
      * @param students Waitlisted students to set.
      */
     public void setWaitlistedStudents(ArrayList<Student> students) {
-        waitlistedStudents = students;
+        waitlistedStudents = new Waitlist(students);
+        version.incrementAndGet();
     }
 
     /**
@@ -192,6 +279,58 @@ public class Course {
      */
     public void setLessonList(LessonList lessonList) {
         this.lessonList = lessonList;
+        version.incrementAndGet();
+    }
+
+    /**
+     * Claims a vacancy for a student about to be registered, if there is one.
+     * The claim must be followed by {@link #addRegisteredStudent(Student)} or {@link #releaseVacancy()}.
+     *
+     * @return True if a vacancy was claimed, false if there is no vacancy.
+     */
+    public boolean tryClaimVacancy() {
+        while (true) {
+            int noOfClaimed = noOfClaimedVacancies.get();
+            if (noOfClaimed >= getInitialVacancies()) {
+                return false;
+            }
+            if (noOfClaimedVacancies.compareAndSet(noOfClaimed, noOfClaimed + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Releases a vacancy claimed for a student who was not registered after all.
+     */
+    public void releaseVacancy() {
+        noOfClaimedVacancies.decrementAndGet();
+    }
+
+    /**
+     * Locks courses in order of index number, so that sessions locking the same courses cannot deadlock.
+     *
+     * @param courses Courses to lock.
+     * @return Courses locked, to pass to {@link #unlock(Course[])}.
+     */
+    public static Course[] lockInOrder(Course... courses) {
+        Course[] lockedCourses = courses.clone();
+        Arrays.sort(lockedCourses, Comparator.comparing(Course::getIndexNumber));
+        for (Course course : lockedCourses) {
+            course.lock.lock();
+        }
+        return lockedCourses;
+    }
+
+    /**
+     * Unlocks courses locked by {@link #lockInOrder(Course...)}.
+     *
+     * @param lockedCourses Courses locked.
+     */
+    public static void unlock(Course[] lockedCourses) {
+        for (int i = lockedCourses.length - 1; i >= 0; i--) {
+            lockedCourses[i].lock.unlock();
+        }
     }
 
     /**
@@ -239,8 +378,7 @@ public class Course {
      * @return True if the courses clash, false otherwise.
      */
     public boolean isClash(Course courseToAdd) {
-        return courseToAdd.lessonList.getLessons().stream()
-                .anyMatch(lesson -> lessonList.getLessons().stream().anyMatch(lesson::isClash));
+        return lessonList.isClash(courseToAdd.lessonList);
     }
 
     /**
@@ -253,16 +391,6 @@ public class Course {
         return course.getIndexNumber().equals(getIndexNumber());
     }
 
-    /**
-     * Checks if number of AUs between 2 indexes with same course code are the same.
-     *
-     * @param course Course to check.
-     * @return True if same number of AUs, false otherwise.
-     */
-    public boolean isValidNumOfAUs(Course course) {
-        return !isSameCourseCode(course) || getNumOfAUs() == course.getNumOfAUs();
-    }
-
     /**
      * Course formatted for table.
      *
@@ -289,7 +417,7 @@ public class Course {
      * @return String formatted for storage in waitlisted.txt.
      */
     public String getWaitlistedFormattedString() {
-        return String.join(Parser.LINE_SEPARATOR, getIndexNumber(), getWaitlistedStudents().stream()
+        return String.join(Parser.LINE_SEPARATOR, getIndexNumber(), getWaitlistedStudents().toList().stream()
                 .map(Student::getMatricNo).collect(Collectors.joining(Parser.LINE_SEPARATOR)));
     }
 
@@ -314,21 +442,45 @@ public class Course {
     }
 
     /**
-     * Adds student to registered list.
+     * Adds student to registered list, using a vacancy claimed by {@link #tryClaimVacancy()}.
      *
      * @param student Student to add.
      */
     public void addRegisteredStudent(Student student) {
         getRegisteredStudents().add(student);
+        recordChange(EnrolmentChange.REGISTER, student);
     }
 
     /**
      * Drops student from registered list.
+     * If students are waitlisted, the vacancy is kept for them instead of being released to any session,
+     * and is given out by {@link #promoteWaitlistedStudents()}.
      *
      * @param student Student to drop.
      */
     public void dropRegisteredStudent(Student student) {
-        getRegisteredStudents().remove(student);
+        if (getRegisteredStudents().remove(student)) {
+            recordChange(EnrolmentChange.DROP, student);
+            if (isThereWaitlistedStudents()) {
+                noOfReservedVacancies.incrementAndGet();
+            } else {
+                releaseVacancy();
+            }
+        }
+    }
+
+    /**
+     * Replaces registered student with another student, keeping the vacancy.
+     *
+     * @param student    Student to drop.
+     * @param newStudent Student to add.
+     */
+    public void replaceRegisteredStudent(Student student, Student newStudent) {
+        if (getRegisteredStudents().remove(student)) {
+            recordChange(EnrolmentChange.DROP, student);
+            getRegisteredStudents().add(newStudent);
+            recordChange(EnrolmentChange.REGISTER, newStudent);
+        }
     }
 
     /**
@@ -339,17 +491,113 @@ public class Course {
 
     public void addWaitlistedStudent(Student student) {
         getWaitlistedStudents().add(student);
+        recordChange(EnrolmentChange.WAITLIST, student);
     }
 
     /**
      * Drops student from waitlisted list.
+     * The course is locked, so that positions do not shift while waitlisted students are promoted.
      *
      * @param student Student to drop.
      */
     public void dropWaitlistedStudent(Student student) {
+        lock.lock();
+        try {
+            if (getWaitlistedStudents().remove(student)) {
+                recordChange(EnrolmentChange.UNWAITLIST, student);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Moves student from waitlisted list to registered list, using a vacancy already claimed.
+     *
+     * @param student Student to promote.
+     */
+    private void promoteWaitlistedStudent(Student student) {
         getWaitlistedStudents().remove(student);
+        getRegisteredStudents().add(student);
+        recordChange(EnrolmentChange.PROMOTE, student);
+    }
+
+    /**
+     * Claims a vacancy for a waitlisted student, preferring vacancies kept for waitlisted students.
+     *
+     * @return True if a vacancy was claimed, false if there is no vacancy.
+     */
+    private boolean tryClaimVacancyForWaitlist() {
+        while (true) {
+            int noOfReserved = noOfReservedVacancies.get();
+            if (noOfReserved == 0) {
+                return tryClaimVacancy();
+            }
+            if (noOfReservedVacancies.compareAndSet(noOfReserved, noOfReserved - 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Releases vacancies kept for waitlisted students that could not be given out.
+     */
+    private void releaseReservedVacancies() {
+        noOfClaimedVacancies.addAndGet(-noOfReservedVacancies.getAndSet(0));
+    }
+
+    /**
+     * Records enrolment change to be saved to journal.
+     *
+     * @param change  Type of change.
+     * @param student Student involved.
+     */
+    private void recordChange(EnrolmentChange change, Student student) {
+        pendingChanges.add(String.join(Parser.LINE_SEPARATOR, change.name(), getIndexNumber(),
+                student.getMatricNo()));
+        version.incrementAndGet();
     }
 
+    /**
+     * Returns version of course, which changes whenever course details or students change.
+     *
+     * @return Version of course.
+     */
+    public int getVersion() {
+        return version.get();
+    }
+
+    /**
+     * Removes and returns enrolment changes not yet saved, formatted for storage in journal.txt.
+     * Changes recorded meanwhile by other sessions are left for the next save.
+     *
+     * @return Enrolment changes formatted for storage in journal.txt, oldest first.
+     */
+    public ArrayList<String> takePendingChanges() {
+        ArrayList<String> changes = new ArrayList<>();
+        for (String change = pendingChanges.poll(); change != null; change = pendingChanges.poll()) {
+            changes.add(change);
+        }
+        return changes;
+    }
+
+    /**
+     * Discards enrolment changes, such as those made while loading.
+     */
+    public void clearPendingChanges() {
+        pendingChanges.clear();
+    }
+
+    /**
+     * Puts back enrolment changes that failed to save, ahead of changes recorded since.
+     *
+     * @param changes Enrolment changes taken by {@link #takePendingChanges()}.
+     */
+    public void restorePendingChanges(List<String> changes) {
+        for (int i = changes.size() - 1; i >= 0; i--) {
+            pendingChanges.addFirst(changes.get(i));
+        }
+    }
 
     /**
      * Checks if there is enough vacancies for students.
@@ -358,40 +606,42 @@ public class Course {
      * @throws MyStarsException If there is not enough vacancies.
      */
     public void checkEnoughVacancies(int vacancy) throws MyStarsException {
-        if (getRegisteredStudents().size() > vacancy) {
+        if (noOfClaimedVacancies.get() > vacancy) {
             throw new MyStarsException(VACANCY_ERROR);
         }
     }
 
     /**
-     * Returns if there is waitlisted student to transfer to registered list.
-     * True also means notification is sent.
-     *
-     * @return If there is waitlisted student to transfer to registered list.
-     * @throws MyStarsException If notification fails to send.
-     */
-    public boolean checkWaitlist() throws MyStarsException {
-        boolean isTransfer = false;
-        for (int i = 0; isThereWaitlistedStudents() && isVacancy(); i++) {
-            Student studentToNotify = getWaitlistedStudents().get(i);
-            try {
-                studentToNotify.dropWaitlistedCourse(this);
-                studentToNotify.addCourseToRegistered(this);
-            } catch (MyStarsException e) {
-                MyStars.logger.log(Level.WARNING, e.getMessage());
-                continue;
+     * Transfers waitlisted students to registered list while there are vacancies,
+     * and returns notifications for the students transferred without sending them.
+     *
+     * @return Notifications for students transferred.
+     */
+    public ArrayList<Notification> promoteWaitlistedStudents() {
+        ArrayList<Notification> notifications = new ArrayList<>();
+        lock.lock();
+        try {
+            // Students who cannot be registered stay waitlisted ahead of this position.
+            int position = 0;
+            while (position < getWaitlistedSize() && tryClaimVacancyForWaitlist()) {
+                Student studentToNotify = getWaitlistedStudents().get(position);
+                try {
+                    studentToNotify.promoteWaitlistedCourse(this);
+                } catch (MyStarsException e) {
+                    MyStars.logger.log(Level.WARNING, e.getMessage());
+                    releaseVacancy();
+                    position++;
+                    continue;
+                }
+                promoteWaitlistedStudent(studentToNotify);
+                notifications.add(new Notification(studentToNotify.getEmail(), getCourseCode(), getIndexNumber(),
+                        studentToNotify.getName()));
             }
-            dropWaitlistedStudent(studentToNotify);
-            addRegisteredStudent(studentToNotify);
-
-            // This could be called in a loop iterating through an ArrayList of Senders.
-            // As such, we can loop through this statement to send via other methods.
-            sendToStudent(studentToNotify, new EmailSender(studentToNotify.getEmail()));
-
-            i--;
-            isTransfer = true;
+            releaseReservedVacancies();
+        } finally {
+            lock.unlock();
         }
-        return isTransfer;
+        return notifications;
     }
 
     /**
@@ -419,15 +669,4 @@ public class Course {
         numOfAUs = newCourse.getNumOfAUs();
         setLessonList(newCourse.lessonList);
     }
-
-    /**
-     * Send notification to student.
-     *
-     * @param studentToNotify Student to notify.
-     * @param sender          Type of sender.
-     * @throws MyStarsException If there is problem sending.
-     */
-    private void sendToStudent(Student studentToNotify, Sender sender) throws MyStarsException {
-        sender.send(getCourseCode(), getIndexNumber(), studentToNotify.getName());
-    }
 }
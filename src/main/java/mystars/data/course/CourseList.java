@@ -1,12 +1,21 @@
 package mystars.data.course;
 
+import mystars.data.course.lesson.Timetable;
 import mystars.data.exception.MyStarsException;
+import mystars.data.sender.Notification;
 import mystars.data.user.Student;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
 
 /**
  * List of courses, along with helpful functions.
+ * Methods are synchronized, as the list of all courses is shared by every session.
  */
 public class CourseList {
 
@@ -25,6 +34,46 @@ public class CourseList {
      */
     private final ArrayList<Course> courses;
 
+    /**
+     * Courses by index number.
+     */
+    private final HashMap<String, Course> coursesByIndex = new HashMap<>();
+
+    /**
+     * Index numbers by upper-cased course code.
+     */
+    private final HashMap<String, LinkedHashSet<String>> indexesByCourseCode = new HashMap<>();
+
+    /**
+     * Upper-cased course code each index number is filed under in {@link #indexesByCourseCode}.
+     */
+    private final HashMap<String, String> courseCodesByIndex = new HashMap<>();
+
+    /**
+     * Number of AUs each index number was counted with in {@link #totalNoOfAUs}.
+     */
+    private final HashMap<String, Integer> noOfAUsByIndex = new HashMap<>();
+
+    /**
+     * Number of AUs of each course code, updated as courses are added, updated and dropped.
+     */
+    private final AuRegistry auRegistry = new AuRegistry();
+
+    /**
+     * Total number of AUs of courses.
+     */
+    private int totalNoOfAUs;
+
+    /**
+     * Time slots occupied by courses.
+     */
+    private Timetable occupancy = new Timetable();
+
+    /**
+     * If a course was dropped or changed since occupancy was built.
+     */
+    private boolean isOccupancyStale;
+
     /**
      * Initialise CourseList object.
      */
@@ -39,15 +88,127 @@ public class CourseList {
      */
     public CourseList(ArrayList<Course> courses) {
         this.courses = courses;
+        for (Course course : courses) {
+            addToIndexes(course);
+        }
     }
 
     /**
-     * Returns list of courses.
+     * Returns read-only copy of list of courses.
      *
      * @return List of courses.
      */
-    public ArrayList<Course> getCourses() {
-        return courses;
+    public synchronized List<Course> getCourses() {
+        return Collections.unmodifiableList(new ArrayList<>(courses));
+    }
+
+    /**
+     * Returns courses of given course code, in the order they were added.
+     *
+     * @param courseCode Course code, in any case.
+     * @return Courses with that course code.
+     */
+    public synchronized ArrayList<Course> getCoursesByCode(String courseCode) {
+        ArrayList<Course> coursesOfCode = new ArrayList<>();
+        for (String indexNumber : indexesByCourseCode.getOrDefault(courseCode.toUpperCase(),
+                new LinkedHashSet<>())) {
+            coursesOfCode.add(coursesByIndex.get(indexNumber));
+        }
+        return coursesOfCode;
+    }
+
+    /**
+     * Returns a page of the registered or waitlisted students of an index.
+     *
+     * @param indexNumber  Index number of course.
+     * @param isWaitlisted True for waitlisted students, false for registered students.
+     * @param order        Order of students.
+     * @param offset       Number of students to skip.
+     * @param limit        Maximum number of students to return.
+     * @return Students of the index, empty if index is not in list.
+     */
+    public List<Student> getRosterByIndex(String indexNumber, boolean isWaitlisted, RosterOrder order, int offset,
+                                          int limit) {
+        Course course = getCourseByIndex(indexNumber);
+        ArrayList<Course> coursesOfIndex = new ArrayList<>();
+        if (course != null) {
+            coursesOfIndex.add(course);
+        }
+        return getRoster(coursesOfIndex, isWaitlisted, order, offset, limit);
+    }
+
+    /**
+     * Returns a page of the registered or waitlisted students of all indexes of a course code.
+     *
+     * @param courseCode   Course code, in any case.
+     * @param isWaitlisted True for waitlisted students, false for registered students.
+     * @param order        Order of students.
+     * @param offset       Number of students to skip.
+     * @param limit        Maximum number of students to return.
+     * @return Students of the course code, empty if course code is not in list.
+     */
+    public List<Student> getRosterByCourse(String courseCode, boolean isWaitlisted, RosterOrder order, int offset,
+                                           int limit) {
+        return getRoster(getCoursesByCode(courseCode), isWaitlisted, order, offset, limit);
+    }
+
+    /**
+     * Returns a page of the registered or waitlisted students of courses.
+     *
+     * @param coursesOfRoster Courses to list students of.
+     * @param isWaitlisted    True for waitlisted students, false for registered students.
+     * @param order           Order of students.
+     * @param offset          Number of students to skip.
+     * @param limit           Maximum number of students to return.
+     * @return Students of the courses.
+     */
+    private List<Student> getRoster(ArrayList<Course> coursesOfRoster, boolean isWaitlisted, RosterOrder order,
+                                    int offset, int limit) {
+        ArrayList<Student> students = new ArrayList<>();
+        for (Course course : coursesOfRoster) {
+            students.addAll(isWaitlisted ? course.getWaitlistedStudents().toList() : course.getRegisteredStudents());
+        }
+        if (order.getComparator() != null) {
+            students.sort(order.getComparator());
+        }
+
+        int fromIndex = Math.min(Math.max(offset, 0), students.size());
+        int toIndex = (int) Math.min((long) fromIndex + Math.max(limit, 0), students.size());
+        return students.subList(fromIndex, toIndex);
+    }
+
+    /**
+     * Returns if course has the same number of AUs as other indexes of its course code in list.
+     * An index of the same number and course code in list is taken as replaced by the course.
+     *
+     * @param course Course to check.
+     * @return True if same number of AUs or no other index has the course code, false otherwise.
+     */
+    public synchronized boolean isValidNumOfAUs(Course course) {
+        boolean isReplacing = course.getCourseCode().toUpperCase()
+                .equals(courseCodesByIndex.get(course.getIndexNumber()));
+        return auRegistry.isValid(course, isReplacing ? 1 : 0);
+    }
+
+    /**
+     * Returns if course has the same number of AUs as the indexes of its course code in list that are kept.
+     *
+     * @param course       Course to check.
+     * @param noOfReplaced Number of indexes of the course code about to be replaced.
+     * @return True if same number of AUs or no index of the course code is kept, false otherwise.
+     */
+    public synchronized boolean isValidNumOfAUs(Course course, int noOfReplaced) {
+        return auRegistry.isValid(course, noOfReplaced);
+    }
+
+    /**
+     * Returns why course does not have the same number of AUs as other indexes of its course code in list.
+     *
+     * @param course Course that does not have a valid number of AUs.
+     * @return Message comparing number of AUs of course to that of its course code.
+     */
+    public synchronized String getAuViolation(Course course) {
+        return auRegistry.getViolation(course);
     }
 
     /**
@@ -56,8 +217,24 @@ public class CourseList {
      *
      * @return Total number of AUs of a list of courses.
      */
-    public int getTotalNoOfAUs() {
-        return getCourses().stream().mapToInt(Course::getNumOfAUs).sum();
+    public synchronized int getTotalNoOfAUs() {
+        return totalNoOfAUs;
+    }
+
+    /**
+     * Returns time slots occupied by courses, rebuilding them if a course was dropped or changed.
+     *
+     * @return Timetable of courses.
+     */
+    public synchronized Timetable getOccupancy() {
+        if (isOccupancyStale) {
+            occupancy = new Timetable();
+            for (Course course : courses) {
+                occupancy.addTimetable(course.getLessonList().getTimetable());
+            }
+            isOccupancyStale = false;
+        }
+        return occupancy;
     }
 
     /**
@@ -66,13 +243,48 @@ public class CourseList {
      * @param indexNumber Index of course.
      * @return Course with that index.
      */
-    public Course getCourseByIndex(String indexNumber) {
+    public synchronized Course getCourseByIndex(String indexNumber) {
+        return coursesByIndex.get(indexNumber);
+    }
+
+    /**
+     * Transfers waitlisted students to registered list for all courses with vacancies,
+     * and returns notifications for the students transferred without sending them.
+     *
+     * @return Notifications for students transferred.
+     */
+    public ArrayList<Notification> promoteWaitlistedStudents() {
+        ArrayList<Notification> notifications = new ArrayList<>();
         for (Course course : getCourses()) {
-            if (course.getIndexNumber().equals(indexNumber)) {
-                return course;
+            notifications.addAll(course.promoteWaitlistedStudents());
+        }
+        return notifications;
+    }
+
+    /**
+     * Removes and returns enrolment changes not yet saved, of every course with any.
+     * Courses are keys by identity, as courses equal by index number may be different objects.
+     *
+     * @return Enrolment changes by course, in the order they were made for each course.
+     */
+    public IdentityHashMap<Course, ArrayList<String>> takePendingChanges() {
+        IdentityHashMap<Course, ArrayList<String>> changes = new IdentityHashMap<>();
+        for (Course course : getCourses()) {
+            ArrayList<String> courseChanges = course.takePendingChanges();
+            if (!courseChanges.isEmpty()) {
+                changes.put(course, courseChanges);
             }
         }
-        return null;
+        return changes;
+    }
+
+    /**
+     * Puts back enrolment changes that failed to save.
+     *
+     * @param changes Enrolment changes taken by {@link #takePendingChanges()}.
+     */
+    public void restorePendingChanges(Map<Course, ArrayList<String>> changes) {
+        changes.forEach(Course::restorePendingChanges);
     }
 
     /**
@@ -82,12 +294,8 @@ public class CourseList {
      * @return True if course is in list, false otherwise.
      */
     public boolean isCourseInList(Course courseToCheck) {
-        for (Course course : getCourses()) {
-            if (courseToCheck.isSameCourseCode(course) && courseToCheck.isSameIndexNo(course)) {
-                return true;
-            }
-        }
-        return false;
+        Course course = getCourseByIndex(courseToCheck.getIndexNumber());
+        return course != null && courseToCheck.isSameCourseCode(course);
     }
 
     /**
@@ -106,13 +314,8 @@ public class CourseList {
      * @param courseCode Course code to check.
      * @return True if course code is in list, false otherwise.
      */
-    public boolean isCourseInList(String courseCode) {
-        for (Course course : getCourses()) {
-            if (course.getCourseCode().equalsIgnoreCase(courseCode)) {
-                return true;
-            }
-        }
-        return false;
+    public synchronized boolean isCourseInList(String courseCode) {
+        return indexesByCourseCode.containsKey(courseCode.toUpperCase());
     }
 
     /**
@@ -121,8 +324,11 @@ public class CourseList {
      * @param courseToAdd Course to check.
      * @return True if course clashes, false otherwise.
      */
-    public boolean isClash(Course courseToAdd) {
-        return getCourses().stream().anyMatch(courseToAdd::isClash);
+    public synchronized boolean isClash(Course courseToAdd) {
+        if (!getOccupancy().isOverlap(courseToAdd.getLessonList().getTimetable())) {
+            return false;
+        }
+        return courses.stream().anyMatch(courseToAdd::isClash);
     }
 
     /**
@@ -130,8 +336,9 @@ public class CourseList {
      *
      * @param courseToAdd Course to add.
      */
-    public void addCourse(Course courseToAdd) {
-        getCourses().add(courseToAdd);
+    public synchronized void addCourse(Course courseToAdd) {
+        courses.add(courseToAdd);
+        addToIndexes(courseToAdd);
     }
 
     /**
@@ -139,8 +346,68 @@ public class CourseList {
      *
      * @param courseToDrop Course to drop.
      */
-    public void dropCourse(Course courseToDrop) {
-        getCourses().remove(courseToDrop);
+    public synchronized void dropCourse(Course courseToDrop) {
+        if (courses.remove(courseToDrop)) {
+            removeFromIndexes(courseToDrop.getIndexNumber());
+        }
+    }
+
+    /**
+     * Files course under its index number and course code.
+     *
+     * @param course Course to file.
+     */
+    private void addToIndexes(Course course) {
+        String courseCode = course.getCourseCode().toUpperCase();
+        coursesByIndex.put(course.getIndexNumber(), course);
+        courseCodesByIndex.put(course.getIndexNumber(), courseCode);
+        indexesByCourseCode.computeIfAbsent(courseCode, code -> new LinkedHashSet<>()).add(course.getIndexNumber());
+        noOfAUsByIndex.put(course.getIndexNumber(), course.getNumOfAUs());
+        auRegistry.register(courseCode, course.getNumOfAUs());
+        totalNoOfAUs += course.getNumOfAUs();
+        if (!isOccupancyStale) {
+            occupancy.addTimetable(course.getLessonList().getTimetable());
+        }
+    }
+
+    /**
+     * Removes index number from index number and course code lookups.
+     *
+     * @param indexNumber Index number to remove.
+     */
+    private void removeFromIndexes(String indexNumber) {
+        coursesByIndex.remove(indexNumber);
+        Integer noOfAUs = noOfAUsByIndex.remove(indexNumber);
+        if (noOfAUs != null) {
+            totalNoOfAUs -= noOfAUs;
+            isOccupancyStale = true;
+        }
+        String courseCode = courseCodesByIndex.remove(indexNumber);
+        if (courseCode != null) {
+            auRegistry.unregister(courseCode);
+        }
+        LinkedHashSet<String> indexes = indexesByCourseCode.get(courseCode);
+        if (indexes != null) {
+            indexes.remove(indexNumber);
+            if (indexes.isEmpty()) {
+                indexesByCourseCode.remove(courseCode);
+            }
+        }
+    }
+
+    /**
+     * Replaces course of the same index number in place, filing it under its current course code.
+     *
+     * @param course Course to replace with.
+     */
+    public synchronized void replaceCourse(Course course) {
+        int position = courses.indexOf(course);
+        if (position < 0) {
+            return;
+        }
+        courses.set(position, course);
+        removeFromIndexes(course.getIndexNumber());
+        addToIndexes(course);
     }
 
     /**
@@ -150,22 +417,24 @@ public class CourseList {
      * @return Course added.
      * @throws MyStarsException If course cannot be updated or added.
      */
-    public Course updateCourse(Course newCourse) throws MyStarsException {
+    public synchronized Course updateCourse(Course newCourse) throws MyStarsException {
 
-        for (Course course : getCourses()) {
-            if (course.getIndexNumber().equals(newCourse.getIndexNumber())) {
-                course.copyCourseDetails(newCourse);
-                for (Student student : course.getRegisteredStudents()) {
-                    student.modifyRegisteredCourse(course);
-                }
-                for (Student student : course.getWaitlistedStudents()) {
-                    student.modifyWaitlistedCourse(course);
-                }
-                return course;
-            }
+        Course course = getCourseByIndex(newCourse.getIndexNumber());
+        if (course == null) {
+            addCourse(newCourse);
+            return newCourse;
+        }
+
+        course.copyCourseDetails(newCourse);
+        removeFromIndexes(course.getIndexNumber());
+        addToIndexes(course);
+        for (Student student : course.getRegisteredStudents()) {
+            student.modifyRegisteredCourse(course);
+        }
+        for (Student student : course.getWaitlistedStudents().toList()) {
+            student.modifyWaitlistedCourse(course);
         }
-        addCourse(newCourse);
-        return newCourse;
+        return course;
     }
 
     /**
@@ -197,7 +466,7 @@ public class CourseList {
      *
      * @return Number of courses in the list.
      */
-    public int getNoOfCourses() {
-        return getCourses().size();
+    public synchronized int getNoOfCourses() {
+        return courses.size();
     }
 }
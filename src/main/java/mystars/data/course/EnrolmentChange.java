@@ -0,0 +1,31 @@
+package mystars.data.course;
+
+/**
+ * Enrolment change recorded in journal (Register/Drop/Waitlist/Unwaitlist/Promote).
+ */
+public enum EnrolmentChange {
+    /**
+     * Student added to registered list.
+     */
+    REGISTER,
+
+    /**
+     * Student dropped from registered list.
+     */
+    DROP,
+
+    /**
+     * Student added to waitlisted list.
+     */
+    WAITLIST,
+
+    /**
+     * Student dropped from waitlisted list.
+     */
+    UNWAITLIST,
+
+    /**
+     * Student moved from waitlisted list to registered list.
+     */
+    PROMOTE
+}
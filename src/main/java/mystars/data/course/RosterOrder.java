@@ -0,0 +1,49 @@
+package mystars.data.course;
+
+import mystars.data.user.Student;
+
+import java.util.Comparator;
+
+/**
+ * Order of students in a roster (Enrolment/Name/Matriculation number).
+ */
+public enum RosterOrder {
+    /**
+     * Order students were enrolled in, index by index.
+     */
+    ENROLMENT(null),
+
+    /**
+     * Name, then matriculation number.
+     */
+    NAME(Comparator.comparing(Student::getName, String.CASE_INSENSITIVE_ORDER)
+            .thenComparing(Student::getMatricNo)),
+
+    /**
+     * Matriculation number.
+     */
+    MATRIC_NO(Comparator.comparing(Student::getMatricNo));
+
+    /**
+     * Comparator of students, null to keep enrolment order.
+     */
+    private final Comparator<Student> comparator;
+
+    /**
+     * Initializes roster order.
+     *
+     * @param comparator Comparator of students, null to keep enrolment order.
+     */
+    RosterOrder(Comparator<Student> comparator) {
+        this.comparator = comparator;
+    }
+
+    /**
+     * Returns comparator of students.
+     *
+     * @return Comparator of students, null to keep enrolment order.
+     */
+    public Comparator<Student> getComparator() {
+        return comparator;
+    }
+}
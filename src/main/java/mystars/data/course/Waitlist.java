@@ -0,0 +1,230 @@
+package mystars.data.course;
+
+import mystars.data.user.Student;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+
+/**
+ * First-in, first-out waitlist of students.
+ * Students are kept in slots in order of waitlisting, with a map from student to slot for membership and removal,
+ * and a Fenwick tree counting students in slots for positions in O(log n).
+ * Slots of removed students are reused when the slots run out.
+ */
+public class Waitlist {
+
+    /**
+     * Number of slots of an empty waitlist.
+     */
+    private static final int INITIAL_CAPACITY = 16;
+
+    /**
+     * Students by slot, null for slots of removed students.
+     */
+    private Student[] slots = new Student[INITIAL_CAPACITY];
+
+    /**
+     * Fenwick tree of number of students in slots, indexed from 1.
+     */
+    private int[] tree = new int[INITIAL_CAPACITY + 1];
+
+    /**
+     * Slot of each student.
+     */
+    private final HashMap<Student, Integer> slotsByStudent = new HashMap<>();
+
+    /**
+     * First slot that may hold a student.
+     */
+    private int head;
+
+    /**
+     * Slot after the last student.
+     */
+    private int tail;
+
+    /**
+     * Initializes empty waitlist.
+     */
+    public Waitlist() {
+
+    }
+
+    /**
+     * Initializes waitlist with students, in order.
+     *
+     * @param students Students to add.
+     */
+    public Waitlist(ArrayList<Student> students) {
+        for (Student student : students) {
+            add(student);
+        }
+    }
+
+    /**
+     * Adds student to end of waitlist.
+     *
+     * @param student Student to add.
+     * @return True if student was added, false if student is already waitlisted.
+     */
+    public synchronized boolean add(Student student) {
+        if (slotsByStudent.containsKey(student)) {
+            return false;
+        }
+        if (tail == slots.length) {
+            compact();
+        }
+        slots[tail] = student;
+        slotsByStudent.put(student, tail);
+        addToTree(tail, 1);
+        tail++;
+        return true;
+    }
+
+    /**
+     * Removes student from waitlist.
+     *
+     * @param student Student to remove.
+     * @return True if student was removed, false if student is not waitlisted.
+     */
+    public synchronized boolean remove(Student student) {
+        Integer slot = slotsByStudent.remove(student);
+        if (slot == null) {
+            return false;
+        }
+        slots[slot] = null;
+        addToTree(slot, -1);
+        while (head < tail && slots[head] == null) {
+            head++;
+        }
+        return true;
+    }
+
+    /**
+     * Returns student at the head of waitlist.
+     *
+     * @return First student, null if waitlist is empty.
+     */
+    public synchronized Student peek() {
+        return head < tail ? slots[head] : null;
+    }
+
+    /**
+     * Returns student at position in waitlist.
+     *
+     * @param index Number of students before the student.
+     * @return Student at position, null if there are not that many students.
+     */
+    public synchronized Student get(int index) {
+        if (index < 0 || index >= size()) {
+            return null;
+        }
+        // Finds the slot at which the running count of students reaches index + 1.
+        int slot = 0;
+        int remaining = index + 1;
+        for (int step = Integer.highestOneBit(slots.length); step > 0; step >>= 1) {
+            if (slot + step <= slots.length && tree[slot + step] < remaining) {
+                slot += step;
+                remaining -= tree[slot];
+            }
+        }
+        return slots[slot];
+    }
+
+    /**
+     * Returns position of student in waitlist.
+     *
+     * @param student Student to find.
+     * @return Position from 1 at the head, 0 if student is not waitlisted.
+     */
+    public synchronized int getPosition(Student student) {
+        Integer slot = slotsByStudent.get(student);
+        if (slot == null) {
+            return 0;
+        }
+        int position = 0;
+        for (int i = slot + 1; i > 0; i -= i & -i) {
+            position += tree[i];
+        }
+        return position;
+    }
+
+    /**
+     * Returns if student is waitlisted.
+     *
+     * @param student Student to check.
+     * @return True if student is waitlisted, false otherwise.
+     */
+    public synchronized boolean contains(Student student) {
+        return slotsByStudent.containsKey(student);
+    }
+
+    /**
+     * Returns number of students in waitlist.
+     *
+     * @return Number of students.
+     */
+    public synchronized int size() {
+        return slotsByStudent.size();
+    }
+
+    /**
+     * Returns if waitlist is empty.
+     *
+     * @return True if no student is waitlisted, false otherwise.
+     */
+    public synchronized boolean isEmpty() {
+        return slotsByStudent.isEmpty();
+    }
+
+    /**
+     * Returns copy of students in order of waitlisting.
+     *
+     * @return Waitlisted students.
+     */
+    public synchronized ArrayList<Student> toList() {
+        ArrayList<Student> students = new ArrayList<>(size());
+        for (int slot = head; slot < tail; slot++) {
+            if (slots[slot] != null) {
+                students.add(slots[slot]);
+            }
+        }
+        return students;
+    }
+
+    /**
+     * Adds to number of students in slot.
+     *
+     * @param slot  Slot to add to.
+     * @param delta Number to add.
+     */
+    private void addToTree(int slot, int delta) {
+        for (int i = slot + 1; i < tree.length; i += i & -i) {
+            tree[i] += delta;
+        }
+    }
+
+    /**
+     * Moves students to the first slots, doubling the slots if more than half are in use.
+     */
+    private void compact() {
+        ArrayList<Student> students = toList();
+        int capacity = students.size() * 2 > slots.length ? slots.length * 2 : slots.length;
+        slots = new Student[capacity];
+        tree = new int[capacity + 1];
+        slotsByStudent.clear();
+        head = 0;
+        tail = students.size();
+        for (int slot = 0; slot < tail; slot++) {
+            slots[slot] = students.get(slot);
+            slotsByStudent.put(students.get(slot), slot);
+            tree[slot + 1]++;
+        }
+        for (int i = 1; i <= capacity; i++) {
+            int parent = i + (i & -i);
+            if (parent <= capacity) {
+                tree[parent] += tree[i];
+            }
+        }
+    }
+}
@@ -67,6 +67,69 @@ public class Lesson {
         this.group = group;
     }
 
+    /**
+     * Returns lesson type.
+     *
+     * @return Tutorial/Lecture/Lab.
+     */
+    public LessonType getLessonType() {
+        return lessonType;
+    }
+
+    /**
+     * Returns venue of lesson.
+     *
+     * @return Venue of lesson.
+     */
+    public String getVenue() {
+        return venue;
+    }
+
+    /**
+     * Returns lesson start time.
+     *
+     * @return Lesson start time.
+     */
+    public LocalTime getStartTime() {
+        return startTime;
+    }
+
+    /**
+     * Returns lesson end time.
+     *
+     * @return Lesson end time.
+     */
+    public LocalTime getEndTime() {
+        return endTime;
+    }
+
+    /**
+     * Returns day of lesson.
+     *
+     * @return Day of lesson.
+     */
+    public DayOfWeek getDay() {
+        return day;
+    }
+
+    /**
+     * Returns week of lesson.
+     *
+     * @return Week of lesson (Odd/Even/Both).
+     */
+    public Week getWeek() {
+        return week;
+    }
+
+    /**
+     * Returns group of lesson.
+     *
+     * @return Tutorial/Lecture/Lab Group.
+     */
+    public String getGroup() {
+        return group;
+    }
+
     /**
      * Returns lesson formatted for storage.
      *
@@ -12,6 +12,11 @@ public class LessonList {
      */
     private final ArrayList<Lesson> lessons;
 
+    /**
+     * Time slots occupied by lessons.
+     */
+    private final Timetable timetable = new Timetable();
+
     /**
      * Initializes LessonList object.
      */
@@ -28,6 +33,15 @@ public class LessonList {
         return lessons;
     }
 
+    /**
+     * Returns time slots occupied by lessons.
+     *
+     * @return Timetable of lessons.
+     */
+    public Timetable getTimetable() {
+        return timetable;
+    }
+
     /**
      * Adds lesson to list of lessons.
      *
@@ -35,6 +49,7 @@ public class LessonList {
      */
     public void addLesson(Lesson newLesson) {
         lessons.add(newLesson);
+        timetable.addLesson(newLesson);
     }
 
     /**
@@ -46,4 +61,21 @@ public class LessonList {
     public boolean isClash(Lesson lesson) {
         return getLessons().stream().anyMatch(lesson::isClash);
     }
+
+    /**
+     * Checks if any lessons of both lists clash.
+     * Lists whose timetables do not overlap cannot clash, and exact timetables that overlap always clash.
+     *
+     * @param lessonList List of lessons to check.
+     * @return True if lessons clash, false otherwise.
+     */
+    public boolean isClash(LessonList lessonList) {
+        if (!timetable.isOverlap(lessonList.timetable)) {
+            return false;
+        }
+        if (timetable.isExact() && lessonList.timetable.isExact()) {
+            return true;
+        }
+        return lessonList.getLessons().stream().anyMatch(this::isClash);
+    }
 }
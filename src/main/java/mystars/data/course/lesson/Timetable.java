@@ -0,0 +1,138 @@
+package mystars.data.course.lesson;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+
+/**
+ * Weekly timetable as a bitmap of time slots, one bit per slot of odd and even weeks.
+ */
+public class Timetable {
+
+    /**
+     * Length of time slot in minutes.
+     */
+    public static final int SLOT_MINUTES = 10;
+
+    /**
+     * Length of time slot in seconds.
+     */
+    private static final int SLOT_SECONDS = SLOT_MINUTES * 60;
+
+    /**
+     * Number of time slots in a day.
+     */
+    private static final int SLOTS_PER_DAY = 24 * 60 / SLOT_MINUTES;
+
+    /**
+     * Number of time slots in a week.
+     */
+    private static final int SLOTS_PER_WEEK = SLOTS_PER_DAY * DayOfWeek.values().length;
+
+    /**
+     * Number of words in bitmap, covering odd week then even week.
+     */
+    private static final int NO_OF_WORDS = (2 * SLOTS_PER_WEEK + Long.SIZE - 1) / Long.SIZE;
+
+    /**
+     * Bitmap of occupied time slots.
+     */
+    private final long[] slots = new long[NO_OF_WORDS];
+
+    /**
+     * If every lesson added starts and ends on a slot boundary.
+     * An inexact timetable may overlap another without any of their lessons clashing.
+     */
+    private boolean isExact = true;
+
+    /**
+     * Marks time slots of lesson as occupied.
+     *
+     * @param lesson Lesson to add.
+     */
+    public void addLesson(Lesson lesson) {
+        LocalTime startTime = lesson.getStartTime();
+        LocalTime endTime = lesson.getEndTime();
+        if (!startTime.isBefore(endTime)) {
+            // Lesson.isClash still matches lessons spanning the gap between end and start time.
+            startTime = lesson.getEndTime();
+            endTime = lesson.getStartTime();
+            isExact = false;
+        }
+        if (!isOnSlotBoundary(startTime) || !isOnSlotBoundary(endTime)) {
+            isExact = false;
+        }
+
+        int dayOffset = (lesson.getDay().getValue() - 1) * SLOTS_PER_DAY;
+        int firstSlot = dayOffset + startTime.toSecondOfDay() / SLOT_SECONDS;
+        int lastSlot = dayOffset + (endTime.toSecondOfDay() + SLOT_SECONDS - 1) / SLOT_SECONDS;
+        if (endTime.getNano() != 0 && endTime.toSecondOfDay() % SLOT_SECONDS == 0) {
+            lastSlot++;
+        }
+        lastSlot = Math.max(lastSlot, firstSlot + 1);
+        if (lesson.getWeek() != Week.EVEN) {
+            setSlots(firstSlot, lastSlot);
+        }
+        if (lesson.getWeek() != Week.ODD) {
+            setSlots(SLOTS_PER_WEEK + firstSlot, SLOTS_PER_WEEK + lastSlot);
+        }
+    }
+
+    /**
+     * Marks time slots occupied in another timetable as occupied.
+     *
+     * @param timetable Timetable to add.
+     */
+    public void addTimetable(Timetable timetable) {
+        for (int i = 0; i < NO_OF_WORDS; i++) {
+            slots[i] |= timetable.slots[i];
+        }
+        isExact &= timetable.isExact;
+    }
+
+    /**
+     * Returns if any time slot is occupied in both timetables.
+     *
+     * @param timetable Timetable to check.
+     * @return True if timetables overlap, false otherwise.
+     */
+    public boolean isOverlap(Timetable timetable) {
+        for (int i = 0; i < NO_OF_WORDS; i++) {
+            if ((slots[i] & timetable.slots[i]) != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns if every lesson added starts and ends on a slot boundary,
+     * in which case an overlap means lessons clash.
+     *
+     * @return True if timetable is exact, false otherwise.
+     */
+    public boolean isExact() {
+        return isExact;
+    }
+
+    /**
+     * Returns if time is at the start of a time slot.
+     *
+     * @param time Time to check.
+     * @return True if time is on a slot boundary, false otherwise.
+     */
+    private boolean isOnSlotBoundary(LocalTime time) {
+        return time.getNano() == 0 && time.toSecondOfDay() % SLOT_SECONDS == 0;
+    }
+
+    /**
+     * Sets bits from first slot to before last slot.
+     *
+     * @param firstSlot First slot to set.
+     * @param lastSlot  Slot after the last slot to set.
+     */
+    private void setSlots(int firstSlot, int lastSlot) {
+        for (int slot = firstSlot; slot < lastSlot; slot++) {
+            slots[slot / Long.SIZE] |= 1L << slot;
+        }
+    }
+}
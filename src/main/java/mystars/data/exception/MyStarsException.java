@@ -10,6 +10,11 @@ public class MyStarsException extends Exception {
      */
     private static final String SORRY = "Sorry! ";
 
+    /**
+     * Exception message without sorry message.
+     */
+    private final String reason;
+
     /**
      * Initializes message to throw.
      *
@@ -17,5 +22,15 @@ public class MyStarsException extends Exception {
      */
     public MyStarsException(String message) {
         super(SORRY + message);
+        reason = message;
+    }
+
+    /**
+     * Returns exception message without sorry message.
+     *
+     * @return Exception message without sorry message.
+     */
+    public String getReason() {
+        return reason;
     }
 }
@@ -2,17 +2,20 @@ package mystars.data.sender;
 
 import mystars.data.exception.MyStarsException;
 
+import javax.mail.Authenticator;
 import javax.mail.Message;
 import javax.mail.MessagingException;
 import javax.mail.PasswordAuthentication;
-import javax.mail.Session;
-import javax.mail.Transport;
 import javax.mail.internet.InternetAddress;
 import javax.mail.internet.MimeMessage;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Properties;
 
 /**
- * Sender for email.
+ * Sender for email, sending over a pool of SMTP connections shared by all email senders.
  */
 public class EmailSender implements Sender {
 
@@ -44,51 +47,98 @@ public class EmailSender implements Sender {
     private static final String[] USERNAME_AND_PASSWORD = {"cz2002.se3.group1@gmail.com", "ilovestars"};
 
     /**
-     * Subject title.
+     * Maximum number of SMTP connections open at once.
      */
-    private static final String SUBJECT = "New Course Registered Notification";
+    private static final int POOL_SIZE = Integer.getInteger("mystars.smtpPoolSize", 2);
+
+    /**
+     * Milliseconds an SMTP connection may stay idle before it is closed.
+     */
+    private static final long IDLE_MILLIS = Long.getLong("mystars.smtpIdleMillis", 30_000);
+
+    /**
+     * Milliseconds to wait for the SMTP server to connect, respond or accept written data.
+     */
+    private static final String TIMEOUT_MILLIS = String.valueOf(Long.getLong("mystars.smtpTimeoutMillis", 10_000));
+
+    /**
+     * Connection, read and write timeout settings.
+     */
+    private static final String[] TIMEOUTS = {"mail.smtp.connectiontimeout", "mail.smtp.timeout",
+        "mail.smtp.writetimeout"};
+
+    /**
+     * Pool of SMTP connections shared by email senders.
+     */
+    private static final SmtpTransportPool SHARED_POOL = new SmtpTransportPool(getProperties(), new Authenticator() {
+        @Override
+        protected PasswordAuthentication getPasswordAuthentication() {
+            return new PasswordAuthentication(USERNAME_AND_PASSWORD[0], USERNAME_AND_PASSWORD[1]);
+        }
+    }, POOL_SIZE, IDLE_MILLIS);
 
     /**
      * Email address to send.
      */
     private final String targetEmailAddress;
 
+    /**
+     * Pool of SMTP connections to send over.
+     */
+    private final SmtpTransportPool pool;
+
     /**
      * Initialize Sender with email.
      *
      * @param targetEmailAddress email address to send to.
      */
     public EmailSender(String targetEmailAddress) {
-        this.targetEmailAddress = targetEmailAddress;
+        this(targetEmailAddress, SHARED_POOL);
     }
 
     /**
-     * Sends email.
+     * Initialize Sender with email and pool of SMTP connections.
      *
-     * @param emailContent Email body.
-     * @throws MyStarsException If there is issue sending email.
+     * @param targetEmailAddress email address to send to.
+     * @param pool               Pool of SMTP connections to send over.
      */
-    private void send(String emailContent) throws MyStarsException {
+    public EmailSender(String targetEmailAddress, SmtpTransportPool pool) {
+        this.targetEmailAddress = targetEmailAddress;
+        this.pool = pool;
+    }
 
+    /**
+     * Returns mail session properties of SMTP server.
+     *
+     * @return Mail session properties.
+     */
+    private static Properties getProperties() {
         Properties props = new Properties();
         props.put(AUTH[0], AUTH[1]);
         props.put(STARTTLS[0], STARTTLS[1]);
         props.put(HOST[0], HOST[1]);
         props.put(PORT[0], PORT[1]);
+        for (String timeout : TIMEOUTS) {
+            props.put(timeout, TIMEOUT_MILLIS);
+        }
+        return props;
+    }
 
-        Session session = Session.getInstance(props, new javax.mail.Authenticator() {
-            protected PasswordAuthentication getPasswordAuthentication() {
-                return new PasswordAuthentication(USERNAME_AND_PASSWORD[0], USERNAME_AND_PASSWORD[1]);
-            }
-        });
-
+    /**
+     * Sends email.
+     *
+     * @param subject      Email subject.
+     * @param emailContent Email body.
+     * @throws MyStarsException If there is issue sending email.
+     */
+    private void send(String subject, String emailContent) throws MyStarsException {
         try {
-            Message message = new MimeMessage(session);
+            Message message = new MimeMessage(pool.getSession());
             message.setRecipients(Message.RecipientType.TO, InternetAddress.parse(targetEmailAddress));
-            message.setSubject(SUBJECT);
+            message.setSubject(subject);
             message.setText(emailContent);
 
-            Transport.send(message);
+            pool.send(message);
 
         } catch (MessagingException e) {
             throw new MyStarsException(SEND_ERROR);
@@ -96,18 +146,51 @@ public class EmailSender implements Sender {
     }
 
     /**
-     * Sends email with given details.
+     * Sends email of student added to course from waitlist.
      *
      * @param courseCode  Course code that was successfully registered.
      * @param indexNumber Index number of successfully registered course.
      * @param name        Name of student.
      * @throws MyStarsException If there is issue sending notification.
      */
-    @Override
     public void send(String courseCode, String indexNumber, String name) throws MyStarsException {
-        send(String.join(System.lineSeparator(), "Dear " + name + ",", System.lineSeparator()
-                + "We are pleased to inform you that there is an available slot in " + courseCode + ", of index number "
-                + indexNumber + " and you have been successfully registered for the course.", System.lineSeparator()
-                + "Regards,", "STARS Administrators"));
+        send(new Notification(targetEmailAddress, courseCode, indexNumber, name));
+    }
+
+    /**
+     * Sends email rendered from template of notification's event.
+     *
+     * @param notification Notification to send.
+     * @throws MyStarsException If there is issue sending notification.
+     */
+    @Override
+    public void send(Notification notification) throws MyStarsException {
+        NotificationType type = notification.getType();
+        send(type.getSubject(), type.getBody().render(notification));
+    }
+
+    /**
+     * Sends one email for each event in notifications, listing every course of the event,
+     * or the usual email if the event has only one notification.
+     *
+     * @param notifications Notifications to the same student.
+     * @throws MyStarsException If there is issue sending notifications.
+     */
+    @Override
+    public void send(List<Notification> notifications) throws MyStarsException {
+        LinkedHashMap<NotificationType, List<Notification>> notificationsByType = new LinkedHashMap<>();
+        for (Notification notification : notifications) {
+            notificationsByType.computeIfAbsent(notification.getType(), type -> new ArrayList<>()).add(notification);
+        }
+
+        for (Map.Entry<NotificationType, List<Notification>> entry : notificationsByType.entrySet()) {
+            NotificationType type = entry.getKey();
+            List<Notification> notificationsOfType = entry.getValue();
+            if (notificationsOfType.size() == 1) {
+                send(notificationsOfType.get(0));
+            } else {
+                send(type.getSubject(), type.getDigestBody().render(notificationsOfType));
+            }
+        }
     }
 }
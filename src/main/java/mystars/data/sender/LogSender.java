@@ -0,0 +1,99 @@
+package mystars.data.sender;
+
+import mystars.data.exception.MyStarsException;
+import mystars.parser.Parser;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.StringJoiner;
+
+/**
+ * Sender that appends notifications to a log file, which works without a network.
+ */
+public class LogSender implements Sender {
+
+    /**
+     * Lock shared by log senders, so that lines from different threads are not mixed.
+     */
+    private static final Object LOCK = new Object();
+
+    /**
+     * Email address of student.
+     */
+    private final String email;
+
+    /**
+     * Log file.
+     */
+    private final Path file;
+
+    /**
+     * Initializes sender.
+     *
+     * @param email Email address of student.
+     * @param file  Log file.
+     */
+    public LogSender(String email, Path file) {
+        this.email = email;
+        this.file = file;
+    }
+
+    /**
+     * Appends notification to log file.
+     *
+     * @param notification Notification to send.
+     * @throws MyStarsException If there is issue writing log file.
+     */
+    @Override
+    public void send(Notification notification) throws MyStarsException {
+        append(toLine(notification));
+    }
+
+    /**
+     * Appends notifications to log file at once.
+     *
+     * @param notifications Notifications to the same student.
+     * @throws MyStarsException If there is issue writing log file.
+     */
+    @Override
+    public void send(List<Notification> notifications) throws MyStarsException {
+        StringJoiner lines = new StringJoiner(System.lineSeparator());
+        for (Notification notification : notifications) {
+            lines.add(toLine(notification));
+        }
+        append(lines.toString());
+    }
+
+    /**
+     * Returns log line of notification.
+     *
+     * @param notification Notification to log.
+     * @return Log line.
+     */
+    private String toLine(Notification notification) {
+        return String.join(Parser.LINE_SEPARATOR, LocalDateTime.now().toString(), notification.getType().name(),
+                email, notification.getCourseCode(), notification.getIndexNumber(), notification.getName());
+    }
+
+    /**
+     * Appends lines to log file.
+     *
+     * @param lines Lines to append.
+     * @throws MyStarsException If there is issue writing log file.
+     */
+    private void append(String lines) throws MyStarsException {
+        synchronized (LOCK) {
+            try {
+                Files.writeString(file, lines + System.lineSeparator(), StandardCharsets.UTF_8,
+                        StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            } catch (IOException e) {
+                throw new MyStarsException(SEND_ERROR);
+            }
+        }
+    }
+}
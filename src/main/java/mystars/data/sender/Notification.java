@@ -0,0 +1,118 @@
+package mystars.data.sender;
+
+import mystars.data.exception.MyStarsException;
+
+/**
+ * Notification to a student of an event, such as being added to a course from the waitlist, waiting to be sent.
+ */
+public class Notification {
+
+    /**
+     * Email address of student.
+     */
+    private final String email;
+
+    /**
+     * Course code of course.
+     */
+    private final String courseCode;
+
+    /**
+     * Index number of course.
+     */
+    private final String indexNumber;
+
+    /**
+     * Name of student.
+     */
+    private final String name;
+
+    /**
+     * Event notification is sent for.
+     */
+    private final NotificationType type;
+
+    /**
+     * Initializes notification of student added to course from waitlist.
+     *
+     * @param email       Email address of student.
+     * @param courseCode  Course code of course added.
+     * @param indexNumber Index number of course added.
+     * @param name        Name of student.
+     */
+    public Notification(String email, String courseCode, String indexNumber, String name) {
+        this(email, courseCode, indexNumber, name, NotificationType.PROMOTION);
+    }
+
+    /**
+     * Initializes notification.
+     *
+     * @param email       Email address of student.
+     * @param courseCode  Course code of course.
+     * @param indexNumber Index number of course.
+     * @param name        Name of student.
+     * @param type        Event notification is sent for.
+     */
+    public Notification(String email, String courseCode, String indexNumber, String name, NotificationType type) {
+        this.email = email;
+        this.courseCode = courseCode;
+        this.indexNumber = indexNumber;
+        this.name = name;
+        this.type = type;
+    }
+
+    /**
+     * Returns email address of student.
+     *
+     * @return Email address of student.
+     */
+    public String getEmail() {
+        return email;
+    }
+
+    /**
+     * Returns course code of course.
+     *
+     * @return Course code of course.
+     */
+    public String getCourseCode() {
+        return courseCode;
+    }
+
+    /**
+     * Returns index number of course.
+     *
+     * @return Index number of course.
+     */
+    public String getIndexNumber() {
+        return indexNumber;
+    }
+
+    /**
+     * Returns name of student.
+     *
+     * @return Name of student.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Returns event notification is sent for.
+     *
+     * @return Event notification is sent for.
+     */
+    public NotificationType getType() {
+        return type;
+    }
+
+    /**
+     * Sends notification using sender.
+     *
+     * @param sender Sender to send with.
+     * @throws MyStarsException If there is issue sending notification.
+     */
+    public void send(Sender sender) throws MyStarsException {
+        sender.send(this);
+    }
+}
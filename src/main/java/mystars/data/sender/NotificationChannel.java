@@ -0,0 +1,125 @@
+package mystars.data.sender;
+
+import mystars.data.exception.MyStarsException;
+
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+
+/**
+ * Way of sending notifications, such as email, with its own threads and timeout.
+ * Sends run on at most a fixed number of threads with a bounded queue, so that a slow channel only holds up itself.
+ */
+public class NotificationChannel {
+
+    /**
+     * Queue full error message.
+     */
+    private static final String QUEUE_FULL_ERROR = "Too many notifications waiting to be sent by ";
+
+    /**
+     * Number of sends that may wait for a thread.
+     */
+    private static final int QUEUE_CAPACITY = 100;
+
+    /**
+     * Name of channel.
+     */
+    private final String name;
+
+    /**
+     * Returns sender for an email address.
+     */
+    private final Function<String, Sender> senderFactory;
+
+    /**
+     * Milliseconds a started send may take before it is failed.
+     */
+    private final long timeoutMillis;
+
+    /**
+     * Threads sending notifications of this channel only.
+     */
+    private final ThreadPoolExecutor executor;
+
+    /**
+     * Initializes channel.
+     *
+     * @param name          Name of channel.
+     * @param senderFactory Returns sender for an email address.
+     * @param timeoutMillis Milliseconds a started send may take before it is failed.
+     * @param maxConcurrent Maximum number of sends at once.
+     */
+    public NotificationChannel(String name, Function<String, Sender> senderFactory, long timeoutMillis,
+            int maxConcurrent) {
+        this.name = name;
+        this.senderFactory = senderFactory;
+        this.timeoutMillis = timeoutMillis;
+        executor = new ThreadPoolExecutor(maxConcurrent, maxConcurrent, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(QUEUE_CAPACITY), runnable -> {
+                    Thread thread = new Thread(runnable, "notification-" + name);
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    /**
+     * Returns name of channel.
+     *
+     * @return Name of channel.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Sends notifications to student on this channel's threads.
+     * The result fails with the send's error, or when the send is not done within the timeout of it starting,
+     * in which case the send is cancelled and its thread interrupted. Time spent waiting for a thread does not
+     * count towards the timeout. If too many sends are waiting, the result fails with
+     * {@link RejectedExecutionException} without the send being attempted.
+     *
+     * @param email         Email address of student.
+     * @param notifications Notifications to the student.
+     * @return Result of send.
+     */
+    public CompletableFuture<Void> send(String email, List<Notification> notifications) {
+        CompletableFuture<Void> result = new CompletableFuture<>();
+        FutureTask<Void> task = new FutureTask<>(() -> {
+            // Timeout starts with the send, so time spent waiting in the queue does not count.
+            result.orTimeout(timeoutMillis, TimeUnit.MILLISECONDS);
+            try {
+                senderFactory.apply(email).send(notifications);
+                result.complete(null);
+            } catch (MyStarsException | RuntimeException e) {
+                result.completeExceptionally(e);
+            }
+            return null;
+        });
+        result.whenComplete((ignored, error) -> {
+            if (error instanceof TimeoutException) {
+                task.cancel(true);
+            }
+        });
+
+        try {
+            executor.execute(task);
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.failedFuture(new RejectedExecutionException(QUEUE_FULL_ERROR + name, e));
+        }
+        return result;
+    }
+
+    /**
+     * Stops channel's threads. Sends already started are interrupted.
+     */
+    public void close() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,175 @@
+package mystars.data.sender;
+
+import mystars.MyStars;
+import mystars.data.exception.MyStarsException;
+
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.logging.Level;
+
+/**
+ * Sends each notification on every channel, such as email, log file and webhook, with channels independent of
+ * each other.
+ */
+public class NotificationRouter {
+
+    /**
+     * Email channel name.
+     */
+    public static final String EMAIL = "email";
+
+    /**
+     * Log file channel name.
+     */
+    public static final String LOG = "log";
+
+    /**
+     * Webhook channel name.
+     */
+    public static final String WEBHOOK = "webhook";
+
+    /**
+     * Names of channels to use, separated by commas.
+     */
+    private static final String CHANNELS = System.getProperty("mystars.notificationChannels", EMAIL);
+
+    /**
+     * URL of webhook.
+     */
+    private static final String WEBHOOK_URL = System.getProperty("mystars.webhookUrl",
+            "http://localhost:8081/notifications");
+
+    /**
+     * Unknown channel error message.
+     */
+    private static final String UNKNOWN_CHANNEL_ERROR = "Unknown notification channel: ";
+
+    /**
+     * Invalid webhook URL error message.
+     */
+    private static final String WEBHOOK_URL_ERROR = "Invalid webhook URL: ";
+
+    /**
+     * Milliseconds an email may take to send.
+     */
+    private static final long EMAIL_TIMEOUT_MILLIS = 30_000;
+
+    /**
+     * Milliseconds a log line may take to write.
+     */
+    private static final long LOG_TIMEOUT_MILLIS = 5000;
+
+    /**
+     * Milliseconds a webhook may take to respond.
+     */
+    private static final long WEBHOOK_TIMEOUT_MILLIS = 15_000;
+
+    /**
+     * Maximum number of emails sent at once.
+     */
+    private static final int EMAIL_CONCURRENCY = 2;
+
+    /**
+     * Maximum number of log writes at once.
+     */
+    private static final int LOG_CONCURRENCY = 1;
+
+    /**
+     * Maximum number of webhook requests at once.
+     */
+    private static final int WEBHOOK_CONCURRENCY = 2;
+
+    /**
+     * Channels by name.
+     */
+    private final LinkedHashMap<String, NotificationChannel> channels = new LinkedHashMap<>();
+
+    /**
+     * Initializes router.
+     *
+     * @param channels Channels to send on.
+     */
+    public NotificationRouter(List<NotificationChannel> channels) {
+        for (NotificationChannel channel : channels) {
+            this.channels.put(channel.getName(), channel);
+        }
+    }
+
+    /**
+     * Returns router with channels named in mystars.notificationChannels, email if none are valid.
+     *
+     * @param logFile File that log channel appends to.
+     * @return Router.
+     */
+    public static NotificationRouter fromSettings(Path logFile) {
+        ArrayList<NotificationChannel> channels = new ArrayList<>();
+        for (String name : CHANNELS.split(",")) {
+            switch (name.trim()) {
+            case EMAIL:
+                channels.add(new NotificationChannel(EMAIL, EmailSender::new, EMAIL_TIMEOUT_MILLIS,
+                        EMAIL_CONCURRENCY));
+                break;
+            case LOG:
+                channels.add(new NotificationChannel(LOG, email -> new LogSender(email, logFile), LOG_TIMEOUT_MILLIS,
+                        LOG_CONCURRENCY));
+                break;
+            case WEBHOOK:
+                try {
+                    URL url = new URL(WEBHOOK_URL);
+                    channels.add(new NotificationChannel(WEBHOOK, email -> new WebhookSender(email, url),
+                            WEBHOOK_TIMEOUT_MILLIS, WEBHOOK_CONCURRENCY));
+                } catch (MalformedURLException e) {
+                    MyStars.logger.log(Level.WARNING, WEBHOOK_URL_ERROR + WEBHOOK_URL);
+                }
+                break;
+            default:
+                MyStars.logger.log(Level.WARNING, UNKNOWN_CHANNEL_ERROR + name);
+                break;
+            }
+        }
+
+        if (channels.isEmpty()) {
+            channels.add(new NotificationChannel(EMAIL, EmailSender::new, EMAIL_TIMEOUT_MILLIS, EMAIL_CONCURRENCY));
+        }
+        return new NotificationRouter(channels);
+    }
+
+    /**
+     * Returns names of channels.
+     *
+     * @return Names of channels.
+     */
+    public List<String> getChannelNames() {
+        return new ArrayList<>(channels.keySet());
+    }
+
+    /**
+     * Sends notifications to student on channel, without waiting for the send.
+     *
+     * @param channelName   Name of channel.
+     * @param email         Email address of student.
+     * @param notifications Notifications to the student.
+     * @return Result of send.
+     */
+    public CompletableFuture<Void> send(String channelName, String email, List<Notification> notifications) {
+        NotificationChannel channel = channels.get(channelName);
+        if (channel == null) {
+            return CompletableFuture.failedFuture(new MyStarsException(UNKNOWN_CHANNEL_ERROR + channelName));
+        }
+        return channel.send(email, notifications);
+    }
+
+    /**
+     * Stops threads of all channels.
+     */
+    public void close() {
+        for (NotificationChannel channel : channels.values()) {
+            channel.close();
+        }
+    }
+}
@@ -0,0 +1,325 @@
+package mystars.data.sender;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Template of notification text, parsed once and rendered for many notifications.
+ * Placeholders {name}, {email}, {courseCode} and {indexNumber} are replaced with details of the notification,
+ * and text between {#each} and {/each} is repeated for every notification of a digest.
+ * Line breaks are written as \n and rendered as the system line separator.
+ */
+public class NotificationTemplate {
+
+    /**
+     * Start of digest section.
+     */
+    private static final String EACH_START = "{#each}";
+
+    /**
+     * End of digest section.
+     */
+    private static final String EACH_END = "{/each}";
+
+    /**
+     * Estimated length of a rendered placeholder.
+     */
+    private static final int FIELD_LENGTH_ESTIMATE = 24;
+
+    /**
+     * Unknown placeholder error message.
+     */
+    private static final String UNKNOWN_FIELD_ERROR = "Unknown placeholder in notification template: ";
+
+    /**
+     * Unclosed placeholder or section error message.
+     */
+    private static final String UNCLOSED_ERROR = "Unclosed placeholder or section in notification template: ";
+
+    /**
+     * Parts of template, in order.
+     */
+    private final Part[] parts;
+
+    /**
+     * Estimated length of template rendered for one notification.
+     */
+    private final int lengthEstimate;
+
+    /**
+     * Initializes template from parsed parts.
+     *
+     * @param parts Parts of template.
+     */
+    private NotificationTemplate(List<Part> parts) {
+        this.parts = parts.toArray(new Part[0]);
+        int length = 0;
+        for (Part part : this.parts) {
+            length += part.lengthEstimate();
+        }
+        lengthEstimate = length;
+    }
+
+    /**
+     * Parses template.
+     *
+     * @param source Template text.
+     * @return Parsed template.
+     * @throws IllegalArgumentException If template has an unknown placeholder or is not closed.
+     */
+    public static NotificationTemplate compile(String source) {
+        String text = source.replace("\n", System.lineSeparator());
+        ArrayList<Part> parts = new ArrayList<>();
+        int end = parse(text, 0, parts, false);
+        assert end == text.length();
+        return new NotificationTemplate(parts);
+    }
+
+    /**
+     * Parses template text into parts, until the end of text or of the digest section.
+     *
+     * @param text      Template text.
+     * @param start     Position to parse from.
+     * @param parts     Parts to add to.
+     * @param isSection Whether text is inside a digest section.
+     * @return Position after the parsed text, after the end of the section if inside one.
+     */
+    private static int parse(String text, int start, List<Part> parts, boolean isSection) {
+        int position = start;
+        while (position < text.length()) {
+            int open = text.indexOf('{', position);
+            if (open < 0) {
+                break;
+            }
+            if (open > position) {
+                parts.add(new Literal(text.substring(position, open)));
+            }
+
+            if (text.startsWith(EACH_END, open)) {
+                if (!isSection) {
+                    throw new IllegalArgumentException(UNKNOWN_FIELD_ERROR + EACH_END);
+                }
+                return open + EACH_END.length();
+            } else if (text.startsWith(EACH_START, open)) {
+                ArrayList<Part> sectionParts = new ArrayList<>();
+                position = parse(text, open + EACH_START.length(), sectionParts, true);
+                parts.add(new Each(new NotificationTemplate(sectionParts)));
+                continue;
+            }
+
+            int close = text.indexOf('}', open);
+            if (close < 0) {
+                throw new IllegalArgumentException(UNCLOSED_ERROR + text);
+            }
+            parts.add(new Field(text.substring(open + 1, close)));
+            position = close + 1;
+        }
+
+        if (isSection) {
+            throw new IllegalArgumentException(UNCLOSED_ERROR + text);
+        }
+        if (position < text.length()) {
+            parts.add(new Literal(text.substring(position)));
+        }
+        return text.length();
+    }
+
+    /**
+     * Renders template for notification.
+     *
+     * @param notification Notification to render.
+     * @return Rendered text.
+     */
+    public String render(Notification notification) {
+        return render(List.of(notification));
+    }
+
+    /**
+     * Renders template for notifications to the same student, with placeholders outside the digest section
+     * taken from the first notification.
+     *
+     * @param notifications Notifications to render.
+     * @return Rendered text.
+     */
+    public String render(List<Notification> notifications) {
+        StringBuilder text = new StringBuilder(lengthEstimate * notifications.size());
+        renderTo(text, notifications, notifications.get(0));
+        return text.toString();
+    }
+
+    /**
+     * Appends template rendered for notification to text.
+     *
+     * @param text          Text to append to.
+     * @param notifications Notifications of digest.
+     * @param notification  Notification whose details replace placeholders.
+     */
+    private void renderTo(StringBuilder text, List<Notification> notifications, Notification notification) {
+        for (Part part : parts) {
+            part.renderTo(text, notifications, notification);
+        }
+    }
+
+    /**
+     * Part of template.
+     */
+    private interface Part {
+
+        /**
+         * Appends part rendered for notification to text.
+         *
+         * @param text          Text to append to.
+         * @param notifications Notifications of digest.
+         * @param notification  Notification whose details replace placeholders.
+         */
+        void renderTo(StringBuilder text, List<Notification> notifications, Notification notification);
+
+        /**
+         * Returns estimated length of part rendered for one notification.
+         *
+         * @return Estimated length.
+         */
+        int lengthEstimate();
+    }
+
+    /**
+     * Text copied as is.
+     */
+    private static class Literal implements Part {
+
+        /**
+         * Text.
+         */
+        private final String text;
+
+        /**
+         * Initializes literal.
+         *
+         * @param text Text.
+         */
+        private Literal(String text) {
+            this.text = text;
+        }
+
+        @Override
+        public void renderTo(StringBuilder text, List<Notification> notifications, Notification notification) {
+            text.append(this.text);
+        }
+
+        @Override
+        public int lengthEstimate() {
+            return text.length();
+        }
+    }
+
+    /**
+     * Placeholder replaced with a detail of the notification.
+     */
+    private static class Field implements Part {
+
+        /**
+         * Index of name detail.
+         */
+        private static final int NAME = 0;
+
+        /**
+         * Index of email detail.
+         */
+        private static final int EMAIL = 1;
+
+        /**
+         * Index of course code detail.
+         */
+        private static final int COURSE_CODE = 2;
+
+        /**
+         * Index of index number detail.
+         */
+        private static final int INDEX_NUMBER = 3;
+
+        /**
+         * Index of detail to render.
+         */
+        private final int detail;
+
+        /**
+         * Initializes placeholder.
+         *
+         * @param name Name of placeholder.
+         * @throws IllegalArgumentException If placeholder is unknown.
+         */
+        private Field(String name) {
+            switch (name) {
+            case "name":
+                detail = NAME;
+                break;
+            case "email":
+                detail = EMAIL;
+                break;
+            case "courseCode":
+                detail = COURSE_CODE;
+                break;
+            case "indexNumber":
+                detail = INDEX_NUMBER;
+                break;
+            default:
+                throw new IllegalArgumentException(UNKNOWN_FIELD_ERROR + name);
+            }
+        }
+
+        @Override
+        public void renderTo(StringBuilder text, List<Notification> notifications, Notification notification) {
+            switch (detail) {
+            case NAME:
+                text.append(notification.getName());
+                break;
+            case EMAIL:
+                text.append(notification.getEmail());
+                break;
+            case COURSE_CODE:
+                text.append(notification.getCourseCode());
+                break;
+            default:
+                text.append(notification.getIndexNumber());
+                break;
+            }
+        }
+
+        @Override
+        public int lengthEstimate() {
+            return FIELD_LENGTH_ESTIMATE;
+        }
+    }
+
+    /**
+     * Digest section repeated for every notification.
+     */
+    private static class Each implements Part {
+
+        /**
+         * Template of section.
+         */
+        private final NotificationTemplate section;
+
+        /**
+         * Initializes section.
+         *
+         * @param section Template of section.
+         */
+        private Each(NotificationTemplate section) {
+            this.section = section;
+        }
+
+        @Override
+        public void renderTo(StringBuilder text, List<Notification> notifications, Notification notification) {
+            for (Notification each : notifications) {
+                section.renderTo(text, notifications, each);
+            }
+        }
+
+        @Override
+        public int lengthEstimate() {
+            return section.lengthEstimate;
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package mystars.data.sender;
+
+/**
+ * Event a notification is sent for, with its templates.
+ */
+public enum NotificationType {
+    /**
+     * Student added to course from waitlist.
+     */
+    PROMOTION("New Course Registered Notification",
+            "Dear {name},\n\nWe are pleased to inform you that there is an available slot in {courseCode}, "
+                    + "of index number {indexNumber} and you have been successfully registered for the course."
+                    + "\n\nRegards,\nSTARS Administrators",
+            "Dear {name},\n\nWe are pleased to inform you that there are available slots in the following courses "
+                    + "and you have been successfully registered for them:{#each}\n- {courseCode}, of index number "
+                    + "{indexNumber}{/each}\n\nRegards,\nSTARS Administrators"),
+
+    /**
+     * Student dropped course.
+     */
+    DROP("Course Dropped Notification",
+            "Dear {name},\n\nThis is to confirm that you have dropped {courseCode}, of index number {indexNumber}."
+                    + "\n\nRegards,\nSTARS Administrators",
+            "Dear {name},\n\nThis is to confirm that you have dropped the following courses:{#each}\n- {courseCode}, "
+                    + "of index number {indexNumber}{/each}\n\nRegards,\nSTARS Administrators"),
+
+    /**
+     * Student swopped index with another student.
+     */
+    SWOP("Index Swopped Notification",
+            "Dear {name},\n\nThis is to confirm that your index for {courseCode} has been swopped, and you are now "
+                    + "registered for index number {indexNumber}.\n\nRegards,\nSTARS Administrators",
+            "Dear {name},\n\nThis is to confirm that your indexes have been swopped, and you are now registered for "
+                    + "the following:{#each}\n- {courseCode}, of index number {indexNumber}{/each}"
+                    + "\n\nRegards,\nSTARS Administrators");
+
+    /**
+     * Subject of email.
+     */
+    private final String subject;
+
+    /**
+     * Template of body for one notification.
+     */
+    private final NotificationTemplate body;
+
+    /**
+     * Template of body for several notifications to the same student.
+     */
+    private final NotificationTemplate digestBody;
+
+    /**
+     * Initializes event with its templates.
+     *
+     * @param subject    Subject of email.
+     * @param body       Template of body for one notification.
+     * @param digestBody Template of body for several notifications to the same student.
+     */
+    NotificationType(String subject, String body, String digestBody) {
+        this.subject = subject;
+        this.body = NotificationTemplate.compile(body);
+        this.digestBody = NotificationTemplate.compile(digestBody);
+    }
+
+    /**
+     * Returns subject of email.
+     *
+     * @return Subject of email.
+     */
+    public String getSubject() {
+        return subject;
+    }
+
+    /**
+     * Returns template of body for one notification.
+     *
+     * @return Template of body.
+     */
+    public NotificationTemplate getBody() {
+        return body;
+    }
+
+    /**
+     * Returns template of body for several notifications to the same student.
+     *
+     * @return Template of digest body.
+     */
+    public NotificationTemplate getDigestBody() {
+        return digestBody;
+    }
+}
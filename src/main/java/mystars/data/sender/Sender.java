@@ -2,6 +2,8 @@ package mystars.data.sender;
 
 import mystars.data.exception.MyStarsException;
 
+import java.util.List;
+
 /**
  * Interface for senders.
  */
@@ -20,10 +22,21 @@ public interface Sender {
     /**
      * Sends notification to student.
      *
-     * @param courseCode  Course that is successfully added.
-     * @param indexNumber Index of course that is successfully added.
-     * @param name        Name of student.
+     * @param notification Notification to send.
      * @throws MyStarsException If there is issue sending notification.
      */
-    void send(String courseCode, String indexNumber, String name) throws MyStarsException;
+    void send(Notification notification) throws MyStarsException;
+
+    /**
+     * Sends notifications to student together, e.g. as one digest.
+     * By default, sends each notification in turn, so some may be sent again if a later one fails.
+     *
+     * @param notifications Notifications to the same student.
+     * @throws MyStarsException If there is issue sending notifications.
+     */
+    default void send(List<Notification> notifications) throws MyStarsException {
+        for (Notification notification : notifications) {
+            send(notification);
+        }
+    }
 }
@@ -0,0 +1,273 @@
+package mystars.data.sender;
+
+import javax.mail.Authenticator;
+import javax.mail.Message;
+import javax.mail.MessagingException;
+import javax.mail.Session;
+import javax.mail.Transport;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.Properties;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pool of SMTP connections sharing one mail session, so that many emails are sent over each connection.
+ * At most a fixed number of connections are open at once, and connections left idle too long are closed.
+ */
+public class SmtpTransportPool {
+
+    /**
+     * Protocol of connections.
+     */
+    private static final String PROTOCOL = "smtp";
+
+    /**
+     * Interrupted error message.
+     */
+    private static final String INTERRUPTED_ERROR = "Interrupted while waiting for SMTP connection.";
+
+    /**
+     * Mail session shared by connections.
+     */
+    private final Session session;
+
+    /**
+     * Milliseconds a connection may stay idle before it is closed.
+     */
+    private final long idleMillis;
+
+    /**
+     * Permits for connections in use, limiting connections open at once.
+     */
+    private final Semaphore permits;
+
+    /**
+     * Maximum number of connections.
+     */
+    private final int maxSize;
+
+    /**
+     * Idle connections, most recently used first.
+     */
+    private final ArrayDeque<IdleTransport> idleTransports = new ArrayDeque<>();
+
+    /**
+     * Thread closing connections idle too long while no email is sent.
+     */
+    private final ScheduledExecutorService evictor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "smtp-evictor");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Initializes pool.
+     *
+     * @param properties    Mail session properties.
+     * @param authenticator Authenticator of connections, null if not needed.
+     * @param maxSize       Maximum number of connections open at once.
+     * @param idleMillis    Milliseconds a connection may stay idle before it is closed.
+     */
+    public SmtpTransportPool(Properties properties, Authenticator authenticator, int maxSize, long idleMillis) {
+        session = Session.getInstance(properties, authenticator);
+        this.maxSize = maxSize;
+        this.idleMillis = idleMillis;
+        permits = new Semaphore(maxSize, true);
+        evictor.scheduleWithFixedDelay(() -> {
+            synchronized (idleTransports) {
+                evictIdleTransports();
+            }
+        }, idleMillis, idleMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Returns mail session shared by connections, for creating messages.
+     *
+     * @return Mail session.
+     */
+    public Session getSession() {
+        return session;
+    }
+
+    /**
+     * Sends message over a pooled connection, waiting if all connections are in use.
+     * If a reused connection has failed, the message is sent once more over a new connection. Other errors, such as
+     * recipients refused by the server, are thrown without sending again.
+     *
+     * @param message Message to send.
+     * @throws MessagingException If there is issue sending message.
+     */
+    public void send(Message message) throws MessagingException {
+        message.saveChanges();
+        try {
+            permits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new MessagingException(INTERRUPTED_ERROR);
+        }
+
+        try {
+            Transport transport = takeIdleTransport();
+            if (transport != null) {
+                try {
+                    transport.sendMessage(message, message.getAllRecipients());
+                    release(transport);
+                    return;
+                } catch (MessagingException e) {
+                    if (!isConnectionFailure(transport, e)) {
+                        release(transport);
+                        throw e;
+                    }
+                    close(transport);
+                } catch (IllegalStateException e) {
+                    // The server closed the connection while it was idle.
+                    close(transport);
+                }
+            }
+
+            transport = session.getTransport(PROTOCOL);
+            transport.connect();
+            try {
+                transport.sendMessage(message, message.getAllRecipients());
+            } catch (MessagingException e) {
+                close(transport);
+                throw e;
+            }
+            release(transport);
+        } finally {
+            permits.release();
+        }
+    }
+
+    /**
+     * Closes idle connections and stops closing connections in the background.
+     */
+    public void close() {
+        evictor.shutdownNow();
+        synchronized (idleTransports) {
+            for (IdleTransport idleTransport : idleTransports) {
+                close(idleTransport.transport);
+            }
+            idleTransports.clear();
+        }
+    }
+
+    /**
+     * Returns number of idle connections.
+     *
+     * @return Number of idle connections.
+     */
+    public int getNoOfIdle() {
+        synchronized (idleTransports) {
+            return idleTransports.size();
+        }
+    }
+
+    /**
+     * Closes connections idle too long, and returns most recently used idle connection.
+     *
+     * @return Idle connection, null if there is none.
+     */
+    private Transport takeIdleTransport() {
+        synchronized (idleTransports) {
+            evictIdleTransports();
+            IdleTransport idleTransport = idleTransports.pollFirst();
+            return idleTransport == null ? null : idleTransport.transport;
+        }
+    }
+
+    /**
+     * Returns connection to pool, closing it if the pool is full.
+     *
+     * @param transport Connection to return.
+     */
+    private void release(Transport transport) {
+        synchronized (idleTransports) {
+            evictIdleTransports();
+            if (idleTransports.size() < maxSize) {
+                idleTransports.addFirst(new IdleTransport(transport, System.currentTimeMillis()));
+                return;
+            }
+        }
+        close(transport);
+    }
+
+    /**
+     * Closes connections that have been idle too long, which are at the end of idle connections.
+     */
+    private void evictIdleTransports() {
+        long now = System.currentTimeMillis();
+        Iterator<IdleTransport> iterator = idleTransports.descendingIterator();
+        while (iterator.hasNext()) {
+            IdleTransport idleTransport = iterator.next();
+            if (now - idleTransport.idleSince < idleMillis) {
+                return;
+            }
+            iterator.remove();
+            close(idleTransport.transport);
+        }
+    }
+
+    /**
+     * Returns if sending failed because the connection failed, such as when the server closed it while it was idle.
+     *
+     * @param transport Connection sent over.
+     * @param e         Error of sending.
+     * @return True if connection failed, false otherwise.
+     */
+    private static boolean isConnectionFailure(Transport transport, MessagingException e) {
+        if (!transport.isConnected()) {
+            return true;
+        }
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof IOException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Closes connection, ignoring errors as the connection is no longer used.
+     *
+     * @param transport Connection to close.
+     */
+    private static void close(Transport transport) {
+        try {
+            transport.close();
+        } catch (MessagingException e) {
+            // Connection is already unusable.
+        }
+    }
+
+    /**
+     * Idle connection with when it was last used.
+     */
+    private static class IdleTransport {
+
+        /**
+         * Connection.
+         */
+        private final Transport transport;
+
+        /**
+         * Milliseconds since epoch when connection was last used.
+         */
+        private final long idleSince;
+
+        /**
+         * Initializes idle connection.
+         *
+         * @param transport Connection.
+         * @param idleSince Milliseconds since epoch when connection was last used.
+         */
+        private IdleTransport(Transport transport, long idleSince) {
+            this.transport = transport;
+            this.idleSince = idleSince;
+        }
+    }
+}
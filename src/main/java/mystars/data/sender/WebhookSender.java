@@ -0,0 +1,116 @@
+package mystars.data.sender;
+
+import mystars.data.exception.MyStarsException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.StringJoiner;
+
+/**
+ * Sender that posts notifications as JSON to a webhook, such as a local service relaying them to students.
+ */
+public class WebhookSender implements Sender {
+
+    /**
+     * Milliseconds to wait for the webhook to connect or respond.
+     */
+    private static final int TIMEOUT_MILLIS = 5000;
+
+    /**
+     * Email address of student.
+     */
+    private final String email;
+
+    /**
+     * URL of webhook.
+     */
+    private final URL url;
+
+    /**
+     * Initializes sender.
+     *
+     * @param email Email address of student.
+     * @param url   URL of webhook.
+     */
+    public WebhookSender(String email, URL url) {
+        this.email = email;
+        this.url = url;
+    }
+
+    /**
+     * Posts notification to webhook.
+     *
+     * @param notification Notification to send.
+     * @throws MyStarsException If webhook cannot be reached or does not accept notification.
+     */
+    @Override
+    public void send(Notification notification) throws MyStarsException {
+        send(List.of(notification));
+    }
+
+    /**
+     * Posts notifications to webhook in one request.
+     *
+     * @param notifications Notifications to the same student.
+     * @throws MyStarsException If webhook cannot be reached or does not accept notifications.
+     */
+    @Override
+    public void send(List<Notification> notifications) throws MyStarsException {
+        StringJoiner courses = new StringJoiner(",", "[", "]");
+        for (Notification notification : notifications) {
+            courses.add("{\"event\":" + quote(notification.getType().name()) + ",\"courseCode\":"
+                    + quote(notification.getCourseCode()) + ",\"indexNumber\":"
+                    + quote(notification.getIndexNumber()) + "}");
+        }
+        String body = "{\"email\":" + quote(email) + ",\"name\":" + quote(notifications.get(0).getName())
+                + ",\"courses\":" + courses + "}";
+
+        try {
+            HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+            connection.setConnectTimeout(TIMEOUT_MILLIS);
+            connection.setReadTimeout(TIMEOUT_MILLIS);
+            connection.setRequestMethod("POST");
+            connection.setRequestProperty("Content-Type", "application/json; charset=utf-8");
+            connection.setDoOutput(true);
+            try (OutputStream out = connection.getOutputStream()) {
+                out.write(body.getBytes(StandardCharsets.UTF_8));
+            }
+            int status = connection.getResponseCode();
+            try (InputStream in = status < 400 ? connection.getInputStream() : connection.getErrorStream()) {
+                if (in != null) {
+                    in.readAllBytes();
+                }
+            }
+            if (status / 100 != 2) {
+                throw new MyStarsException(SEND_ERROR);
+            }
+        } catch (IOException e) {
+            throw new MyStarsException(SEND_ERROR);
+        }
+    }
+
+    /**
+     * Returns text as a JSON string.
+     *
+     * @param text Text to quote.
+     * @return JSON string.
+     */
+    private static String quote(String text) {
+        StringBuilder quoted = new StringBuilder("\"");
+        for (char c : text.toCharArray()) {
+            if (c == '"' || c == '\\') {
+                quoted.append('\\').append(c);
+            } else if (c < ' ') {
+                quoted.append(String.format("\\u%04x", (int) c));
+            } else {
+                quoted.append(c);
+            }
+        }
+        return quoted.append('"').toString();
+    }
+}
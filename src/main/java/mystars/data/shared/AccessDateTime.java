@@ -9,7 +9,7 @@ public class AccessDateTime {
     /**
      * Array of start date/time and end date/time.
      */
-    private LocalDateTime[] accessDateTime;
+    private volatile LocalDateTime[] accessDateTime;
 
     /**
      * Initializes access date/time.
@@ -34,6 +34,15 @@ public class Admin extends User {
 
     }
 
+    /**
+     * Returns staff ID.
+     *
+     * @return Staff ID.
+     */
+    public String getStaffId() {
+        return staffId;
+    }
+
     /**
      * Copies details to combine login info and admin details.
      *
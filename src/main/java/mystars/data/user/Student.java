@@ -8,6 +8,7 @@ import mystars.parser.Parser;
 
 /**
  * Student class.
+ * Course lists are changed under the student's lock, so that sessions enrolling the same student do not interleave.
  */
 public class Student extends User {
 
@@ -158,6 +159,24 @@ public class Student extends User {
         return matricNo;
     }
 
+    /**
+     * Returns course of study.
+     *
+     * @return Course of study.
+     */
+    public String getCourseOfStudy() {
+        return courseOfStudy;
+    }
+
+    /**
+     * Returns year of study.
+     *
+     * @return Year of study.
+     */
+    public int getYearOfStudy() {
+        return yearOfStudy;
+    }
+
     /**
      * Returns registered courses.
      *
@@ -191,7 +210,7 @@ public class Student extends User {
      * @param course Course to check.
      * @return True is course is in list of registered courses, false otherwise.
      */
-    public boolean isCourseInRegistered(Course course) {
+    public synchronized boolean isCourseInRegistered(Course course) {
         return registeredCourses.isCourseInList(course);
     }
 
@@ -201,7 +220,7 @@ public class Student extends User {
      * @param course Course to check.
      * @return True is course is in list of waitlisted courses, false otherwise.
      */
-    public boolean isCourseInWaitlisted(Course course) {
+    public synchronized boolean isCourseInWaitlisted(Course course) {
         return waitlistedCourses.isCourseInList(course);
     }
 
@@ -242,7 +261,7 @@ public class Student extends User {
      * @param courseToAdd Course to add.
      * @throws MyStarsException If there is issue adding courses.
      */
-    public void addCourseToRegistered(Course courseToAdd) throws MyStarsException {
+    public synchronized void addCourseToRegistered(Course courseToAdd) throws MyStarsException {
         if (courseToAdd.getNumOfAUs() + registeredCourses.getTotalNoOfAUs() > MAX_AU_ALLOWED) {
             throw new MyStarsException(EXCEED_AU_ERROR);
         }
@@ -256,7 +275,7 @@ public class Student extends User {
      * @param courseToAdd Course to add.
      * @throws MyStarsException If there is issue adding courses.
      */
-    public void addCourseToWaitlisted(Course courseToAdd) throws MyStarsException {
+    public synchronized void addCourseToWaitlisted(Course courseToAdd) throws MyStarsException {
         checkCoursesInList(courseToAdd);
         waitlistedCourses.addCourse(courseToAdd);
     }
@@ -267,7 +286,7 @@ public class Student extends User {
      * @param courseToDrop Course to drop.
      * @throws MyStarsException If there is issue dropping courses.
      */
-    public void dropRegisteredCourse(Course courseToDrop) throws MyStarsException {
+    public synchronized void dropRegisteredCourse(Course courseToDrop) throws MyStarsException {
         if (registeredCourses.isCourseInList(courseToDrop)) {
             registeredCourses.dropCourse(courseToDrop);
         } else {
@@ -281,7 +300,7 @@ public class Student extends User {
      * @param courseToDrop Course to drop.
      * @throws MyStarsException If there is issue dropping courses.
      */
-    public void dropWaitlistedCourse(Course courseToDrop) throws MyStarsException {
+    public synchronized void dropWaitlistedCourse(Course courseToDrop) throws MyStarsException {
         if (waitlistedCourses.isCourseInList(courseToDrop)) {
             waitlistedCourses.dropCourse(courseToDrop);
         } else {
@@ -289,6 +308,42 @@ public class Student extends User {
         }
     }
 
+    /**
+     * Moves course from list of waitlisted courses to list of registered courses.
+     * The course stays waitlisted if it cannot be registered.
+     *
+     * @param course Course to move.
+     * @throws MyStarsException If there is issue registering course.
+     */
+    public synchronized void promoteWaitlistedCourse(Course course) throws MyStarsException {
+        dropWaitlistedCourse(course);
+        try {
+            addCourseToRegistered(course);
+        } catch (MyStarsException e) {
+            waitlistedCourses.addCourse(course);
+            throw e;
+        }
+    }
+
+    /**
+     * Replaces course in list of registered courses with another index.
+     * The original course stays registered if the new index cannot be registered.
+     *
+     * @param courseToDrop Course to drop.
+     * @param courseToAdd  Course to add.
+     * @throws MyStarsException If there is issue dropping or adding courses.
+     */
+    public synchronized void changeRegisteredCourse(Course courseToDrop, Course courseToAdd)
+            throws MyStarsException {
+        dropRegisteredCourse(courseToDrop);
+        try {
+            addCourseToRegistered(courseToAdd);
+        } catch (MyStarsException e) {
+            registeredCourses.addCourse(courseToDrop);
+            throw e;
+        }
+    }
+
     /**
      * Copies details to combine login info and student details.
      *
@@ -313,7 +368,7 @@ public class Student extends User {
      * @param courseToAdd Course to add.
      * @throws MyStarsException If there is issue adding course.
      */
-    public void checkCoursesInList(Course courseToAdd) throws MyStarsException {
+    public synchronized void checkCoursesInList(Course courseToAdd) throws MyStarsException {
         if (isCourseInRegistered(courseToAdd)) {
             throw new MyStarsException(COURSE_IN_REGISTERED_ERROR);
         }
@@ -334,24 +389,22 @@ public class Student extends User {
      * @param course Course to overwrite with.
      * @throws MyStarsException If there is problem replacing course.
      */
-    public void modifyRegisteredCourse(Course course) throws MyStarsException {
-        for (int i = 0; i < registeredCourses.getCourses().size(); i++) {
-            if (registeredCourses.getCourses().get(i).equals(course)) {
-                Course removedCourse = registeredCourses.getCourses().remove(i);
-                if (course.getNumOfAUs() + registeredCourses.getTotalNoOfAUs() > MAX_AU_ALLOWED) {
-                    registeredCourses.getCourses().add(removedCourse);
-                    throw new MyStarsException(EXCEED_AU_ERROR);
-                }
-                for (Course registered : registeredCourses.getCourses()) {
-                    if (registered.isClash(course)) {
-                        registeredCourses.getCourses().add(removedCourse);
-                        throw new MyStarsException(TIMING_CLASH_ERROR);
-                    }
-                }
-                registeredCourses.getCourses().add(course);
-                break;
-            }
+    public synchronized void modifyRegisteredCourse(Course course) throws MyStarsException {
+        Course removedCourse = registeredCourses.getCourseByIndex(course.getIndexNumber());
+        if (removedCourse == null) {
+            return;
+        }
+
+        registeredCourses.dropCourse(removedCourse);
+        if (course.getNumOfAUs() + registeredCourses.getTotalNoOfAUs() > MAX_AU_ALLOWED) {
+            registeredCourses.addCourse(removedCourse);
+            throw new MyStarsException(EXCEED_AU_ERROR);
+        }
+        if (registeredCourses.isClash(course)) {
+            registeredCourses.addCourse(removedCourse);
+            throw new MyStarsException(TIMING_CLASH_ERROR);
         }
+        registeredCourses.addCourse(course);
     }
 
     /**
@@ -359,12 +412,7 @@ public class Student extends User {
      *
      * @param course Course to overwrite with.
      */
-    public void modifyWaitlistedCourse(Course course) {
-        for (int i = 0; i < waitlistedCourses.getCourses().size(); i++) {
-            if (waitlistedCourses.getCourses().get(i).equals(course)) {
-                waitlistedCourses.getCourses().set(i, course);
-                break;
-            }
-        }
+    public synchronized void modifyWaitlistedCourse(Course course) {
+        waitlistedCourses.replaceCourse(course);
     }
 }
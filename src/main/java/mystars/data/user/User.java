@@ -2,6 +2,8 @@ package mystars.data.user;
 
 import mystars.data.shared.Gender;
 
+import java.util.Arrays;
+
 /**
  * User class.
  */
@@ -111,6 +113,16 @@ public abstract class User {
         return true;
     }
 
+    /**
+     * Returns hash code of username, consistent with {@link #equals(Object)}.
+     *
+     * @return Hash code of username.
+     */
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(username);
+    }
+
     /**
      * Returns name of user.
      *
@@ -134,7 +146,7 @@ public abstract class User {
      *
      * @return Gender of user.
      */
-    Gender getGender() {
+    public Gender getGender() {
         return gender;
     }
 
@@ -152,7 +164,7 @@ public abstract class User {
      *
      * @return Nationality of user.
      */
-    String getNationality() {
+    public String getNationality() {
         return nationality;
     }
 
@@ -5,9 +5,13 @@ import mystars.data.password.PasswordHandler;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
 
 /**
  * List of users.
+ * Methods are synchronized, as the list is shared by every session.
  */
 public class UserList {
 
@@ -50,25 +54,65 @@ public class UserList {
      * @throws MyStarsException If there is issue validating password.
      */
     public User getUser(char[][] usernameAndPassword) throws MyStarsException {
+        User user = getUserByUsername(usernameAndPassword[0]);
+        if (user != null && new PasswordHandler().validatePassword(usernameAndPassword[1], user.getPassword())) {
+            return user;
+        }
+        return null;
+    }
+
+    /**
+     * Returns user with username.
+     * Passwords are checked by callers without holding the lock, as hashing is slow.
+     *
+     * @param username Username.
+     * @return User with username, null if there is none.
+     */
+    private synchronized User getUserByUsername(char[] username) {
         for (User user : users) {
-            if (Arrays.equals(user.getUsername(), usernameAndPassword[0])) {
-                if (new PasswordHandler().validatePassword(usernameAndPassword[1], user.getPassword())) {
-                    return user;
-                } else {
-                    break;
-                }
+            if (Arrays.equals(user.getUsername(), username)) {
+                return user;
             }
         }
         return null;
     }
 
     /**
-     * Returns list of users.
+     * Returns copy of list of users.
      *
      * @return List of users.
      */
-    public ArrayList<User> getUsers() {
-        return users;
+    public synchronized ArrayList<User> getUsers() {
+        return new ArrayList<>(users);
+    }
+
+    /**
+     * Returns students by upper-cased matriculation number.
+     *
+     * @return Students by matriculation number.
+     */
+    public synchronized HashMap<String, Student> getStudentsByMatricNo() {
+        HashMap<String, Student> studentsByMatricNo = new HashMap<>();
+        for (User user : users) {
+            if (user instanceof Student && ((Student) user).getMatricNo() != null) {
+                studentsByMatricNo.put(((Student) user).getMatricNo().toUpperCase(), (Student) user);
+            }
+        }
+        return studentsByMatricNo;
+    }
+
+    /**
+     * Returns comparator of students by their position in list, which is the order they were loaded or added.
+     * Students not in list come last.
+     *
+     * @return Comparator of students.
+     */
+    public synchronized Comparator<Student> getListOrder() {
+        IdentityHashMap<User, Integer> positions = new IdentityHashMap<>();
+        for (int i = 0; i < users.size(); i++) {
+            positions.put(users.get(i), i);
+        }
+        return Comparator.comparingInt(student -> positions.getOrDefault(student, Integer.MAX_VALUE));
     }
 
     /**
@@ -79,12 +123,7 @@ public class UserList {
      * @throws MyStarsException If there is issue validating password.
      */
     public boolean isLoginValid(char[][] usernameAndPassword) throws MyStarsException {
-        for (User user : users) {
-            if (Arrays.equals(user.getUsername(), usernameAndPassword[0])) {
-                return new PasswordHandler().validatePassword(usernameAndPassword[1], user.getPassword());
-            }
-        }
-        return false;
+        return getUser(usernameAndPassword) != null;
     }
 
     /**
@@ -123,7 +162,7 @@ public class UserList {
      * @param students Student list.
      * @param admins   Admin list.
      */
-    public void addDetails(ArrayList<User> students, ArrayList<User> admins) {
+    public synchronized void addDetails(ArrayList<User> students, ArrayList<User> admins) {
         ArrayList<User> userDetails = new ArrayList<>(students);
         userDetails.addAll(admins);
         for (User user : users) {
@@ -141,7 +180,7 @@ public class UserList {
      *
      * @param user User to add.
      */
-    public void addUser(User user) {
+    public synchronized void addUser(User user) {
         users.add(user);
     }
 
@@ -151,7 +190,7 @@ public class UserList {
      * @param matricNo Matriculation number to check.
      * @throws MyStarsException If it is a duplicate.
      */
-    public void checkDuplicateMatricNo(String matricNo) throws MyStarsException {
+    public synchronized void checkDuplicateMatricNo(String matricNo) throws MyStarsException {
         if (isDuplicateMatricNo(matricNo)) {
             throw new MyStarsException(DUPLICATE_MATRIC_ERROR);
         }
@@ -163,7 +202,7 @@ public class UserList {
      * @param username Username to check.
      * @throws MyStarsException If it is a duplicate.
      */
-    public void checkDuplicateUsername(char[] username) throws MyStarsException {
+    public synchronized void checkDuplicateUsername(char[] username) throws MyStarsException {
         if (isDuplicateUsername(username)) {
             throw new MyStarsException(DUPLICATE_USERNAME_ERROR);
         }
@@ -0,0 +1,26 @@
+package mystars.data.valid;
+
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Paths;
+
+/**
+ * File validity checker.
+ */
+public class FileValidChecker implements ValidChecker {
+
+    /**
+     * Checks input validity.
+     *
+     * @param line Line to check.
+     * @return If input is path of a readable file.
+     */
+    @Override
+    public boolean isValid(String line) {
+        try {
+            return Files.isRegularFile(Paths.get(line)) && Files.isReadable(Paths.get(line));
+        } catch (InvalidPathException e) {
+            return false;
+        }
+    }
+}
@@ -1,10 +1,12 @@
 package mystars.parser;
 
+import mystars.Session;
 import mystars.commands.Command;
 import mystars.commands.admin.AddStudentCommand;
 import mystars.commands.admin.AddUpdateCourseCommand;
 import mystars.commands.admin.CheckVacancyCommand;
 import mystars.commands.admin.EditStudentAccessCommand;
+import mystars.commands.admin.ImportCoursesCommand;
 import mystars.commands.admin.PrintListByCourseCommand;
 import mystars.commands.admin.PrintListByIndexCommand;
 import mystars.commands.shared.LogoutCommand;
@@ -16,6 +18,7 @@ import mystars.commands.student.PrintCourseRegCommand;
 import mystars.commands.student.SwopIndexCommand;
 import mystars.data.course.Course;
 import mystars.data.course.CourseList;
+import mystars.data.course.EnrolmentChange;
 import mystars.data.course.lesson.Lesson;
 import mystars.data.course.lesson.LessonList;
 import mystars.data.course.lesson.LessonType;
@@ -28,7 +31,8 @@ import mystars.data.user.Admin;
 import mystars.data.user.Student;
 import mystars.data.user.User;
 import mystars.data.user.UserList;
-import mystars.storage.Storage;
+import mystars.storage.CourseImporter;
+import mystars.storage.StorageBackend;
 import mystars.ui.AdminUi;
 import mystars.ui.StudentUi;
 
@@ -37,7 +41,7 @@ import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
-import java.util.stream.Collectors;
+import java.util.Map;
 
 /**
  * Parses user input and file.
@@ -69,6 +73,21 @@ public class Parser {
      */
     public static final String ASTERISK_SEPARATOR = ESCAPED_ASTERISK_SEPARATOR.replace("\\", "");
 
+    /**
+     * Separator between fields of a line.
+     */
+    private static final char FIELD_SEPARATOR = LINE_SEPARATOR.charAt(0);
+
+    /**
+     * Separator between lessons of a course.
+     */
+    private static final char LESSON_SEPARATOR = ASTERISK_SEPARATOR.charAt(0);
+
+    /**
+     * Separator between details of a lesson, and between course of study and year of study.
+     */
+    private static final char DETAIL_SEPARATOR = TILDE_SEPARATOR.charAt(0);
+
     /**
      * Invalid user type error message.
      */
@@ -107,6 +126,7 @@ public class Parser {
     /**
      * Parses admin input, and returns corresponding command.
      *
+     * @param session        Session of admin.
      * @param fullCommand    String of admin input to parse.
      * @param users          List of users.
      * @param ui             Ui object.
@@ -116,30 +136,34 @@ public class Parser {
      * @return Command to execute.
      * @throws MyStarsException If command is invalid.
      */
-    public Command parseAdminInput(String fullCommand, UserList users, AdminUi ui, CourseList courses, Storage storage,
-                                   AccessDateTime accessDateTime) throws MyStarsException {
+    public Command parseAdminInput(Session session, String fullCommand, UserList users, AdminUi ui,
+                                   CourseList courses, StorageBackend storage, AccessDateTime accessDateTime)
+            throws MyStarsException {
         Command command;
         switch (fullCommand.trim()) {
         case EditStudentAccessCommand.COMMAND_WORD:
-            command = new EditStudentAccessCommand(ui, storage, accessDateTime);
+            command = new EditStudentAccessCommand(session, ui, storage, accessDateTime);
             break;
         case AddStudentCommand.COMMAND_WORD:
-            command = new AddStudentCommand(ui, storage, users);
+            command = new AddStudentCommand(session, ui, storage, users);
             break;
         case AddUpdateCourseCommand.COMMAND_WORD:
-            command = new AddUpdateCourseCommand(ui, storage, courses);
+            command = new AddUpdateCourseCommand(session, ui, storage, courses);
             break;
         case CheckVacancyCommand.COMMAND_WORD:
-            command = new CheckVacancyCommand(ui, courses);
+            command = new CheckVacancyCommand(session, ui, courses);
             break;
         case PrintListByIndexCommand.COMMAND_WORD:
-            command = new PrintListByIndexCommand(ui, courses, users);
+            command = new PrintListByIndexCommand(session, ui, courses, users);
             break;
         case PrintListByCourseCommand.COMMAND_WORD:
-            command = new PrintListByCourseCommand(ui, courses, users);
+            command = new PrintListByCourseCommand(session, ui, courses, users);
             break;
-        case LogoutCommand.COMMAND_WORD:
-            command = new LogoutCommand(ui);
+        case ImportCoursesCommand.COMMAND_WORD:
+            command = new ImportCoursesCommand(session, ui, storage, courses, new CourseImporter(this));
+            break;
+        case LogoutCommand.ADMIN_COMMAND_WORD:
+            command = new LogoutCommand(session, ui, storage);
             break;
         default:
             throw new MyStarsException(Command.COMMAND_ERROR);
@@ -151,6 +175,7 @@ public class Parser {
     /**
      * Parses student input, and returns corresponding command.
      *
+     * @param session     Session of student.
      * @param fullCommand String of student input to parse.
      * @param users       List of users.
      * @param ui          Ui object.
@@ -159,30 +184,30 @@ public class Parser {
      * @return Command to execute.
      * @throws MyStarsException If command is invalid.
      */
-    public Command parseStudentInput(String fullCommand, UserList users, StudentUi ui, CourseList courses,
-                                     Storage storage) throws MyStarsException {
+    public Command parseStudentInput(Session session, String fullCommand, UserList users, StudentUi ui,
+                                     CourseList courses, StorageBackend storage) throws MyStarsException {
         Command command;
         switch (fullCommand.trim()) {
         case AddCourseCommand.COMMAND_WORD:
-            command = new AddCourseCommand(ui, courses, storage);
+            command = new AddCourseCommand(session, ui, courses, storage);
             break;
         case DropCourseCommand.COMMAND_WORD:
-            command = new DropCourseCommand(ui, courses, storage);
+            command = new DropCourseCommand(session, ui, courses, storage);
             break;
         case PrintCourseRegCommand.COMMAND_WORD:
-            command = new PrintCourseRegCommand(ui);
+            command = new PrintCourseRegCommand(session, ui);
             break;
         case CheckCourseVacancyCommand.COMMAND_WORD:
-            command = new CheckCourseVacancyCommand(ui, courses);
+            command = new CheckCourseVacancyCommand(session, ui, courses);
             break;
         case ChangeIndexNoCommand.COMMAND_WORD:
-            command = new ChangeIndexNoCommand(ui, courses, storage);
+            command = new ChangeIndexNoCommand(session, ui, courses, storage);
             break;
         case SwopIndexCommand.COMMAND_WORD:
-            command = new SwopIndexCommand(ui, courses, storage, users);
+            command = new SwopIndexCommand(session, ui, courses, storage, users);
             break;
         case LogoutCommand.COMMAND_WORD:
-            command = new LogoutCommand(ui);
+            command = new LogoutCommand(session, ui, storage);
             break;
         default:
             throw new MyStarsException(Command.COMMAND_ERROR);
@@ -194,17 +219,16 @@ public class Parser {
     /**
      * Reads users from file.
      *
-     * @param line Line of user to read.
+     * @param tokenizer Tokenizer at line of user to read.
      * @return Users of corresponding line.
      * @throws MyStarsException If user is incomplete or invalid.
      */
-    public User readUser(String line) throws MyStarsException {
+    public User readUser(Tokenizer tokenizer) throws MyStarsException {
 
         User user;
-        String[] userSplit = line.split(ESCAPED_LINE_SEPARATOR);
-        String username = userSplit[0].trim().toUpperCase();
-        String password = userSplit[1].trim();
-        String type = userSplit[2].trim().toUpperCase();
+        String username = tokenizer.nextUpperCaseField(FIELD_SEPARATOR);
+        String password = tokenizer.nextField(FIELD_SEPARATOR);
+        String type = tokenizer.nextSharedUpperCaseField(FIELD_SEPARATOR);
         switch (type) {
         case STUDENT:
             user = new Student();
@@ -226,36 +250,43 @@ public class Parser {
     /**
      * Reads courses from file.
      *
-     * @param line Line of course to read.
+     * @param tokenizer Tokenizer at line of course to read.
      * @return Courses of corresponding line.
      * @throws MyStarsException If course vacancy/number of AUs is not an integer.
      */
-    public Course readCourse(String line) throws MyStarsException {
+    public Course readCourse(Tokenizer tokenizer) throws MyStarsException {
+        return readCourse(tokenizer, FIELD_SEPARATOR);
+    }
 
-        String[] courseSplit = line.split(ESCAPED_LINE_SEPARATOR);
-        String courseCode = courseSplit[0].trim().toUpperCase();
-        String school = courseSplit[1].trim().toUpperCase();
-        String indexNumber = courseSplit[2].trim();
-        String vacancyString = courseSplit[3].trim();
-        String numOfAUsString = courseSplit[4].trim();
-        String lessonString = courseSplit[5].trim();
+    /**
+     * Reads courses from file with given field separator, such as a comma for CSV files.
+     *
+     * @param tokenizer      Tokenizer at line of course to read.
+     * @param fieldSeparator Separator between fields of course.
+     * @return Courses of corresponding line.
+     * @throws MyStarsException If course vacancy/number of AUs is not an integer.
+     */
+    public Course readCourse(Tokenizer tokenizer, char fieldSeparator) throws MyStarsException {
+
+        String courseCode = tokenizer.nextSharedUpperCaseField(fieldSeparator);
+        String school = tokenizer.nextSharedUpperCaseField(fieldSeparator);
+        String indexNumber = tokenizer.nextField(fieldSeparator);
 
         int vacancy;
         int numOfAUs;
         try {
-            vacancy = Integer.parseInt(vacancyString);
+            vacancy = tokenizer.nextInt(fieldSeparator);
         } catch (NumberFormatException numberFormatException) {
             throw new MyStarsException(INVALID_VACANCY_ERROR);
         }
 
         try {
-            numOfAUs = Integer.parseInt(numOfAUsString);
+            numOfAUs = tokenizer.nextInt(fieldSeparator);
         } catch (NumberFormatException numberFormatException) {
             throw new MyStarsException(INVALID_AU_ERROR);
         }
 
-        String[] lessonsString = lessonString.split(ESCAPED_ASTERISK_SEPARATOR);
-        LessonList lessonList = readLessons(lessonsString);
+        LessonList lessonList = readLessons(tokenizer);
 
         return new Course(courseCode, school, indexNumber, vacancy, numOfAUs, lessonList);
     }
@@ -263,21 +294,20 @@ public class Parser {
     /**
      * Reads list of lessons and returns it.
      *
-     * @param lessonsString Lessons string.
+     * @param tokenizer Tokenizer at lessons of course.
      * @return List of lessons.
      * @throws MyStarsException If there is issue reading lessons.
      */
-    private LessonList readLessons(String[] lessonsString) throws MyStarsException {
+    private LessonList readLessons(Tokenizer tokenizer) throws MyStarsException {
         LessonList lessonList = new LessonList();
-        for (String lessonString : lessonsString) {
-            String[] lessonDetailsString = lessonString.split(TILDE_SEPARATOR);
-            LessonType lessonType = LessonType.valueOf(lessonDetailsString[0].trim().toUpperCase());
-            String venue = lessonDetailsString[1].trim().toUpperCase();
-            LocalTime startTime = LocalTime.parse(lessonDetailsString[2].trim());
-            LocalTime endTime = LocalTime.parse(lessonDetailsString[3].trim());
-            DayOfWeek day = DayOfWeek.valueOf(lessonDetailsString[4].trim().toUpperCase());
-            Week week = Week.valueOf(lessonDetailsString[5].trim().toUpperCase());
-            String group = lessonDetailsString[6].trim().toUpperCase();
+        while (tokenizer.hasMoreFields()) {
+            LessonType lessonType = tokenizer.nextEnum(LessonType.class, DETAIL_SEPARATOR);
+            String venue = tokenizer.nextSharedUpperCaseField(DETAIL_SEPARATOR);
+            LocalTime startTime = tokenizer.nextTime(DETAIL_SEPARATOR);
+            LocalTime endTime = tokenizer.nextTime(DETAIL_SEPARATOR);
+            DayOfWeek day = tokenizer.nextEnum(DayOfWeek.class, DETAIL_SEPARATOR);
+            Week week = tokenizer.nextEnum(Week.class, DETAIL_SEPARATOR);
+            String group = tokenizer.nextSharedUpperCaseField(LESSON_SEPARATOR);
 
             Lesson lessonToAdd = new Lesson(lessonType, venue, startTime, endTime, day, week, group);
 
@@ -293,23 +323,22 @@ public class Parser {
     /**
      * Reads students from file.
      *
-     * @param line Line of student to read.
+     * @param tokenizer Tokenizer at line of student to read.
      * @return Students of corresponding line.
+     * @throws MyStarsException If student is incomplete.
      */
-    public Student readStudent(String line) {
+    public Student readStudent(Tokenizer tokenizer) throws MyStarsException {
 
-        String[] studentSplit = line.split(ESCAPED_LINE_SEPARATOR);
-        String name = studentSplit[0].trim();
-        String matricNo = studentSplit[1].trim().toUpperCase();
-        Gender gender = Gender.valueOf(studentSplit[2].trim().toUpperCase());
-        String nationality = studentSplit[3].trim();
-        String username = studentSplit[4].trim().toUpperCase();
+        String name = tokenizer.nextField(FIELD_SEPARATOR);
+        String matricNo = tokenizer.nextUpperCaseField(FIELD_SEPARATOR);
+        Gender gender = tokenizer.nextEnum(Gender.class, FIELD_SEPARATOR);
+        String nationality = tokenizer.nextSharedField(FIELD_SEPARATOR);
+        String username = tokenizer.nextUpperCaseField(FIELD_SEPARATOR);
 
-        String[] courseAndYear = studentSplit[5].split(TILDE_SEPARATOR);
-        String courseOfStudy = courseAndYear[0].trim().toUpperCase();
-        int yearOfStudy = Integer.parseInt(courseAndYear[1].trim());
+        String courseOfStudy = tokenizer.nextSharedUpperCaseField(DETAIL_SEPARATOR);
+        int yearOfStudy = tokenizer.nextInt(FIELD_SEPARATOR);
 
-        String email = studentSplit[6].trim();
+        String email = tokenizer.nextField(FIELD_SEPARATOR);
 
         return new Student(name, matricNo, gender, nationality, username, courseOfStudy, yearOfStudy, email);
     }
@@ -317,17 +346,17 @@ public class Parser {
     /**
      * Reads admins from file.
      *
-     * @param line Line of admin to read.
+     * @param tokenizer Tokenizer at line of admin to read.
      * @return Admins of corresponding line.
+     * @throws MyStarsException If admin is incomplete.
      */
-    public Admin readAdmin(String line) {
+    public Admin readAdmin(Tokenizer tokenizer) throws MyStarsException {
 
-        String[] adminSplit = line.split(ESCAPED_LINE_SEPARATOR);
-        String name = adminSplit[0].trim();
-        String staffId = adminSplit[1].trim();
-        Gender gender = Gender.valueOf(adminSplit[2].trim().toUpperCase());
-        String nationality = adminSplit[3].trim();
-        String username = adminSplit[4].trim().toUpperCase();
+        String name = tokenizer.nextField(FIELD_SEPARATOR);
+        String staffId = tokenizer.nextField(FIELD_SEPARATOR);
+        Gender gender = tokenizer.nextEnum(Gender.class, FIELD_SEPARATOR);
+        String nationality = tokenizer.nextSharedField(FIELD_SEPARATOR);
+        String username = tokenizer.nextUpperCaseField(FIELD_SEPARATOR);
 
         return new Admin(name, staffId, gender, nationality, username);
     }
@@ -354,22 +383,56 @@ public class Parser {
     /**
      * Reads and returns students list.
      *
-     * @param line  Line to read.
-     * @param users Student list.
-     * @return List of students.
+     * @param matricNos          Matriculation numbers of students.
+     * @param studentsByMatricNo Students by matriculation number.
+     * @return List of students found.
      */
-    public ArrayList<Student> readStudentList(String line, UserList users) {
+    public ArrayList<Student> readStudentList(ArrayList<String> matricNos, Map<String, Student> studentsByMatricNo) {
+        ArrayList<Student> students = new ArrayList<>();
+        for (String matricNo : matricNos) {
+            Student student = studentsByMatricNo.get(matricNo);
+            if (student != null) {
+                students.add(student);
+            }
+        }
+        return students;
+    }
+
+    /**
+     * Reads and returns matriculation numbers of a registered/waitlisted line.
+     *
+     * @param line Line to read.
+     * @return List of matriculation numbers.
+     */
+    public ArrayList<String> readMatricNos(String line) {
         String[] matricNos = line.split(ESCAPED_LINE_SEPARATOR);
-        ArrayList<Student> registeredStudents = new ArrayList<>();
+        ArrayList<String> matricNoList = new ArrayList<>();
         for (int i = 1; i < matricNos.length; i++) {
-            for (Student student : users.getUsers().stream().filter(Student.class::isInstance).map(Student.class::cast)
-                    .collect(Collectors.toList())) {
-                if (student.getMatricNo().equalsIgnoreCase(matricNos[i].trim())) {
-                    registeredStudents.add(student);
-                }
-            }
+            matricNoList.add(matricNos[i].trim().toUpperCase());
+        }
+        return matricNoList;
+    }
+
+    /**
+     * Reads journal entry and returns it.
+     *
+     * @param line Line to read.
+     * @return Enrolment change, index number and matriculation number, null if line is not a complete entry.
+     */
+    public String[] readJournalEntry(String line) {
+        String[] entrySplit = line.split(ESCAPED_LINE_SEPARATOR, -1);
+        if (entrySplit.length != 3 || entrySplit[1].isBlank() || entrySplit[2].isBlank()) {
+            return null;
+        }
+
+        String[] entry = {entrySplit[0].trim().toUpperCase(), entrySplit[1].trim(),
+                entrySplit[2].trim().toUpperCase()};
+        try {
+            EnrolmentChange.valueOf(entry[0]);
+        } catch (IllegalArgumentException e) {
+            return null;
         }
-        return registeredStudents;
+        return entry;
     }
 
     /**
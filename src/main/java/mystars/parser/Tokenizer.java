@@ -0,0 +1,391 @@
+package mystars.parser;
+
+import mystars.data.exception.MyStarsException;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.time.LocalTime;
+
+/**
+ * Reads separated fields of data files line by line from a reader, without regular expressions.
+ * Values that repeat across lines, such as schools and venues, can be shared instead of copied for every line.
+ */
+public class Tokenizer {
+
+    /**
+     * Missing field error message.
+     */
+    private static final String MISSING_FIELD_ERROR = "Line has missing field: ";
+
+    /**
+     * Number of characters read from reader at a time.
+     */
+    private static final int BUFFER_SIZE = 8192;
+
+    /**
+     * Initial number of characters a line can hold.
+     */
+    private static final int INITIAL_LINE_SIZE = 256;
+
+    /**
+     * Initial number of shared values that can be held, must be a power of two.
+     */
+    private static final int INITIAL_POOL_SIZE = 256;
+
+    /**
+     * Length of time in the format HH:mm.
+     */
+    private static final int TIME_LENGTH = 5;
+
+    /**
+     * Time separator.
+     */
+    private static final char TIME_SEPARATOR = ':';
+
+    /**
+     * Reader to read from.
+     */
+    private final Reader reader;
+
+    /**
+     * Characters read from reader.
+     */
+    private final char[] buffer = new char[BUFFER_SIZE];
+
+    /**
+     * Position of next character to use in buffer.
+     */
+    private int bufferPosition;
+
+    /**
+     * Number of characters in buffer.
+     */
+    private int bufferLimit;
+
+    /**
+     * If line feed after carriage return should be skipped.
+     */
+    private boolean isSkipLineFeed;
+
+    /**
+     * Characters of current line.
+     */
+    private char[] line = new char[INITIAL_LINE_SIZE];
+
+    /**
+     * Number of characters in current line.
+     */
+    private int lineLength;
+
+    /**
+     * Position of next field in current line.
+     */
+    private int position;
+
+    /**
+     * Start of current field in current line.
+     */
+    private int fieldStart;
+
+    /**
+     * End of current field in current line.
+     */
+    private int fieldEnd;
+
+    /**
+     * Shared values, hashed by their characters.
+     */
+    private String[] pool = new String[INITIAL_POOL_SIZE];
+
+    /**
+     * Number of shared values.
+     */
+    private int poolSize;
+
+    /**
+     * Initializes tokenizer.
+     *
+     * @param reader Reader to read from.
+     */
+    public Tokenizer(Reader reader) {
+        this.reader = reader;
+    }
+
+    /**
+     * Moves to the next line.
+     *
+     * @return True if there is a next line, false if end of reader is reached.
+     * @throws IOException If there is issue reading.
+     */
+    public boolean nextLine() throws IOException {
+        lineLength = 0;
+        position = 0;
+        boolean isRead = false;
+        while (true) {
+            if (bufferPosition == bufferLimit) {
+                bufferLimit = reader.read(buffer);
+                bufferPosition = 0;
+                if (bufferLimit <= 0) {
+                    bufferLimit = 0;
+                    return isRead;
+                }
+            }
+
+            char c = buffer[bufferPosition++];
+            if (isSkipLineFeed) {
+                isSkipLineFeed = false;
+                if (c == '\n') {
+                    continue;
+                }
+            }
+
+            isRead = true;
+            if (c == '\n') {
+                return true;
+            } else if (c == '\r') {
+                isSkipLineFeed = true;
+                return true;
+            }
+
+            if (lineLength == line.length) {
+                char[] newLine = new char[line.length * 2];
+                System.arraycopy(line, 0, newLine, 0, lineLength);
+                line = newLine;
+            }
+            line[lineLength++] = c;
+        }
+    }
+
+    /**
+     * Returns if there are more fields in current line.
+     *
+     * @return True if there are more fields.
+     */
+    public boolean hasMoreFields() {
+        return position < lineLength;
+    }
+
+    /**
+     * Returns next field, without surrounding whitespace.
+     *
+     * @param separator Separator ending the field.
+     * @return Field.
+     * @throws MyStarsException If there is no more fields.
+     */
+    public String nextField(char separator) throws MyStarsException {
+        nextRange(separator, false);
+        return new String(line, fieldStart, fieldEnd - fieldStart);
+    }
+
+    /**
+     * Returns next field in upper case, without surrounding whitespace.
+     *
+     * @param separator Separator ending the field.
+     * @return Field in upper case.
+     * @throws MyStarsException If there is no more fields.
+     */
+    public String nextUpperCaseField(char separator) throws MyStarsException {
+        nextRange(separator, true);
+        return new String(line, fieldStart, fieldEnd - fieldStart);
+    }
+
+    /**
+     * Returns next field, without surrounding whitespace, sharing the same string with identical fields.
+     *
+     * @param separator Separator ending the field.
+     * @return Shared field.
+     * @throws MyStarsException If there is no more fields.
+     */
+    public String nextSharedField(char separator) throws MyStarsException {
+        nextRange(separator, false);
+        return share();
+    }
+
+    /**
+     * Returns next field in upper case, without surrounding whitespace, sharing the same string with identical fields.
+     *
+     * @param separator Separator ending the field.
+     * @return Shared field in upper case.
+     * @throws MyStarsException If there is no more fields.
+     */
+    public String nextSharedUpperCaseField(char separator) throws MyStarsException {
+        nextRange(separator, true);
+        return share();
+    }
+
+    /**
+     * Returns next field as an integer.
+     *
+     * @param separator Separator ending the field.
+     * @return Field as an integer.
+     * @throws MyStarsException      If there is no more fields.
+     * @throws NumberFormatException If field is not an integer.
+     */
+    public int nextInt(char separator) throws MyStarsException {
+        nextRange(separator, false);
+        int start = fieldStart;
+        int end = fieldEnd;
+        boolean isNegative = start < end && line[start] == '-';
+        if (start < end && (line[start] == '-' || line[start] == '+')) {
+            start++;
+        }
+        if (start == end) {
+            throw new NumberFormatException(new String(line, fieldStart, fieldEnd - fieldStart));
+        }
+
+        long value = 0;
+        for (int i = start; i < end; i++) {
+            int digit = Character.digit(line[i], 10);
+            value = value * 10 + digit;
+            if (digit < 0 || value > (long) Integer.MAX_VALUE + 1) {
+                throw new NumberFormatException(new String(line, fieldStart, fieldEnd - fieldStart));
+            }
+        }
+        value = isNegative ? -value : value;
+        if (value > Integer.MAX_VALUE) {
+            throw new NumberFormatException(new String(line, fieldStart, fieldEnd - fieldStart));
+        }
+        return (int) value;
+    }
+
+    /**
+     * Returns next field as a time.
+     *
+     * @param separator Separator ending the field.
+     * @return Field as a time.
+     * @throws MyStarsException                         If there is no more fields.
+     * @throws java.time.format.DateTimeParseException If field is not a time.
+     */
+    public LocalTime nextTime(char separator) throws MyStarsException {
+        nextRange(separator, false);
+        int start = fieldStart;
+        if (fieldEnd - start == TIME_LENGTH && line[start + 2] == TIME_SEPARATOR) {
+            int hour = Character.digit(line[start], 10) * 10 + Character.digit(line[start + 1], 10);
+            int minute = Character.digit(line[start + 3], 10) * 10 + Character.digit(line[start + 4], 10);
+            if (Character.isDigit(line[start]) && Character.isDigit(line[start + 1])
+                    && Character.isDigit(line[start + 3]) && Character.isDigit(line[start + 4])
+                    && hour < 24 && minute < 60) {
+                return LocalTime.of(hour, minute);
+            }
+        }
+        return LocalTime.parse(new String(line, start, fieldEnd - start));
+    }
+
+    /**
+     * Returns next field as an enum constant, ignoring case.
+     *
+     * @param type      Type of enum.
+     * @param separator Separator ending the field.
+     * @param <E>       Type of enum.
+     * @return Field as an enum constant.
+     * @throws MyStarsException         If there is no more fields.
+     * @throws IllegalArgumentException If there is no such constant.
+     */
+    public <E extends Enum<E>> E nextEnum(Class<E> type, char separator) throws MyStarsException {
+        return Enum.valueOf(type, nextSharedUpperCaseField(separator));
+    }
+
+    /**
+     * Finds next field, without surrounding whitespace, and moves past it.
+     *
+     * @param separator   Separator ending the field.
+     * @param isUpperCase If field should be changed to upper case.
+     * @throws MyStarsException If there is no more fields.
+     */
+    private void nextRange(char separator, boolean isUpperCase) throws MyStarsException {
+        if (!hasMoreFields()) {
+            throw new MyStarsException(MISSING_FIELD_ERROR + new String(line, 0, lineLength));
+        }
+
+        int end = position;
+        while (end < lineLength && line[end] != separator) {
+            end++;
+        }
+
+        int start = position;
+        position = end + 1;
+        while (start < end && line[start] <= ' ') {
+            start++;
+        }
+        while (end > start && line[end - 1] <= ' ') {
+            end--;
+        }
+
+        if (isUpperCase) {
+            for (int i = start; i < end; i++) {
+                line[i] = Character.toUpperCase(line[i]);
+            }
+        }
+        fieldStart = start;
+        fieldEnd = end;
+    }
+
+    /**
+     * Returns shared string with the characters of current field, adding it if there is none yet.
+     *
+     * @return Shared string.
+     */
+    private String share() {
+        int start = fieldStart;
+        int end = fieldEnd;
+        int hash = 0;
+        for (int i = start; i < end; i++) {
+            hash = 31 * hash + line[i];
+        }
+
+        int mask = pool.length - 1;
+        for (int i = hash & mask; ; i = (i + 1) & mask) {
+            String value = pool[i];
+            if (value == null) {
+                value = new String(line, start, end - start);
+                pool[i] = value;
+                if (++poolSize * 2 > pool.length) {
+                    growPool();
+                }
+                return value;
+            }
+            if (value.hashCode() == hash && isSame(value, start, end)) {
+                return value;
+            }
+        }
+    }
+
+    /**
+     * Returns if string has the same characters as in line.
+     *
+     * @param value String to compare.
+     * @param start Start of characters in line.
+     * @param end   End of characters in line.
+     * @return True if they are the same.
+     */
+    private boolean isSame(String value, int start, int end) {
+        if (value.length() != end - start) {
+            return false;
+        }
+        for (int i = start; i < end; i++) {
+            if (value.charAt(i - start) != line[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Doubles the number of shared values that can be held.
+     */
+    private void growPool() {
+        String[] oldPool = pool;
+        pool = new String[oldPool.length * 2];
+        int mask = pool.length - 1;
+        for (String value : oldPool) {
+            if (value == null) {
+                continue;
+            }
+            int i = value.hashCode() & mask;
+            while (pool[i] != null) {
+                i = (i + 1) & mask;
+            }
+            pool[i] = value;
+        }
+    }
+}
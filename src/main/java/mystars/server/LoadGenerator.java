@@ -0,0 +1,104 @@
+package mystars.server;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Load generator for {@link SessionServer} on localhost.
+ * Each client sends the lines of a script, such as ui-test/input.txt, and reads output until the session ends.
+ */
+public class LoadGenerator {
+
+    /**
+     * Usage message.
+     */
+    private static final String USAGE = "Usage: LoadGenerator <port> <number of clients> <script file>";
+
+    /**
+     * Report format.
+     */
+    private static final String REPORT_FORMAT = "%d sessions, %d failed, in %d ms: %.1f sessions/s, "
+            + "latency p50 %d ms, p99 %d ms, max %d ms";
+
+    /**
+     * Size of buffer for reading output.
+     */
+    private static final int BUFFER_SIZE = 8192;
+
+    /**
+     * Runs clients concurrently and prints throughput and latency.
+     *
+     * @param args Port, number of clients and script file.
+     * @throws Exception If script cannot be read or clients are interrupted.
+     */
+    public static void main(String[] args) throws Exception {
+        if (args.length != 3) {
+            System.out.println(USAGE);
+            return;
+        }
+        int port = Integer.parseInt(args[0]);
+        int noOfClients = Integer.parseInt(args[1]);
+        byte[] script = Files.readAllBytes(Paths.get(args[2]));
+
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(noOfClients, 256));
+        List<Future<Long>> sessions = new ArrayList<>();
+        long startTime = System.nanoTime();
+        for (int i = 0; i < noOfClients; i++) {
+            sessions.add(executor.submit(() -> runClient(port, script)));
+        }
+
+        long[] latencies = new long[noOfClients];
+        int noOfFailures = 0;
+        for (int i = 0; i < noOfClients; i++) {
+            try {
+                latencies[i] = sessions.get(i).get();
+            } catch (Exception e) {
+                latencies[i] = Long.MAX_VALUE;
+                noOfFailures++;
+            }
+        }
+        long elapsedMillis = (System.nanoTime() - startTime) / 1_000_000;
+        executor.shutdown();
+
+        Arrays.sort(latencies);
+        int noOfSuccesses = Math.max(noOfClients - noOfFailures, 1);
+        System.out.println(String.format(REPORT_FORMAT, noOfClients, noOfFailures, elapsedMillis,
+                noOfClients * 1000.0 / Math.max(elapsedMillis, 1), latencies[(noOfSuccesses - 1) / 2],
+                latencies[(noOfSuccesses - 1) * 99 / 100], latencies[noOfSuccesses - 1]));
+    }
+
+    /**
+     * Runs one session of script and returns its latency.
+     *
+     * @param port   Port of server.
+     * @param script Input to send.
+     * @return Milliseconds from connecting to end of session.
+     * @throws IOException If there is issue with connection.
+     */
+    private static long runClient(int port, byte[] script) throws IOException {
+        long startTime = System.nanoTime();
+        try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), port)) {
+            OutputStream out = socket.getOutputStream();
+            out.write(script);
+            out.flush();
+
+            InputStream in = socket.getInputStream();
+            byte[] buffer = new byte[BUFFER_SIZE];
+            while (in.read(buffer) >= 0) {
+                // Output is discarded, the session ends when the server closes the connection.
+            }
+        }
+        return (System.nanoTime() - startTime) / 1_000_000;
+    }
+}
@@ -0,0 +1,125 @@
+package mystars.server;
+
+import mystars.MyStars;
+import mystars.Session;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.logging.Level;
+
+/**
+ * Serves MySTARS sessions over TCP, each connection running its own session with the same courses and users.
+ * Sessions run on virtual threads where the Java runtime has them, and on pooled platform threads otherwise.
+ */
+public class SessionServer implements AutoCloseable {
+
+    /**
+     * Listening message.
+     */
+    private static final String LISTEN_MESSAGE = "MySTARS is listening on port ";
+
+    /**
+     * Name of executor factory for virtual threads.
+     */
+    private static final String VIRTUAL_THREAD_EXECUTOR = "newVirtualThreadPerTaskExecutor";
+
+    /**
+     * MySTARS whose sessions are served.
+     */
+    private final MyStars myStars;
+
+    /**
+     * Socket accepting connections.
+     */
+    private final ServerSocket serverSocket;
+
+    /**
+     * Executor running sessions.
+     */
+    private final ExecutorService executor;
+
+    /**
+     * Initializes server listening on port.
+     *
+     * @param myStars MySTARS whose sessions are served.
+     * @param port    Port to listen on, or 0 for any free port.
+     * @throws IOException If port cannot be listened on.
+     */
+    public SessionServer(MyStars myStars, int port) throws IOException {
+        this.myStars = myStars;
+        serverSocket = new ServerSocket(port, 0, InetAddress.getLoopbackAddress());
+        executor = newSessionExecutor();
+    }
+
+    /**
+     * Returns executor starting a virtual thread per session, or a cached thread pool before Java 21.
+     *
+     * @return Executor for sessions.
+     */
+    private static ExecutorService newSessionExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod(VIRTUAL_THREAD_EXECUTOR).invoke(null);
+        } catch (ReflectiveOperationException e) {
+            MyStars.logger.log(Level.INFO, e.toString());
+            return Executors.newCachedThreadPool();
+        }
+    }
+
+    /**
+     * Returns port server is listening on.
+     *
+     * @return Port number.
+     */
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    /**
+     * Accepts connections and runs a session for each, until server is closed.
+     */
+    public void serve() {
+        System.out.println(LISTEN_MESSAGE + getPort());
+        while (!serverSocket.isClosed()) {
+            try {
+                Socket socket = serverSocket.accept();
+                executor.execute(() -> runSession(socket));
+            } catch (IOException e) {
+                if (!serverSocket.isClosed()) {
+                    MyStars.logger.log(Level.WARNING, e.getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * Runs session on connection, closing connection when user exits or disconnects.
+     * Saves of the session are written before it ends, even if user disconnects without logging out.
+     *
+     * @param socket Connection of user.
+     */
+    private void runSession(Socket socket) {
+        try (socket) {
+            myStars.run(new Session(socket.getInputStream(), socket.getOutputStream()));
+        } catch (IOException | NoSuchElementException e) {
+            MyStars.logger.log(Level.INFO, e.toString());
+        } finally {
+            myStars.flush();
+        }
+    }
+
+    /**
+     * Stops accepting connections, leaving sessions already running to finish.
+     *
+     * @throws IOException If there is issue closing server socket.
+     */
+    @Override
+    public void close() throws IOException {
+        serverSocket.close();
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,66 @@
+package mystars.storage;
+
+import mystars.data.course.CourseList;
+import mystars.data.shared.AccessDateTime;
+import mystars.data.user.UserList;
+
+/**
+ * Courses, users and access period loaded together at startup.
+ */
+public class Bootstrap {
+
+    /**
+     * List of courses.
+     */
+    private final CourseList courses;
+
+    /**
+     * List of users.
+     */
+    private final UserList users;
+
+    /**
+     * Access date/time.
+     */
+    private final AccessDateTime accessDateTime;
+
+    /**
+     * Initializes Bootstrap.
+     *
+     * @param courses        List of courses.
+     * @param users          List of users.
+     * @param accessDateTime Access date/time.
+     */
+    public Bootstrap(CourseList courses, UserList users, AccessDateTime accessDateTime) {
+        this.courses = courses;
+        this.users = users;
+        this.accessDateTime = accessDateTime;
+    }
+
+    /**
+     * Returns list of courses.
+     *
+     * @return List of courses.
+     */
+    public CourseList getCourses() {
+        return courses;
+    }
+
+    /**
+     * Returns list of users.
+     *
+     * @return List of users.
+     */
+    public UserList getUsers() {
+        return users;
+    }
+
+    /**
+     * Returns access date/time.
+     *
+     * @return Access date/time.
+     */
+    public AccessDateTime getAccessDateTime() {
+        return accessDateTime;
+    }
+}
@@ -0,0 +1,292 @@
+package mystars.storage;
+
+import mystars.data.course.Course;
+import mystars.data.course.CourseList;
+import mystars.data.exception.MyStarsException;
+import mystars.data.user.Student;
+import mystars.data.valid.CourseCodeValidChecker;
+import mystars.data.valid.IndexNumberValidChecker;
+import mystars.data.valid.SchoolValidChecker;
+import mystars.parser.Parser;
+import mystars.parser.Tokenizer;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.DateTimeException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.TreeMap;
+
+/**
+ * Reads courses to add or update in bulk, from a file in courses.txt format or a CSV file of the same fields.
+ */
+public class CourseImporter {
+
+    /**
+     * Extension of CSV files.
+     */
+    private static final String CSV_EXTENSION = ".csv";
+
+    /**
+     * Field separator of CSV files.
+     */
+    private static final char CSV_SEPARATOR = ',';
+
+    /**
+     * Field separator of courses.txt format.
+     */
+    private static final char FIELD_SEPARATOR = '|';
+
+    /**
+     * Invalid import error message.
+     */
+    private static final String IMPORT_ERROR = "Nothing was imported, as the file has these issues:";
+
+    /**
+     * Read error message.
+     */
+    private static final String READ_ERROR = "Problem reading file!";
+
+    /**
+     * Empty file error message.
+     */
+    private static final String EMPTY_FILE_ERROR = "There are no courses in the file!";
+
+    /**
+     * Invalid course code error message.
+     */
+    private static final String INVALID_COURSE_CODE_ERROR = "Invalid course code ";
+
+    /**
+     * Invalid school error message.
+     */
+    private static final String INVALID_SCHOOL_ERROR = "Invalid school ";
+
+    /**
+     * Invalid index number error message.
+     */
+    private static final String INVALID_INDEX_ERROR = "Invalid index number ";
+
+    /**
+     * Invalid lesson error message.
+     */
+    private static final String INVALID_LESSON_ERROR = "Invalid lesson details.";
+
+    /**
+     * Duplicate index number error message.
+     */
+    private static final String DUPLICATE_INDEX_ERROR = "Index %s is already on line %d.";
+
+    /**
+     * Different AUs from a line error message.
+     */
+    private static final String DIFFERENT_AU_ERROR = "%s has %d AUs, but %d AUs on line %d.";
+
+    /**
+     * Registered student exceeding maximum AUs error message.
+     */
+    private static final String EXCEED_AU_ERROR = "%s would exceed the maximum of %d AUs.";
+
+    /**
+     * Registered student timing clash error message.
+     */
+    private static final String TIMING_CLASH_ERROR = "%s would have a timing clash with index %s.";
+
+    /**
+     * Format of an issue with line number.
+     */
+    private static final String LINE_FORMAT = "Line %d: %s";
+
+    /**
+     * Parser to read courses.
+     */
+    private final Parser parser;
+
+    /**
+     * Initializes course importer.
+     *
+     * @param parser Parser to read courses.
+     */
+    public CourseImporter(Parser parser) {
+        this.parser = parser;
+    }
+
+    /**
+     * Reads and validates courses in file, whose first line is a header.
+     * Every issue found is reported with its line number, and no course is returned if there is any issue.
+     *
+     * @param path    Path of file.
+     * @param courses Existing courses.
+     * @return Courses to add or update, in file order.
+     * @throws MyStarsException If file cannot be read or has any issue.
+     */
+    public ArrayList<Course> read(Path path, CourseList courses) throws MyStarsException {
+        char fieldSeparator = path.toString().toLowerCase().endsWith(CSV_EXTENSION) ? CSV_SEPARATOR
+                : FIELD_SEPARATOR;
+        ArrayList<Course> importedCourses = new ArrayList<>();
+        ArrayList<Integer> lineNos = new ArrayList<>();
+        TreeMap<Integer, ArrayList<String>> issues = new TreeMap<>();
+
+        try (BufferedReader bufferedReader = Files.newBufferedReader(path)) {
+            Tokenizer tokenizer = new Tokenizer(bufferedReader);
+            tokenizer.nextLine();
+
+            for (int lineNo = 2; tokenizer.nextLine(); lineNo++) {
+                if (!tokenizer.hasMoreFields()) {
+                    continue;
+                }
+                try {
+                    importedCourses.add(parser.readCourse(tokenizer, fieldSeparator));
+                    lineNos.add(lineNo);
+                } catch (MyStarsException e) {
+                    addIssue(issues, lineNo, e.getReason());
+                } catch (IllegalArgumentException | DateTimeException e) {
+                    addIssue(issues, lineNo, INVALID_LESSON_ERROR);
+                }
+            }
+        } catch (IOException e) {
+            throw new MyStarsException(READ_ERROR);
+        }
+
+        validate(importedCourses, lineNos, courses, issues);
+        if (!issues.isEmpty()) {
+            StringJoiner message = new StringJoiner(System.lineSeparator());
+            message.add(IMPORT_ERROR);
+            for (Map.Entry<Integer, ArrayList<String>> lineIssues : issues.entrySet()) {
+                for (String issue : lineIssues.getValue()) {
+                    message.add(String.format(LINE_FORMAT, lineIssues.getKey(), issue));
+                }
+            }
+            throw new MyStarsException(message.toString());
+        }
+        if (importedCourses.isEmpty()) {
+            throw new MyStarsException(EMPTY_FILE_ERROR);
+        }
+        return importedCourses;
+    }
+
+    /**
+     * Checks courses read against each other and existing courses.
+     *
+     * @param importedCourses Courses read.
+     * @param lineNos         Line number of each course read.
+     * @param courses         Existing courses.
+     * @param issues          Issues found so far by line number, to add to.
+     */
+    private void validate(ArrayList<Course> importedCourses, ArrayList<Integer> lineNos, CourseList courses,
+                          TreeMap<Integer, ArrayList<String>> issues) {
+        HashMap<String, Integer> lineNosByIndex = new HashMap<>();
+        for (int i = 0; i < importedCourses.size(); i++) {
+            Integer previousLineNo = lineNosByIndex.putIfAbsent(importedCourses.get(i).getIndexNumber(),
+                    lineNos.get(i));
+            if (previousLineNo != null) {
+                addIssue(issues, lineNos.get(i), String.format(DUPLICATE_INDEX_ERROR,
+                        importedCourses.get(i).getIndexNumber(), previousLineNo));
+            }
+        }
+
+        // Existing indexes that are not replaced keep their AUs after import.
+        HashMap<String, Integer> noOfReplacedByCourseCode = new HashMap<>();
+        for (String indexNumber : lineNosByIndex.keySet()) {
+            Course existingCourse = courses.getCourseByIndex(indexNumber);
+            if (existingCourse != null) {
+                noOfReplacedByCourseCode.merge(existingCourse.getCourseCode().toUpperCase(), 1, Integer::sum);
+            }
+        }
+        HashMap<String, Integer> firstPositionsByCourseCode = new HashMap<>();
+
+        for (int i = 0; i < importedCourses.size(); i++) {
+            Course course = importedCourses.get(i);
+            int lineNo = lineNos.get(i);
+            if (!new CourseCodeValidChecker().isValid(course.getCourseCode())) {
+                addIssue(issues, lineNo, INVALID_COURSE_CODE_ERROR + course.getCourseCode());
+            }
+            if (!new SchoolValidChecker().isValid(course.getSchool())) {
+                addIssue(issues, lineNo, INVALID_SCHOOL_ERROR + course.getSchool());
+            }
+            if (!new IndexNumberValidChecker().isValid(course.getIndexNumber())) {
+                addIssue(issues, lineNo, INVALID_INDEX_ERROR + course.getIndexNumber());
+            }
+
+            String courseCode = course.getCourseCode().toUpperCase();
+            Integer firstPosition = firstPositionsByCourseCode.putIfAbsent(courseCode, i);
+            if (!courses.isValidNumOfAUs(course, noOfReplacedByCourseCode.getOrDefault(courseCode, 0))) {
+                addIssue(issues, lineNo, courses.getAuViolation(course));
+            } else if (firstPosition != null
+                    && importedCourses.get(firstPosition).getNumOfAUs() != course.getNumOfAUs()) {
+                addIssue(issues, lineNo, String.format(DIFFERENT_AU_ERROR, course.getCourseCode(),
+                        course.getNumOfAUs(), importedCourses.get(firstPosition).getNumOfAUs(),
+                        lineNos.get(firstPosition)));
+            }
+
+            Course existingCourse = courses.getCourseByIndex(course.getIndexNumber());
+            if (existingCourse != null) {
+                try {
+                    existingCourse.checkEnoughVacancies(course.getInitialVacancies());
+                } catch (MyStarsException e) {
+                    addIssue(issues, lineNo, e.getReason());
+                }
+            }
+        }
+
+        validateRegisteredStudents(importedCourses, lineNos, courses, issues);
+    }
+
+    /**
+     * Checks that students registered in replaced indexes stay within the maximum AUs and have no timing clash,
+     * taking courses in file order as the import replaces them.
+     *
+     * @param importedCourses Courses read.
+     * @param lineNos         Line number of each course read.
+     * @param courses         Existing courses.
+     * @param issues          Issues found so far by line number, to add to.
+     */
+    private void validateRegisteredStudents(ArrayList<Course> importedCourses, ArrayList<Integer> lineNos,
+                                            CourseList courses, TreeMap<Integer, ArrayList<String>> issues) {
+        HashMap<Student, HashMap<String, Course>> replacedByStudent = new HashMap<>();
+
+        for (int i = 0; i < importedCourses.size(); i++) {
+            Course course = importedCourses.get(i);
+            Course existingCourse = courses.getCourseByIndex(course.getIndexNumber());
+            if (existingCourse == null) {
+                continue;
+            }
+
+            for (Student student : existingCourse.getRegisteredStudentList()) {
+                HashMap<String, Course> replacedCourses = replacedByStudent.computeIfAbsent(student,
+                        key -> new HashMap<>());
+                replacedCourses.put(course.getIndexNumber(), course);
+
+                int totalNoOfAUs = 0;
+                for (Course registeredCourse : student.getRegisteredCourses().getCourses()) {
+                    Course replacedCourse = replacedCourses.getOrDefault(registeredCourse.getIndexNumber(),
+                            registeredCourse);
+                    totalNoOfAUs += replacedCourse.getNumOfAUs();
+                    if (replacedCourse != course && replacedCourse.isClash(course)) {
+                        addIssue(issues, lineNos.get(i), String.format(TIMING_CLASH_ERROR,
+                                student.getMatricNo(), replacedCourse.getIndexNumber()));
+                    }
+                }
+                if (totalNoOfAUs > Student.MAX_AU_ALLOWED) {
+                    addIssue(issues, lineNos.get(i), String.format(EXCEED_AU_ERROR, student.getMatricNo(),
+                            Student.MAX_AU_ALLOWED));
+                }
+            }
+        }
+    }
+
+    /**
+     * Adds issue found on a line.
+     *
+     * @param issues Issues found so far by line number.
+     * @param lineNo Line number of issue.
+     * @param issue  Issue found.
+     */
+    private void addIssue(TreeMap<Integer, ArrayList<String>> issues, int lineNo, String issue) {
+        issues.computeIfAbsent(lineNo, key -> new ArrayList<>()).add(issue);
+    }
+}
@@ -0,0 +1,51 @@
+package mystars.storage;
+
+import java.util.ArrayList;
+
+/**
+ * Report of rows loaded, rows that could not be resolved and time taken, for each file loaded.
+ */
+public class LoadReport {
+
+    /**
+     * Table format for report.
+     */
+    public static final String FORMAT = "%-15s %10s %10s %12s";
+
+    /**
+     * Number of nanoseconds in a millisecond.
+     */
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+    /**
+     * Report lines, one for each file loaded.
+     */
+    private final ArrayList<String> lines = new ArrayList<>();
+
+    /**
+     * Records file loaded.
+     *
+     * @param file         Filename loaded.
+     * @param noOfRows     Number of rows loaded.
+     * @param noOfMisses   Number of references that could not be resolved.
+     * @param elapsedNanos Time taken in nanoseconds.
+     */
+    public synchronized void record(String file, int noOfRows, int noOfMisses, long elapsedNanos) {
+        lines.add(String.format(FORMAT, file, noOfRows, noOfMisses,
+                String.format("%.2f ms", elapsedNanos / NANOS_PER_MILLI)));
+    }
+
+    /**
+     * Report formatted as a table.
+     *
+     * @return Report formatted as a table.
+     */
+    @Override
+    public synchronized String toString() {
+        StringBuilder report = new StringBuilder(String.format(FORMAT, "File", "Rows", "Misses", "Elapsed"));
+        for (String line : lines) {
+            report.append(System.lineSeparator()).append(line);
+        }
+        return report.toString();
+    }
+}
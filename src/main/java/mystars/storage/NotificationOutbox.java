@@ -0,0 +1,539 @@
+package mystars.storage;
+
+import mystars.MyStars;
+import mystars.data.exception.MyStarsException;
+import mystars.data.sender.Notification;
+import mystars.data.sender.NotificationRouter;
+import mystars.data.sender.NotificationType;
+import mystars.data.sender.Sender;
+import mystars.parser.Parser;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+
+/**
+ * Durable outbox of notifications, sent in the background so that commands do not wait for mail servers.
+ * Notifications are recorded in a file before they are sent, and those not yet sent are sent again after a restart.
+ * Each notification is sent on every channel of a router, with each channel sent, retried and recorded on its own.
+ * Notifications of the same event to the same student are sent together in batches, so that the student may get one
+ * digest, and each batch is retried on its own.
+ * Failed sends are retried with exponential backoff, up to a maximum number of attempts.
+ */
+public class NotificationOutbox {
+
+    /**
+     * Format of outbox file.
+     */
+    private static final String OUTBOX_FORMAT = "format: QUEUED|id|email|course code|index number|name|event, "
+            + "SENT|id|channel or FAILED|id|channel";
+
+    /**
+     * Queued record.
+     */
+    private static final String QUEUED = "QUEUED";
+
+    /**
+     * Sent record.
+     */
+    private static final String SENT = "SENT";
+
+    /**
+     * Failed record, for notifications given up after the maximum number of attempts.
+     */
+    private static final String FAILED = "FAILED";
+
+    /**
+     * Read error message.
+     */
+    private static final String READ_ERROR = "I am unable to read notification outbox. "
+            + "Notifications not yet sent may be lost.";
+
+    /**
+     * Write error message.
+     */
+    private static final String WRITE_ERROR = "I am unable to write notification outbox. "
+            + "Notifications may not be sent.";
+
+    /**
+     * Malformed record message.
+     */
+    private static final String SKIP_RECORD_MESSAGE = "Skipped malformed notification outbox record: ";
+
+    /**
+     * Given up message.
+     */
+    private static final String GIVE_UP_MESSAGE = "Gave up sending notification to %s by %s after %d attempts.";
+
+    /**
+     * Maximum number of attempts to send a notification. The delays between them add up to about 7 minutes, most of
+     * them at the maximum delay, so that an outage of a few minutes does not give up notifications.
+     */
+    private static final int MAX_ATTEMPTS = 12;
+
+    /**
+     * Delay before the first retry, doubled for every retry after.
+     */
+    private static final long INITIAL_BACKOFF_MILLIS = 1000;
+
+    /**
+     * Maximum delay between retries.
+     */
+    private static final long MAX_BACKOFF_MILLIS = 60_000;
+
+    /**
+     * Maximum number of notifications to a student sent together.
+     */
+    private static final int BATCH_SIZE = Integer.getInteger("mystars.notificationBatchSize", 10);
+
+    /**
+     * Number of records after which the outbox file is rewritten with only notifications not yet sent.
+     */
+    private static final int COMPACTION_THRESHOLD = 256;
+
+    /**
+     * Suffix of temporary file written during compaction.
+     */
+    private static final String TEMP_SUFFIX = ".tmp";
+
+    /**
+     * Outbox file.
+     */
+    private final Path file;
+
+    /**
+     * Router sending notifications on its channels.
+     */
+    private final NotificationRouter router;
+
+    /**
+     * Delay before the first retry.
+     */
+    private final long initialBackoffMillis;
+
+    /**
+     * Maximum number of notifications to a student sent together.
+     */
+    private final int batchSize;
+
+    /**
+     * Notifications not yet sent or given up on every channel, by id.
+     */
+    private final LinkedHashMap<Long, Notification> pending = new LinkedHashMap<>();
+
+    /**
+     * Sent or failed record of each channel done with a notification pending, by id.
+     */
+    private final HashMap<Long, LinkedHashMap<String, String>> results = new HashMap<>();
+
+    /**
+     * Id of next notification.
+     */
+    private long nextId = 1;
+
+    /**
+     * Number of records in outbox file.
+     */
+    private int noOfRecords;
+
+    /**
+     * Thread scheduling sends and retries, null until started. Sends run on the threads of their channel.
+     */
+    private ScheduledExecutorService scheduler;
+
+    /**
+     * Initializes outbox.
+     *
+     * @param file   Outbox file.
+     * @param router Router sending notifications on its channels.
+     */
+    public NotificationOutbox(Path file, NotificationRouter router) {
+        this(file, router, INITIAL_BACKOFF_MILLIS, BATCH_SIZE);
+    }
+
+    /**
+     * Initializes outbox.
+     *
+     * @param file                 Outbox file.
+     * @param router               Router sending notifications on its channels.
+     * @param initialBackoffMillis Delay before the first retry.
+     * @param batchSize            Maximum number of notifications to a student sent together.
+     */
+    NotificationOutbox(Path file, NotificationRouter router, long initialBackoffMillis, int batchSize) {
+        this.file = file;
+        this.router = router;
+        this.initialBackoffMillis = initialBackoffMillis;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Reads notifications not yet sent from outbox file, and starts sending them.
+     *
+     * @throws MyStarsException If outbox file cannot be read or rewritten.
+     */
+    public synchronized void start() throws MyStarsException {
+        if (scheduler != null) {
+            return;
+        }
+        if (Files.exists(file)) {
+            read();
+        }
+        compact();
+
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "notification-outbox");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduleBatches(pending);
+    }
+
+    /**
+     * Records notifications in outbox file, then sends them in the background.
+     * Starts outbox first if it is not started yet.
+     *
+     * @param notifications Notifications to send.
+     * @throws MyStarsException If notifications cannot be recorded.
+     */
+    public synchronized void add(List<Notification> notifications) throws MyStarsException {
+        start();
+        if (notifications.isEmpty()) {
+            return;
+        }
+
+        LinkedHashMap<Long, Notification> added = new LinkedHashMap<>();
+        StringJoiner records = new StringJoiner(System.lineSeparator());
+        for (Notification notification : notifications) {
+            long id = nextId++;
+            added.put(id, notification);
+            records.add(toQueuedRecord(id, notification));
+        }
+        append(records.toString(), added.size());
+
+        pending.putAll(added);
+        scheduleBatches(added);
+    }
+
+    /**
+     * Returns number of notifications not yet sent or given up on every channel.
+     *
+     * @return Number of notifications pending.
+     */
+    public synchronized int getNoOfPending() {
+        return pending.size();
+    }
+
+    /**
+     * Stops sending notifications. Those not yet sent stay in outbox file.
+     */
+    public synchronized void close() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+        router.close();
+    }
+
+    /**
+     * Groups notifications by channel, email address and event into batches, and schedules the batches to be sent.
+     * Channels already done with a notification are skipped.
+     *
+     * @param notifications Notifications to send, by id.
+     */
+    private void scheduleBatches(Map<Long, Notification> notifications) {
+        for (String channel : router.getChannelNames()) {
+            LinkedHashMap<String, Batch> openBatches = new LinkedHashMap<>();
+            for (Map.Entry<Long, Notification> entry : notifications.entrySet()) {
+                if (results.containsKey(entry.getKey()) && results.get(entry.getKey()).containsKey(channel)) {
+                    continue;
+                }
+                String key = entry.getValue().getEmail() + Parser.LINE_SEPARATOR + entry.getValue().getType();
+                Batch batch = openBatches.computeIfAbsent(key, newKey -> new Batch(channel));
+                batch.add(entry.getKey(), entry.getValue());
+                if (batch.ids.size() == batchSize) {
+                    openBatches.remove(key);
+                    schedule(batch, 1, 0);
+                }
+            }
+            for (Batch batch : openBatches.values()) {
+                schedule(batch, 1, 0);
+            }
+        }
+    }
+
+    /**
+     * Schedules attempt to send batch.
+     *
+     * @param batch       Batch to send.
+     * @param attempt     Number of attempt, from 1.
+     * @param delayMillis Delay before attempt.
+     */
+    private void schedule(Batch batch, int attempt, long delayMillis) {
+        scheduler.schedule(() -> send(batch, attempt), delayMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Sends batch on its channel, scheduling a retry or giving up when the send fails.
+     * If the channel has too many sends waiting, the same attempt is scheduled again after the initial delay.
+     *
+     * @param batch   Batch to send.
+     * @param attempt Number of attempt, from 1.
+     */
+    private void send(Batch batch, int attempt) {
+        String email = batch.notifications.get(0).getEmail();
+        router.send(batch.channel, email, batch.notifications).whenComplete((result, error) -> {
+            if (error == null) {
+                MyStars.logger.log(Level.INFO, Sender.SEND_MESSAGE);
+                finish(batch, SENT);
+                return;
+            }
+
+            Throwable cause = error instanceof CompletionException ? error.getCause() : error;
+            MyStars.logger.log(Level.WARNING, cause instanceof MyStarsException ? cause.getMessage()
+                    : cause.toString());
+            if (cause instanceof RejectedExecutionException) {
+                // The channel has too many sends waiting, so this attempt was not made.
+                synchronized (this) {
+                    if (scheduler != null) {
+                        schedule(batch, attempt, initialBackoffMillis);
+                    }
+                }
+                return;
+            }
+            if (attempt >= MAX_ATTEMPTS) {
+                MyStars.logger.log(Level.WARNING, String.format(GIVE_UP_MESSAGE, email, batch.channel, attempt));
+                finish(batch, FAILED);
+                return;
+            }
+            synchronized (this) {
+                if (scheduler != null) {
+                    long backoffMillis = Math.min(initialBackoffMillis << (attempt - 1), MAX_BACKOFF_MILLIS);
+                    schedule(batch, attempt + 1, backoffMillis);
+                }
+            }
+        });
+    }
+
+    /**
+     * Records that batch is sent or given up on its channel, and removes notifications done on every channel.
+     * If the records cannot be written, the batch may be sent again after a restart.
+     *
+     * @param batch  Batch sent or given up.
+     * @param result Sent or failed record.
+     */
+    private synchronized void finish(Batch batch, String result) {
+        StringJoiner records = new StringJoiner(System.lineSeparator());
+        for (long id : batch.ids) {
+            records.add(String.join(Parser.LINE_SEPARATOR, result, String.valueOf(id), batch.channel));
+            results.computeIfAbsent(id, key -> new LinkedHashMap<>()).put(batch.channel, result);
+            removeIfDone(id);
+        }
+        try {
+            append(records.toString(), batch.ids.size());
+            if (noOfRecords > COMPACTION_THRESHOLD && pending.size() * 2 < noOfRecords) {
+                compact();
+            }
+        } catch (MyStarsException e) {
+            MyStars.logger.log(Level.WARNING, e.getMessage());
+        }
+    }
+
+    /**
+     * Removes notification if every channel is done with it.
+     *
+     * @param id Id of notification.
+     */
+    private void removeIfDone(long id) {
+        if (results.containsKey(id) && results.get(id).keySet().containsAll(router.getChannelNames())) {
+            pending.remove(id);
+            results.remove(id);
+        }
+    }
+
+    /**
+     * Returns queued record of notification.
+     *
+     * @param id           Id of notification.
+     * @param notification Notification queued.
+     * @return Queued record.
+     */
+    private static String toQueuedRecord(long id, Notification notification) {
+        return String.join(Parser.LINE_SEPARATOR, QUEUED, String.valueOf(id), notification.getEmail(),
+                notification.getCourseCode(), notification.getIndexNumber(), notification.getName(),
+                notification.getType().name());
+    }
+
+    /**
+     * Reads records of outbox file into notifications pending.
+     * Queued records without an event are taken as promotions, and sent and failed records without a channel
+     * are taken as done on every channel. Malformed records, such as a line torn by a crash, are logged and skipped.
+     *
+     * @throws MyStarsException If outbox file cannot be read.
+     */
+    private void read() throws MyStarsException {
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            reader.readLine();
+            for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+                if (!line.isBlank() && !readRecord(line.split(Parser.ESCAPED_LINE_SEPARATOR, -1))) {
+                    MyStars.logger.log(Level.WARNING, SKIP_RECORD_MESSAGE + line);
+                }
+            }
+        } catch (IOException e) {
+            throw new MyStarsException(READ_ERROR);
+        }
+
+        results.keySet().retainAll(pending.keySet());
+        for (Long id : new ArrayList<>(pending.keySet())) {
+            removeIfDone(id);
+        }
+    }
+
+    /**
+     * Reads record of outbox file into notifications pending.
+     *
+     * @param record Fields of record.
+     * @return True if record is read, false if it is malformed.
+     */
+    private boolean readRecord(String[] record) {
+        if (record.length < 2) {
+            return false;
+        }
+        long id;
+        NotificationType type = NotificationType.PROMOTION;
+        try {
+            id = Long.parseLong(record[1].trim());
+            if (record[0].equals(QUEUED) && record.length > 6) {
+                type = NotificationType.valueOf(record[6]);
+            }
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+
+        if (record[0].equals(QUEUED)) {
+            if (record.length < 6) {
+                return false;
+            }
+            pending.put(id, new Notification(record[2], record[3], record[4], record[5], type));
+        } else if (!record[0].equals(SENT) && !record[0].equals(FAILED)) {
+            return false;
+        } else if (record.length == 3) {
+            results.computeIfAbsent(id, key -> new LinkedHashMap<>()).put(record[2], record[0]);
+        } else {
+            pending.remove(id);
+            results.remove(id);
+        }
+        nextId = Math.max(nextId, id + 1);
+        return true;
+    }
+
+    /**
+     * Appends records to outbox file and forces them to disk.
+     *
+     * @param records      Records to append.
+     * @param noOfAppended Number of records.
+     * @throws MyStarsException If outbox file cannot be written.
+     */
+    private void append(String records, int noOfAppended) throws MyStarsException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.APPEND)) {
+            channel.write(StandardCharsets.UTF_8.encode(records + System.lineSeparator()));
+            channel.force(false);
+        } catch (IOException e) {
+            throw new MyStarsException(WRITE_ERROR);
+        }
+        noOfRecords += noOfAppended;
+    }
+
+    /**
+     * Rewrites outbox file with only notifications pending and their channels done, replacing it atomically.
+     *
+     * @throws MyStarsException If outbox file cannot be written.
+     */
+    private void compact() throws MyStarsException {
+        StringJoiner content = new StringJoiner(System.lineSeparator());
+        content.add(OUTBOX_FORMAT);
+        int noOfCompacted = 0;
+        for (Map.Entry<Long, Notification> entry : pending.entrySet()) {
+            content.add(toQueuedRecord(entry.getKey(), entry.getValue()));
+            noOfCompacted++;
+            for (Map.Entry<String, String> result : results.getOrDefault(entry.getKey(), new LinkedHashMap<>())
+                    .entrySet()) {
+                content.add(String.join(Parser.LINE_SEPARATOR, result.getValue(), String.valueOf(entry.getKey()),
+                        result.getKey()));
+                noOfCompacted++;
+            }
+        }
+
+        Path tempPath = file.resolveSibling(file.getFileName() + TEMP_SUFFIX);
+        try {
+            Files.createDirectories(file.toAbsolutePath().getParent());
+            try (FileChannel channel = FileChannel.open(tempPath, StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                channel.write(StandardCharsets.UTF_8.encode(content + System.lineSeparator()));
+                channel.force(false);
+            }
+            Files.move(tempPath, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new MyStarsException(WRITE_ERROR);
+        }
+        noOfRecords = noOfCompacted;
+    }
+
+    /**
+     * Notifications of one event to one student sent together on one channel, with their ids.
+     */
+    private static class Batch {
+
+        /**
+         * Name of channel to send on.
+         */
+        private final String channel;
+
+        /**
+         * Ids of notifications.
+         */
+        private final ArrayList<Long> ids = new ArrayList<>();
+
+        /**
+         * Notifications, in the order of their ids.
+         */
+        private final ArrayList<Notification> notifications = new ArrayList<>();
+
+        /**
+         * Initializes empty batch.
+         *
+         * @param channel Name of channel to send on.
+         */
+        private Batch(String channel) {
+            this.channel = channel;
+        }
+
+        /**
+         * Adds notification to batch.
+         *
+         * @param id           Id of notification.
+         * @param notification Notification to add.
+         */
+        private void add(long id, Notification notification) {
+            ids.add(id);
+            notifications.add(notification);
+        }
+    }
+}
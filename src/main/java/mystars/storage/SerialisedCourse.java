@@ -0,0 +1,78 @@
+package mystars.storage;
+
+import mystars.data.course.Course;
+
+/**
+ * Lines last saved for a course, reused until the course changes.
+ */
+class SerialisedCourse {
+
+    /**
+     * Version of course the lines were built from.
+     */
+    private final int version;
+
+    /**
+     * Line in courses.txt.
+     */
+    private final String courseLine;
+
+    /**
+     * Line in registered.txt, null if there is no registered student.
+     */
+    private final String registeredLine;
+
+    /**
+     * Line in waitlist.txt, null if there is no waitlisted student.
+     */
+    private final String waitlistedLine;
+
+    /**
+     * Builds lines of course.
+     *
+     * @param course Course to build lines of.
+     */
+    SerialisedCourse(Course course) {
+        version = course.getVersion();
+        courseLine = course.getStorageString();
+        registeredLine = course.isThereRegisteredStudents() ? course.getRegisteredFormattedString() : null;
+        waitlistedLine = course.isThereWaitlistedStudents() ? course.getWaitlistedFormattedString() : null;
+    }
+
+    /**
+     * Returns if lines were built from the current version of course.
+     *
+     * @param course Course to check.
+     * @return True if course has not changed since.
+     */
+    boolean isCurrent(Course course) {
+        return version == course.getVersion();
+    }
+
+    /**
+     * Returns line in courses.txt.
+     *
+     * @return Line in courses.txt.
+     */
+    String getCourseLine() {
+        return courseLine;
+    }
+
+    /**
+     * Returns line in registered.txt.
+     *
+     * @return Line in registered.txt, null if there is no registered student.
+     */
+    String getRegisteredLine() {
+        return registeredLine;
+    }
+
+    /**
+     * Returns line in waitlist.txt.
+     *
+     * @return Line in waitlist.txt, null if there is no waitlisted student.
+     */
+    String getWaitlistedLine() {
+        return waitlistedLine;
+    }
+}
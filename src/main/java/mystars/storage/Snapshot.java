@@ -0,0 +1,538 @@
+package mystars.storage;
+
+import mystars.data.course.Course;
+import mystars.data.course.CourseList;
+import mystars.data.course.lesson.Lesson;
+import mystars.data.course.lesson.LessonList;
+import mystars.data.course.lesson.LessonType;
+import mystars.data.course.lesson.Week;
+import mystars.data.shared.Gender;
+import mystars.data.user.Admin;
+import mystars.data.user.Student;
+import mystars.data.user.User;
+import mystars.data.user.UserList;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+
+/**
+ * Binary snapshot of users, courses and enrolments, loaded through a memory-mapped file.
+ * Strings are stored once in a string table, and enrolments are fixed-width records of course and user positions.
+ */
+class Snapshot {
+
+    /**
+     * Magic number identifying snapshot files ("MYST").
+     */
+    private static final int MAGIC = 0x4D595354;
+
+    /**
+     * Snapshot format version.
+     */
+    private static final int VERSION = 1;
+
+    /**
+     * Marker for null strings and enums.
+     */
+    private static final int NULL = -1;
+
+    /**
+     * Student user type.
+     */
+    private static final byte STUDENT = 0;
+
+    /**
+     * Admin user type.
+     */
+    private static final byte ADMIN = 1;
+
+    /**
+     * Last modified times and sizes of the files this snapshot was taken from.
+     */
+    private final long[] fingerprint;
+
+    /**
+     * List of users, with their details.
+     */
+    private final ArrayList<User> users;
+
+    /**
+     * List of courses.
+     */
+    private final ArrayList<Course> courses;
+
+    /**
+     * Registered students by course, among the users and courses of this snapshot.
+     * Courses are keys by identity, as courses equal by index number may be different objects.
+     */
+    private final IdentityHashMap<Course, ArrayList<Student>> registeredStudents;
+
+    /**
+     * Waitlisted students by course, among the users and courses of this snapshot.
+     * Courses are keys by identity, as courses equal by index number may be different objects.
+     */
+    private final IdentityHashMap<Course, ArrayList<Student>> waitlistedStudents;
+
+    /**
+     * Initializes snapshot.
+     *
+     * @param fingerprint        Last modified times and sizes of the files this snapshot was taken from.
+     * @param users              List of users.
+     * @param courses            List of courses.
+     * @param registeredStudents Registered students by course.
+     * @param waitlistedStudents Waitlisted students by course.
+     */
+    private Snapshot(long[] fingerprint, ArrayList<User> users, ArrayList<Course> courses,
+                     IdentityHashMap<Course, ArrayList<Student>> registeredStudents,
+                     IdentityHashMap<Course, ArrayList<Student>> waitlistedStudents) {
+        this.fingerprint = fingerprint;
+        this.users = users;
+        this.courses = courses;
+        this.registeredStudents = registeredStudents;
+        this.waitlistedStudents = waitlistedStudents;
+    }
+
+    /**
+     * Returns if snapshot was taken from files with the given fingerprint.
+     *
+     * @param currentFingerprint Last modified times and sizes of the files now.
+     * @return True if snapshot is up to date, false otherwise.
+     */
+    boolean isFresh(long[] currentFingerprint) {
+        return Arrays.equals(fingerprint, currentFingerprint);
+    }
+
+    /**
+     * Returns users, with their details.
+     *
+     * @return List of users.
+     */
+    ArrayList<User> getUsers() {
+        return users;
+    }
+
+    /**
+     * Returns courses.
+     *
+     * @return List of courses.
+     */
+    ArrayList<Course> getCourses() {
+        return courses;
+    }
+
+    /**
+     * Returns registered students by course, which are the same objects as the users and courses of this snapshot.
+     *
+     * @return Registered students by course.
+     */
+    IdentityHashMap<Course, ArrayList<Student>> getRegisteredStudents() {
+        return registeredStudents;
+    }
+
+    /**
+     * Returns waitlisted students by course, which are the same objects as the users and courses of this snapshot.
+     *
+     * @return Waitlisted students by course.
+     */
+    IdentityHashMap<Course, ArrayList<Student>> getWaitlistedStudents() {
+        return waitlistedStudents;
+    }
+
+    /**
+     * Reads snapshot from file.
+     *
+     * @param path Path of snapshot file.
+     * @return Snapshot read, null if file is not a valid snapshot, such as one truncated or of another version.
+     * @throws IOException If there is problem reading file.
+     */
+    static Snapshot read(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+                return null;
+            }
+
+            long[] fingerprint = new long[buffer.getInt()];
+            for (int i = 0; i < fingerprint.length; i++) {
+                fingerprint[i] = buffer.getLong();
+            }
+
+            String[] strings = new String[buffer.getInt()];
+            for (int i = 0; i < strings.length; i++) {
+                byte[] bytes = new byte[buffer.getInt()];
+                buffer.get(bytes);
+                strings[i] = new String(bytes, StandardCharsets.UTF_8);
+            }
+
+            ArrayList<User> users = readUsers(buffer, strings);
+            ArrayList<Course> courses = readCourses(buffer, strings);
+            IdentityHashMap<Course, ArrayList<Student>> registeredStudents = readEnrolments(buffer, courses, users);
+            IdentityHashMap<Course, ArrayList<Student>> waitlistedStudents = readEnrolments(buffer, courses, users);
+
+            return new Snapshot(fingerprint, users, courses, registeredStudents, waitlistedStudents);
+        } catch (RuntimeException e) {
+            // Any malformed content, such as a position out of range or not of a student, makes the snapshot stale.
+            return null;
+        }
+    }
+
+    /**
+     * Reads users from buffer.
+     *
+     * @param buffer  Buffer to read from.
+     * @param strings String table.
+     * @return List of users.
+     */
+    private static ArrayList<User> readUsers(ByteBuffer buffer, String[] strings) {
+        int noOfUsers = buffer.getInt();
+        ArrayList<User> users = new ArrayList<>(noOfUsers);
+        for (int i = 0; i < noOfUsers; i++) {
+            byte type = buffer.get();
+            char[] username = readChars(buffer, strings);
+            char[] password = readChars(buffer, strings);
+            boolean hasDetails = buffer.get() == 1;
+
+            User user;
+            if (!hasDetails) {
+                user = type == STUDENT ? new Student() : new Admin();
+                user.setUsername(username);
+            } else if (type == STUDENT) {
+                String name = readString(buffer, strings);
+                String matricNo = readString(buffer, strings);
+                Gender gender = readEnum(buffer, Gender.values());
+                String nationality = readString(buffer, strings);
+                String courseOfStudy = readString(buffer, strings);
+                int yearOfStudy = buffer.getInt();
+                String email = readString(buffer, strings);
+                user = new Student(name, matricNo, gender, nationality, courseOfStudy, yearOfStudy, email, username,
+                        password);
+            } else {
+                String name = readString(buffer, strings);
+                String staffId = readString(buffer, strings);
+                Gender gender = readEnum(buffer, Gender.values());
+                String nationality = readString(buffer, strings);
+                user = new Admin(name, staffId, gender, nationality, String.valueOf(username));
+            }
+            user.setPassword(password);
+            users.add(user);
+        }
+        return users;
+    }
+
+    /**
+     * Reads courses from buffer.
+     *
+     * @param buffer  Buffer to read from.
+     * @param strings String table.
+     * @return List of courses.
+     */
+    private static ArrayList<Course> readCourses(ByteBuffer buffer, String[] strings) {
+        int noOfCourses = buffer.getInt();
+        ArrayList<Course> courses = new ArrayList<>(noOfCourses);
+        for (int i = 0; i < noOfCourses; i++) {
+            String courseCode = readString(buffer, strings);
+            String school = readString(buffer, strings);
+            String indexNumber = readString(buffer, strings);
+            int vacancy = buffer.getInt();
+            int numOfAUs = buffer.getInt();
+
+            LessonList lessonList = new LessonList();
+            int noOfLessons = buffer.getInt();
+            for (int j = 0; j < noOfLessons; j++) {
+                LessonType lessonType = readEnum(buffer, LessonType.values());
+                String venue = readString(buffer, strings);
+                LocalTime startTime = LocalTime.ofSecondOfDay(buffer.getShort() * 60L);
+                LocalTime endTime = LocalTime.ofSecondOfDay(buffer.getShort() * 60L);
+                DayOfWeek day = readEnum(buffer, DayOfWeek.values());
+                Week week = readEnum(buffer, Week.values());
+                String group = readString(buffer, strings);
+                lessonList.addLesson(new Lesson(lessonType, venue, startTime, endTime, day, week, group));
+            }
+
+            courses.add(new Course(courseCode, school, indexNumber, vacancy, numOfAUs, lessonList));
+        }
+        return courses;
+    }
+
+    /**
+     * Reads enrolment records from buffer, resolving their positions to courses and students.
+     *
+     * @param buffer  Buffer to read from.
+     * @param courses List of courses.
+     * @param users   List of users.
+     * @return Students by course.
+     */
+    private static IdentityHashMap<Course, ArrayList<Student>> readEnrolments(ByteBuffer buffer, List<Course> courses,
+                                                                            List<User> users) {
+        IdentityHashMap<Course, ArrayList<Student>> students = new IdentityHashMap<>();
+        int noOfRecords = buffer.getInt();
+        for (int i = 0; i < noOfRecords; i++) {
+            Course course = courses.get(buffer.getInt());
+            Student student = (Student) users.get(buffer.getInt());
+            students.computeIfAbsent(course, key -> new ArrayList<>()).add(student);
+        }
+        return students;
+    }
+
+    /**
+     * Reads string from buffer.
+     *
+     * @param buffer  Buffer to read from.
+     * @param strings String table.
+     * @return String read, null if string is null.
+     */
+    private static String readString(ByteBuffer buffer, String[] strings) {
+        int id = buffer.getInt();
+        return id == NULL ? null : strings[id];
+    }
+
+    /**
+     * Reads characters from buffer.
+     *
+     * @param buffer  Buffer to read from.
+     * @param strings String table.
+     * @return Characters read, null if string is null.
+     */
+    private static char[] readChars(ByteBuffer buffer, String[] strings) {
+        String string = readString(buffer, strings);
+        return string == null ? null : string.toCharArray();
+    }
+
+    /**
+     * Reads enum constant from buffer.
+     *
+     * @param buffer Buffer to read from.
+     * @param values Constants of the enum.
+     * @param <T>    Type of enum.
+     * @return Enum constant read, null if constant is null.
+     */
+    private static <T extends Enum<T>> T readEnum(ByteBuffer buffer, T[] values) {
+        byte ordinal = buffer.get();
+        return ordinal == NULL ? null : values[ordinal];
+    }
+
+    /**
+     * Returns snapshot of users, courses and enrolments as bytes.
+     *
+     * @param fingerprint Last modified times and sizes of the files the snapshot is taken from.
+     * @param users       List of users.
+     * @param courses     List of courses.
+     * @return Snapshot as bytes.
+     */
+    static byte[] write(long[] fingerprint, UserList users, CourseList courses) {
+        StringTable strings = new StringTable();
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(body)) {
+            IdentityHashMap<User, Integer> userIds = new IdentityHashMap<>();
+            writeUsers(out, strings, users.getUsers(), userIds);
+            writeCourses(out, strings, courses.getCourses());
+            writeEnrolments(out, courses.getCourses(), userIds, true);
+            writeEnrolments(out, courses.getCourses(), userIds, false);
+
+            ByteArrayOutputStream snapshot = new ByteArrayOutputStream(body.size() + strings.size() * 16);
+            DataOutputStream header = new DataOutputStream(snapshot);
+            header.writeInt(MAGIC);
+            header.writeInt(VERSION);
+            header.writeInt(fingerprint.length);
+            for (long value : fingerprint) {
+                header.writeLong(value);
+            }
+            strings.write(header);
+            out.flush();
+            body.writeTo(header);
+            header.flush();
+
+            return snapshot.toByteArray();
+        } catch (IOException e) {
+            // Writing to a ByteArrayOutputStream does not fail.
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Writes users to stream.
+     *
+     * @param out     Stream to write to.
+     * @param strings String table.
+     * @param users   List of users.
+     * @param userIds Positions of users, filled in as users are written.
+     * @throws IOException If there is problem writing.
+     */
+    private static void writeUsers(DataOutputStream out, StringTable strings, List<User> users,
+                                   IdentityHashMap<User, Integer> userIds) throws IOException {
+        out.writeInt(users.size());
+        for (User user : users) {
+            userIds.put(user, userIds.size());
+            out.writeByte(user instanceof Student ? STUDENT : ADMIN);
+            out.writeInt(strings.getId(user.getUsername() == null ? null : String.valueOf(user.getUsername())));
+            out.writeInt(strings.getId(user.getPassword() == null ? null : String.valueOf(user.getPassword())));
+
+            boolean hasDetails = user.getName() != null;
+            out.writeByte(hasDetails ? 1 : 0);
+            if (!hasDetails) {
+                continue;
+            }
+
+            out.writeInt(strings.getId(user.getName()));
+            if (user instanceof Student) {
+                Student student = (Student) user;
+                out.writeInt(strings.getId(student.getMatricNo()));
+                writeEnum(out, student.getGender());
+                out.writeInt(strings.getId(student.getNationality()));
+                out.writeInt(strings.getId(student.getCourseOfStudy()));
+                out.writeInt(student.getYearOfStudy());
+                out.writeInt(strings.getId(student.getEmail()));
+            } else {
+                Admin admin = (Admin) user;
+                out.writeInt(strings.getId(admin.getStaffId()));
+                writeEnum(out, admin.getGender());
+                out.writeInt(strings.getId(admin.getNationality()));
+            }
+        }
+    }
+
+    /**
+     * Writes courses to stream.
+     *
+     * @param out     Stream to write to.
+     * @param strings String table.
+     * @param courses List of courses.
+     * @throws IOException If there is problem writing.
+     */
+    private static void writeCourses(DataOutputStream out, StringTable strings, List<Course> courses)
+            throws IOException {
+        out.writeInt(courses.size());
+        for (Course course : courses) {
+            out.writeInt(strings.getId(course.getCourseCode()));
+            out.writeInt(strings.getId(course.getSchool()));
+            out.writeInt(strings.getId(course.getIndexNumber()));
+            out.writeInt(course.getInitialVacancies());
+            out.writeInt(course.getNumOfAUs());
+
+            ArrayList<Lesson> lessons = course.getLessonList().getLessons();
+            out.writeInt(lessons.size());
+            for (Lesson lesson : lessons) {
+                writeEnum(out, lesson.getLessonType());
+                out.writeInt(strings.getId(lesson.getVenue()));
+                out.writeShort(lesson.getStartTime().toSecondOfDay() / 60);
+                out.writeShort(lesson.getEndTime().toSecondOfDay() / 60);
+                writeEnum(out, lesson.getDay());
+                writeEnum(out, lesson.getWeek());
+                out.writeInt(strings.getId(lesson.getGroup()));
+            }
+        }
+    }
+
+    /**
+     * Writes enrolments to stream as records of course and user positions.
+     *
+     * @param out          Stream to write to.
+     * @param courses      List of courses.
+     * @param userIds      Positions of users.
+     * @param isRegistered True to write registered students, false to write waitlisted students.
+     * @throws IOException If there is problem writing.
+     */
+    private static void writeEnrolments(DataOutputStream out, List<Course> courses,
+                                        IdentityHashMap<User, Integer> userIds, boolean isRegistered)
+            throws IOException {
+        ByteArrayOutputStream records = new ByteArrayOutputStream();
+        DataOutputStream recordsOut = new DataOutputStream(records);
+        int noOfRecords = 0;
+        for (int courseId = 0; courseId < courses.size(); courseId++) {
+            Course course = courses.get(courseId);
+            for (Student student : isRegistered ? course.getRegisteredStudentList()
+                    : course.getWaitlistedStudentList()) {
+                Integer userId = userIds.get(student);
+                if (userId != null) {
+                    recordsOut.writeInt(courseId);
+                    recordsOut.writeInt(userId);
+                    noOfRecords++;
+                }
+            }
+        }
+        recordsOut.flush();
+        out.writeInt(noOfRecords);
+        records.writeTo(out);
+    }
+
+    /**
+     * Writes enum constant to stream.
+     *
+     * @param out   Stream to write to.
+     * @param value Constant to write.
+     * @throws IOException If there is problem writing.
+     */
+    private static void writeEnum(DataOutputStream out, Enum<?> value) throws IOException {
+        out.writeByte(value == null ? NULL : value.ordinal());
+    }
+
+    /**
+     * Table of distinct strings, each stored once in snapshot.
+     */
+    private static class StringTable {
+
+        /**
+         * Positions of strings in table.
+         */
+        private final HashMap<String, Integer> ids = new HashMap<>();
+
+        /**
+         * Strings in table.
+         */
+        private final ArrayList<String> strings = new ArrayList<>();
+
+        /**
+         * Returns position of string, adding it to table if it is new.
+         *
+         * @param string String to look up.
+         * @return Position of string, or null marker if string is null.
+         */
+        int getId(String string) {
+            if (string == null) {
+                return NULL;
+            }
+            return ids.computeIfAbsent(string, newString -> {
+                strings.add(newString);
+                return strings.size() - 1;
+            });
+        }
+
+        /**
+         * Returns number of strings in table.
+         *
+         * @return Number of strings.
+         */
+        int size() {
+            return strings.size();
+        }
+
+        /**
+         * Writes table to stream.
+         *
+         * @param out Stream to write to.
+         * @throws IOException If there is problem writing.
+         */
+        void write(DataOutputStream out) throws IOException {
+            out.writeInt(strings.size());
+            for (String string : strings) {
+                byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+                out.writeInt(bytes.length);
+                out.write(bytes);
+            }
+        }
+    }
+}
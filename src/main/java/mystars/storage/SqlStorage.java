@@ -0,0 +1,751 @@
+package mystars.storage;
+
+import mystars.MyStars;
+import mystars.data.course.Course;
+import mystars.data.course.CourseList;
+import mystars.data.course.EnrolmentChange;
+import mystars.data.course.lesson.Lesson;
+import mystars.data.exception.MyStarsException;
+import mystars.data.sender.Notification;
+import mystars.data.shared.AccessDateTime;
+import mystars.data.user.Admin;
+import mystars.data.user.Student;
+import mystars.data.user.User;
+import mystars.data.user.UserList;
+import mystars.parser.Parser;
+import mystars.parser.Tokenizer;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.logging.Level;
+import java.util.stream.Collectors;
+
+/**
+ * Storage handler for an embedded SQL database, such as H2 or SQLite, reached through its JDBC driver.
+ * The database is filled from the text files in db folder the first time it is used.
+ * Enrolment changes are saved as single row updates instead of rewriting all enrolments, and only courses changed
+ * since they were last saved are rewritten. Every method using the connection is synchronized, as it is shared.
+ */
+public class SqlStorage implements StorageBackend {
+
+    /**
+     * Read error message.
+     */
+    private static final String READ_ERROR = "I am unable to read database. Things may not work as expected. "
+            + "Please ensure database driver is in lib folder and database is accessible to program.";
+
+    /**
+     * Write error message.
+     */
+    private static final String WRITE_ERROR = "I am unable to write database. Things may not work as expected. "
+            + "Please ensure database is accessible to program.";
+
+    /**
+     * Import message.
+     */
+    private static final String IMPORT_MESSAGE = "Database is empty, importing text files from db folder.";
+
+    /**
+     * Statements creating tables and indexes, if they do not exist.
+     */
+    private static final String[] SCHEMA = {
+        "CREATE TABLE IF NOT EXISTS users (username VARCHAR(255) PRIMARY KEY, password VARCHAR(255) NOT NULL, "
+                + "type VARCHAR(16) NOT NULL)",
+        "CREATE TABLE IF NOT EXISTS students (matric_no VARCHAR(32) PRIMARY KEY, name VARCHAR(255) NOT NULL, "
+                + "gender VARCHAR(16) NOT NULL, nationality VARCHAR(255) NOT NULL, username VARCHAR(255) NOT NULL, "
+                + "course_of_study VARCHAR(255) NOT NULL, year_of_study INTEGER NOT NULL, email VARCHAR(255) NOT NULL)",
+        "CREATE TABLE IF NOT EXISTS admins (staff_id VARCHAR(32) PRIMARY KEY, name VARCHAR(255) NOT NULL, "
+                + "gender VARCHAR(16) NOT NULL, nationality VARCHAR(255) NOT NULL, username VARCHAR(255) NOT NULL)",
+        "CREATE TABLE IF NOT EXISTS courses (index_number VARCHAR(32) PRIMARY KEY, course_code VARCHAR(32) NOT NULL, "
+                + "school VARCHAR(32) NOT NULL, vacancy INTEGER NOT NULL, aus INTEGER NOT NULL, "
+                + "lessons VARCHAR(4000) NOT NULL, sort_order INTEGER NOT NULL)",
+        "CREATE TABLE IF NOT EXISTS enrolments (index_number VARCHAR(32) NOT NULL, matric_no VARCHAR(32) NOT NULL, "
+                + "waitlisted INTEGER NOT NULL, sort_order BIGINT NOT NULL, PRIMARY KEY (index_number, matric_no))",
+        "CREATE INDEX IF NOT EXISTS enrolments_matric_no ON enrolments (matric_no)",
+        "CREATE INDEX IF NOT EXISTS courses_course_code ON courses (course_code)",
+        "CREATE TABLE IF NOT EXISTS settings (id INTEGER PRIMARY KEY, access_start VARCHAR(32) NOT NULL, "
+                + "access_end VARCHAR(32) NOT NULL)"
+    };
+
+    /**
+     * Statement inserting a course, with parameters in the order of {@link #UPDATE_COURSE}.
+     */
+    private static final String INSERT_COURSE = "INSERT INTO courses (course_code, school, vacancy, aus, lessons, "
+            + "sort_order, index_number) VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    /**
+     * Statement updating a course, with parameters in the order of {@link #INSERT_COURSE}.
+     */
+    private static final String UPDATE_COURSE = "UPDATE courses SET course_code = ?, school = ?, vacancy = ?, "
+            + "aus = ?, lessons = ?, sort_order = ? WHERE index_number = ?";
+
+    /**
+     * Statement inserting an enrolment.
+     */
+    private static final String INSERT_ENROLMENT = "INSERT INTO enrolments (index_number, matric_no, waitlisted, "
+            + "sort_order) VALUES (?, ?, ?, ?)";
+
+    /**
+     * Value of waitlisted column for registered students.
+     */
+    private static final int REGISTERED = 0;
+
+    /**
+     * Value of waitlisted column for waitlisted students.
+     */
+    private static final int WAITLISTED = 1;
+
+    /**
+     * Id of the only row in settings table.
+     */
+    private static final int SETTINGS_ID = 1;
+
+    /**
+     * Parser object.
+     */
+    private final Parser parser;
+
+    /**
+     * Text file storage, imported from when database is empty.
+     */
+    private final Storage textStorage;
+
+    /**
+     * JDBC URL of database.
+     */
+    private final String url;
+
+    /**
+     * Report of tables loaded.
+     */
+    private final LoadReport loadReport = new LoadReport();
+
+    /**
+     * Connection to database, opened when loading.
+     */
+    private Connection connection;
+
+    /**
+     * Sort order given to the next enrolment, so students are listed in the order they enrolled.
+     */
+    private long nextSortOrder;
+
+    /**
+     * Courses as last saved to database, in order.
+     */
+    private ArrayList<Course> savedCourses = new ArrayList<>();
+
+    /**
+     * Version of each course when it was last saved to database.
+     */
+    private IdentityHashMap<Course, Integer> savedVersions = new IdentityHashMap<>();
+
+    /**
+     * Initializes storage handler.
+     *
+     * @param parser Parser object.
+     * @param url    JDBC URL of database.
+     */
+    public SqlStorage(Parser parser, String url) {
+        this(parser, url, new Storage(parser));
+    }
+
+    /**
+     * Initializes storage handler, importing from and keeping notifications with the given text file storage.
+     *
+     * @param parser      Parser object.
+     * @param url         JDBC URL of database.
+     * @param textStorage Text file storage.
+     */
+    SqlStorage(Parser parser, String url, Storage textStorage) {
+        this.parser = parser;
+        this.url = url;
+        this.textStorage = textStorage;
+    }
+
+    /**
+     * Connects to database, creating tables and importing the text files if it is empty, then loads courses, users,
+     * access period, registered and waitlisted students.
+     *
+     * @return Courses, users and access period loaded.
+     * @throws MyStarsException If there is issue loading data.
+     */
+    @Override
+    public synchronized Bootstrap bootstrap() throws MyStarsException {
+        try {
+            connection = DriverManager.getConnection(url);
+            connection.setAutoCommit(false);
+            try (Statement statement = connection.createStatement()) {
+                for (String schema : SCHEMA) {
+                    statement.execute(schema);
+                }
+            }
+            connection.commit();
+
+            if (isEmpty()) {
+                MyStars.logger.log(Level.INFO, IMPORT_MESSAGE);
+                Bootstrap bootstrap = textStorage.bootstrap();
+                importBootstrap(bootstrap);
+                return bootstrap;
+            }
+
+            return load();
+        } catch (SQLException e) {
+            MyStars.logger.log(Level.WARNING, e.getMessage());
+            throw new MyStarsException(READ_ERROR);
+        }
+    }
+
+    /**
+     * Returns if database has no users.
+     *
+     * @return True if database has no users.
+     * @throws SQLException If there is issue querying database.
+     */
+    private boolean isEmpty() throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("SELECT COUNT(*) FROM users")) {
+            resultSet.next();
+            return resultSet.getLong(1) == 0;
+        }
+    }
+
+    /**
+     * Loads courses, users, access period, registered and waitlisted students from database.
+     *
+     * @return Courses, users and access period loaded.
+     * @throws SQLException     If there is issue querying database.
+     * @throws MyStarsException If there is issue reading data.
+     */
+    private Bootstrap load() throws SQLException, MyStarsException {
+        long startTime = System.nanoTime();
+        ArrayList<Course> courses = new ArrayList<>();
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("SELECT course_code, school, index_number, vacancy, aus, "
+                     + "lessons FROM courses ORDER BY sort_order")) {
+            while (resultSet.next()) {
+                courses.add(parser.readCourse(tokenize(resultSet.getString(1), resultSet.getString(2),
+                        resultSet.getString(3), Integer.toString(resultSet.getInt(4)),
+                        Integer.toString(resultSet.getInt(5)), resultSet.getString(6))));
+            }
+        }
+        loadReport.record("courses", courses.size(), 0, System.nanoTime() - startTime);
+
+        startTime = System.nanoTime();
+        ArrayList<User> users = new ArrayList<>();
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("SELECT username, password, type FROM users")) {
+            while (resultSet.next()) {
+                users.add(parser.readUser(tokenize(resultSet.getString(1), resultSet.getString(2),
+                        resultSet.getString(3))));
+            }
+        }
+        loadReport.record("users", users.size(), 0, System.nanoTime() - startTime);
+
+        startTime = System.nanoTime();
+        ArrayList<User> students = new ArrayList<>();
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("SELECT name, matric_no, gender, nationality, username, "
+                     + "course_of_study, year_of_study, email FROM students")) {
+            while (resultSet.next()) {
+                students.add(parser.readStudent(tokenize(resultSet.getString(1), resultSet.getString(2),
+                        resultSet.getString(3), resultSet.getString(4), resultSet.getString(5),
+                        resultSet.getString(6) + Parser.TILDE_SEPARATOR + resultSet.getInt(7),
+                        resultSet.getString(8))));
+            }
+        }
+        loadReport.record("students", students.size(), 0, System.nanoTime() - startTime);
+
+        startTime = System.nanoTime();
+        ArrayList<User> admins = new ArrayList<>();
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("SELECT name, staff_id, gender, nationality, username "
+                     + "FROM admins")) {
+            while (resultSet.next()) {
+                admins.add(parser.readAdmin(tokenize(resultSet.getString(1), resultSet.getString(2),
+                        resultSet.getString(3), resultSet.getString(4), resultSet.getString(5))));
+            }
+        }
+        loadReport.record("admins", admins.size(), 0, System.nanoTime() - startTime);
+
+        LocalDateTime[] accessPeriod;
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("SELECT access_start, access_end FROM settings")) {
+            if (!resultSet.next()) {
+                throw new MyStarsException(READ_ERROR);
+            }
+            accessPeriod = parser.readStudentAccessPeriod(resultSet.getString(1) + Parser.LINE_SEPARATOR
+                    + resultSet.getString(2));
+        }
+
+        CourseList courseList = new CourseList(courses);
+        UserList userList = new UserList(users);
+        userList.addDetails(students, admins);
+        loadEnrolments(courseList, userList);
+        rememberSaved(courseList.getCourses());
+
+        return new Bootstrap(courseList, userList, new AccessDateTime(accessPeriod));
+    }
+
+    /**
+     * Loads registered and waitlisted students, in the order they enrolled.
+     *
+     * @param courses List of courses.
+     * @param users   List of users.
+     * @throws SQLException     If there is issue querying database.
+     * @throws MyStarsException If there is more students registered for a course than vacancies.
+     */
+    private void loadEnrolments(CourseList courses, UserList users) throws SQLException, MyStarsException {
+        long startTime = System.nanoTime();
+        LinkedHashMap<String, ArrayList<String>> registeredRows = new LinkedHashMap<>();
+        LinkedHashMap<String, ArrayList<String>> waitlistedRows = new LinkedHashMap<>();
+        int noOfRows = 0;
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("SELECT index_number, matric_no, waitlisted, sort_order "
+                     + "FROM enrolments ORDER BY sort_order")) {
+            while (resultSet.next()) {
+                LinkedHashMap<String, ArrayList<String>> rows = resultSet.getInt(3) == WAITLISTED
+                        ? waitlistedRows : registeredRows;
+                rows.computeIfAbsent(resultSet.getString(1), index -> new ArrayList<>())
+                        .add(resultSet.getString(2));
+                nextSortOrder = resultSet.getLong(4) + 1;
+                noOfRows++;
+            }
+        }
+
+        int noOfMisses = textStorage.addRegisteredStudents(registeredRows, courses, users);
+        noOfMisses += textStorage.addWaitlistedStudents(waitlistedRows, courses, users);
+        courses.getCourses().forEach(Course::clearPendingChanges);
+        loadReport.record("enrolments", noOfRows, noOfMisses, System.nanoTime() - startTime);
+    }
+
+    /**
+     * Returns tokenizer at a line made of the fields.
+     *
+     * @param fields Fields of line.
+     * @return Tokenizer at line.
+     * @throws MyStarsException If there is issue reading line.
+     */
+    private Tokenizer tokenize(String... fields) throws MyStarsException {
+        Tokenizer tokenizer = new Tokenizer(new StringReader(String.join(Parser.LINE_SEPARATOR, fields)));
+        try {
+            tokenizer.nextLine();
+        } catch (IOException e) {
+            throw new MyStarsException(READ_ERROR);
+        }
+        return tokenizer;
+    }
+
+    /**
+     * Saves everything loaded from text files into database.
+     *
+     * @param bootstrap Courses, users and access period loaded.
+     * @throws SQLException If there is issue updating database.
+     */
+    private void importBootstrap(Bootstrap bootstrap) throws SQLException {
+        try {
+            for (User user : bootstrap.getUsers().getUsers()) {
+                insertUser(user);
+            }
+            replaceCourses(bootstrap.getCourses());
+            replaceAccessPeriod(bootstrap.getAccessDateTime().getAccessDateTime());
+            connection.commit();
+            bootstrap.getCourses().getCourses().forEach(Course::clearPendingChanges);
+            rememberSaved(bootstrap.getCourses().getCourses());
+        } catch (SQLException e) {
+            connection.rollback();
+            throw e;
+        }
+    }
+
+    /**
+     * Returns report of tables loaded.
+     *
+     * @return Load report.
+     */
+    @Override
+    public LoadReport getLoadReport() {
+        return loadReport;
+    }
+
+    /**
+     * Saves courses and their enrolments that changed since they were last saved, and removes courses no longer in
+     * list.
+     *
+     * @param courses Courses to save.
+     * @throws MyStarsException If there is issue saving.
+     */
+    @Override
+    public synchronized void saveCourses(CourseList courses) throws MyStarsException {
+        IdentityHashMap<Course, ArrayList<String>> changes = courses.takePendingChanges();
+        List<Course> currentCourses = courses.getCourses();
+        IdentityHashMap<Course, Integer> versions = new IdentityHashMap<>();
+        Set<Course> currentCourseSet = Collections.newSetFromMap(new IdentityHashMap<>());
+        currentCourseSet.addAll(currentCourses);
+
+        try (PreparedStatement deleteCourse = connection.prepareStatement("DELETE FROM courses "
+                + "WHERE index_number = ?");
+             PreparedStatement deleteEnrolments = connection.prepareStatement("DELETE FROM enrolments "
+                     + "WHERE index_number = ?");
+             PreparedStatement updateCourse = connection.prepareStatement(UPDATE_COURSE);
+             PreparedStatement insertCourse = connection.prepareStatement(INSERT_COURSE);
+             PreparedStatement insertEnrolment = connection.prepareStatement(INSERT_ENROLMENT)) {
+            for (Course course : savedCourses) {
+                if (!currentCourseSet.contains(course)) {
+                    deleteCourse.setString(1, course.getIndexNumber());
+                    deleteCourse.addBatch();
+                    deleteEnrolments.setString(1, course.getIndexNumber());
+                    deleteEnrolments.addBatch();
+                }
+            }
+
+            for (int position = 0; position < currentCourses.size(); position++) {
+                Course course = currentCourses.get(position);
+                // Version is read before the course, so changes made meanwhile are saved next time.
+                int version = course.getVersion();
+                versions.put(course, version);
+                Integer savedVersion = savedVersions.get(course);
+                boolean isChanged = savedVersion == null || savedVersion != version;
+                if (!isChanged && position < savedCourses.size() && savedCourses.get(position) == course) {
+                    continue;
+                }
+
+                PreparedStatement saveCourse = savedVersion == null ? insertCourse : updateCourse;
+                setCourse(saveCourse, course, position);
+                saveCourse.addBatch();
+                if (isChanged) {
+                    deleteEnrolments.setString(1, course.getIndexNumber());
+                    deleteEnrolments.addBatch();
+                    addEnrolments(insertEnrolment, course);
+                }
+            }
+
+            deleteCourse.executeBatch();
+            deleteEnrolments.executeBatch();
+            updateCourse.executeBatch();
+            insertCourse.executeBatch();
+            insertEnrolment.executeBatch();
+            connection.commit();
+        } catch (SQLException e) {
+            courses.restorePendingChanges(changes);
+            rollback(e);
+        }
+
+        savedCourses = new ArrayList<>(currentCourses);
+        savedVersions = versions;
+    }
+
+    /**
+     * Remembers courses as saved to database, at their current versions.
+     *
+     * @param courses Courses saved.
+     */
+    private void rememberSaved(List<Course> courses) {
+        savedVersions = new IdentityHashMap<>();
+        for (Course course : courses) {
+            savedVersions.put(course, course.getVersion());
+        }
+        savedCourses = new ArrayList<>(courses);
+    }
+
+    /**
+     * Replaces all courses and enrolments, without committing.
+     *
+     * @param courses Courses to save.
+     * @throws SQLException If there is issue updating database.
+     */
+    private void replaceCourses(CourseList courses) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.executeUpdate("DELETE FROM enrolments");
+            statement.executeUpdate("DELETE FROM courses");
+        }
+
+        try (PreparedStatement insertCourse = connection.prepareStatement(INSERT_COURSE);
+             PreparedStatement insertEnrolment = connection.prepareStatement(INSERT_ENROLMENT)) {
+            nextSortOrder = 0;
+            int position = 0;
+            for (Course course : courses.getCourses()) {
+                setCourse(insertCourse, course, position++);
+                insertCourse.addBatch();
+                addEnrolments(insertEnrolment, course);
+            }
+            insertCourse.executeBatch();
+            insertEnrolment.executeBatch();
+        }
+    }
+
+    /**
+     * Sets parameters of course insert or update.
+     *
+     * @param saveCourse Insert or update statement.
+     * @param course     Course to save.
+     * @param position   Position of course in list.
+     * @throws SQLException If there is issue setting parameters.
+     */
+    private void setCourse(PreparedStatement saveCourse, Course course, int position) throws SQLException {
+        saveCourse.setString(1, course.getCourseCode());
+        saveCourse.setString(2, course.getSchool());
+        saveCourse.setInt(3, course.getInitialVacancies());
+        saveCourse.setInt(4, course.getNumOfAUs());
+        saveCourse.setString(5, course.getLessonList().getLessons().stream()
+                .map(Lesson::getStorageString).collect(Collectors.joining(Parser.ASTERISK_SEPARATOR)));
+        saveCourse.setInt(6, position);
+        saveCourse.setString(7, course.getIndexNumber());
+    }
+
+    /**
+     * Adds registered and waitlisted students of course to enrolment insert batch, in the order they enrolled.
+     *
+     * @param insertEnrolment Insert statement.
+     * @param course          Course to save enrolments of.
+     * @throws SQLException If there is issue setting parameters.
+     */
+    private void addEnrolments(PreparedStatement insertEnrolment, Course course) throws SQLException {
+        for (Student student : course.getRegisteredStudentList()) {
+            setEnrolment(insertEnrolment, course.getIndexNumber(), student.getMatricNo(), REGISTERED);
+            insertEnrolment.addBatch();
+        }
+        for (Student student : course.getWaitlistedStudentList()) {
+            setEnrolment(insertEnrolment, course.getIndexNumber(), student.getMatricNo(), WAITLISTED);
+            insertEnrolment.addBatch();
+        }
+    }
+
+    /**
+     * Sets parameters of enrolment insert, at the next sort order.
+     *
+     * @param insertEnrolment Insert statement.
+     * @param indexNumber     Index number of course.
+     * @param matricNo        Matriculation number of student.
+     * @param waitlisted      If student is registered or waitlisted.
+     * @throws SQLException If there is issue setting parameters.
+     */
+    private void setEnrolment(PreparedStatement insertEnrolment, String indexNumber, String matricNo,
+                              int waitlisted) throws SQLException {
+        insertEnrolment.setString(1, indexNumber);
+        insertEnrolment.setString(2, matricNo);
+        insertEnrolment.setInt(3, waitlisted);
+        insertEnrolment.setLong(4, nextSortOrder++);
+    }
+
+    /**
+     * Saves enrolment changes of courses as row updates in a single transaction.
+     *
+     * @param courses List of courses.
+     * @throws MyStarsException If there is issue saving.
+     */
+    @Override
+    public synchronized void saveEnrolments(CourseList courses) throws MyStarsException {
+        IdentityHashMap<Course, ArrayList<String>> changes = courses.takePendingChanges();
+        try (PreparedStatement insert = connection.prepareStatement(INSERT_ENROLMENT);
+             PreparedStatement delete = connection.prepareStatement("DELETE FROM enrolments "
+                     + "WHERE index_number = ? AND matric_no = ? AND waitlisted = ?");
+             PreparedStatement promote = connection.prepareStatement("UPDATE enrolments SET waitlisted = ?, "
+                     + "sort_order = ? WHERE index_number = ? AND matric_no = ? AND waitlisted = ?")) {
+            for (ArrayList<String> courseChanges : changes.values()) {
+                for (String change : courseChanges) {
+                    String[] entry = parser.readJournalEntry(change);
+                    switch (EnrolmentChange.valueOf(entry[0])) {
+                    case REGISTER:
+                        setEnrolment(insert, entry[1], entry[2], REGISTERED);
+                        insert.executeUpdate();
+                        break;
+                    case WAITLIST:
+                        setEnrolment(insert, entry[1], entry[2], WAITLISTED);
+                        insert.executeUpdate();
+                        break;
+                    case DROP:
+                        removeEnrolment(delete, entry[1], entry[2], REGISTERED);
+                        break;
+                    case UNWAITLIST:
+                        removeEnrolment(delete, entry[1], entry[2], WAITLISTED);
+                        break;
+                    case PROMOTE:
+                        promote.setInt(1, REGISTERED);
+                        promote.setLong(2, nextSortOrder++);
+                        promote.setString(3, entry[1]);
+                        promote.setString(4, entry[2]);
+                        promote.setInt(5, WAITLISTED);
+                        promote.executeUpdate();
+                        break;
+                    default:
+                        break;
+                    }
+                }
+            }
+            connection.commit();
+        } catch (SQLException e) {
+            courses.restorePendingChanges(changes);
+            rollback(e);
+        }
+    }
+
+    /**
+     * Removes enrolment.
+     *
+     * @param delete      Delete statement.
+     * @param indexNumber Index number of course.
+     * @param matricNo    Matriculation number of student.
+     * @param waitlisted  If student is registered or waitlisted.
+     * @throws SQLException If there is issue updating database.
+     */
+    private void removeEnrolment(PreparedStatement delete, String indexNumber, String matricNo, int waitlisted)
+            throws SQLException {
+        delete.setString(1, indexNumber);
+        delete.setString(2, matricNo);
+        delete.setInt(3, waitlisted);
+        delete.executeUpdate();
+    }
+
+    /**
+     * Saves access period.
+     *
+     * @param accessPeriod Access period.
+     * @throws MyStarsException If there is issue saving.
+     */
+    @Override
+    public synchronized void saveAccessPeriod(LocalDateTime[] accessPeriod) throws MyStarsException {
+        try {
+            replaceAccessPeriod(accessPeriod);
+            connection.commit();
+        } catch (SQLException e) {
+            rollback(e);
+        }
+    }
+
+    /**
+     * Replaces access period, without committing.
+     *
+     * @param accessPeriod Access period.
+     * @throws SQLException If there is issue updating database.
+     */
+    private void replaceAccessPeriod(LocalDateTime[] accessPeriod) throws SQLException {
+        try (PreparedStatement delete = connection.prepareStatement("DELETE FROM settings WHERE id = ?");
+             PreparedStatement insert = connection.prepareStatement("INSERT INTO settings (id, access_start, "
+                     + "access_end) VALUES (?, ?, ?)")) {
+            delete.setInt(1, SETTINGS_ID);
+            delete.executeUpdate();
+            insert.setInt(1, SETTINGS_ID);
+            insert.setString(2, accessPeriod[0].toString());
+            insert.setString(3, accessPeriod[1].toString());
+            insert.executeUpdate();
+        }
+    }
+
+    /**
+     * Saves new student.
+     *
+     * @param newStudent Student to save.
+     * @throws MyStarsException If there is issue saving.
+     */
+    @Override
+    public synchronized void saveStudent(Student newStudent) throws MyStarsException {
+        try {
+            insertUser(newStudent);
+            connection.commit();
+        } catch (SQLException e) {
+            rollback(e);
+        }
+    }
+
+    /**
+     * Inserts user with its details, without committing.
+     *
+     * @param user User to insert.
+     * @throws SQLException If there is issue updating database.
+     */
+    private void insertUser(User user) throws SQLException {
+        try (PreparedStatement insert = connection.prepareStatement("INSERT INTO users (username, password, type) "
+                + "VALUES (?, ?, ?)")) {
+            insert.setString(1, String.valueOf(user.getUsername()));
+            insert.setString(2, String.valueOf(user.getPassword()));
+            insert.setString(3, user instanceof Admin ? "admin" : "student");
+            insert.executeUpdate();
+        }
+
+        if (user instanceof Student) {
+            Student student = (Student) user;
+            try (PreparedStatement insert = connection.prepareStatement("INSERT INTO students (matric_no, name, "
+                    + "gender, nationality, username, course_of_study, year_of_study, email) "
+                    + "VALUES (?, ?, ?, ?, ?, ?, ?, ?)")) {
+                insert.setString(1, student.getMatricNo());
+                insert.setString(2, student.getName());
+                insert.setString(3, String.valueOf(student.getGender()));
+                insert.setString(4, student.getNationality());
+                insert.setString(5, String.valueOf(student.getUsername()));
+                insert.setString(6, student.getCourseOfStudy());
+                insert.setInt(7, student.getYearOfStudy());
+                insert.setString(8, student.getEmail());
+                insert.executeUpdate();
+            }
+        } else if (user instanceof Admin) {
+            Admin admin = (Admin) user;
+            try (PreparedStatement insert = connection.prepareStatement("INSERT INTO admins (staff_id, name, "
+                    + "gender, nationality, username) VALUES (?, ?, ?, ?, ?)")) {
+                insert.setString(1, admin.getStaffId());
+                insert.setString(2, admin.getName());
+                insert.setString(3, String.valueOf(admin.getGender()));
+                insert.setString(4, admin.getNationality());
+                insert.setString(5, String.valueOf(admin.getUsername()));
+                insert.executeUpdate();
+            }
+        }
+    }
+
+    /**
+     * Saves notifications to outbox file of text storage, to be sent in the background.
+     *
+     * @param notifications Notifications to send.
+     * @throws MyStarsException If there is issue saving to file.
+     */
+    @Override
+    public void saveNotifications(List<Notification> notifications) throws MyStarsException {
+        textStorage.saveNotifications(notifications);
+    }
+
+    /**
+     * Does nothing, as database is loaded through its own indexes.
+     *
+     * @param courses List of courses.
+     * @param users   List of users.
+     */
+    @Override
+    public void saveSnapshot(CourseList courses, UserList users) {
+    }
+
+    /**
+     * Does nothing, as every save is committed before it returns.
+     */
+    @Override
+    public void flush() {
+    }
+
+    /**
+     * Rolls back transaction after a failed save.
+     *
+     * @param error Error of save.
+     * @throws MyStarsException Always, to report the failed save.
+     */
+    private void rollback(SQLException error) throws MyStarsException {
+        MyStars.logger.log(Level.WARNING, error.getMessage());
+        try {
+            connection.rollback();
+        } catch (SQLException e) {
+            MyStars.logger.log(Level.WARNING, e.getMessage());
+        }
+        throw new MyStarsException(WRITE_ERROR);
+    }
+}
@@ -3,31 +3,52 @@ package mystars.storage;
 import mystars.MyStars;
 import mystars.data.course.Course;
 import mystars.data.course.CourseList;
+import mystars.data.course.EnrolmentChange;
 import mystars.data.exception.MyStarsException;
-import mystars.data.sender.Sender;
+import mystars.data.sender.Notification;
+import mystars.data.sender.NotificationRouter;
+import mystars.data.shared.AccessDateTime;
 import mystars.data.user.Admin;
 import mystars.data.user.Student;
 import mystars.data.user.User;
 import mystars.data.user.UserList;
 import mystars.parser.Parser;
+import mystars.parser.Tokenizer;
 
 import java.io.BufferedReader;
 import java.io.BufferedWriter;
-import java.io.File;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.DirectoryStream;
 import java.nio.file.Files;
+import java.nio.file.OpenOption;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
 import java.nio.file.StandardOpenOption;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.logging.Level;
 import java.util.stream.Collectors;
 
 /**
- * Storage handler.
+ * Storage handler for text files in db folder.
  */
-public class Storage {
+public class Storage implements StorageBackend {
 
     /**
      * File not found error message.
@@ -65,6 +86,21 @@ public class Storage {
     private static final String INVALID_AU_ERROR = "Same course code have different number of AUs! "
             + "Things may not work as expected. Please ensure same course code have the same number of AUs.";
 
+    /**
+     * Format of an issue with line number.
+     */
+    private static final String LINE_FORMAT = "Line %d of %s: %s";
+
+    /**
+     * Snapshot reading error message.
+     */
+    private static final String SNAPSHOT_READ_ERROR = "Unable to read snapshot, loading from text files instead.";
+
+    /**
+     * Missing index message.
+     */
+    private static final String MISSING_INDEX_MESSAGE = "Skipped enrolments of index that does not exist: ";
+
     /**
      * Settings format string.
      */
@@ -87,7 +123,52 @@ public class Storage {
     private static final String WAITLISTED_FORMAT = REGISTERED_FORMAT;
 
     /**
-     * Folder path.
+     * Journal format string.
+     */
+    private static final String JOURNAL_FORMAT = "format: enrolment change|index number|matric no.";
+
+    /**
+     * Commit marker format string.
+     */
+    private static final String COMMIT_FORMAT = "format: generation";
+
+    /**
+     * Recovered file message.
+     */
+    private static final String RECOVER_MESSAGE = "Recovered file from interrupted save: ";
+
+    /**
+     * Skipped journal entry message.
+     */
+    private static final String SKIP_JOURNAL_MESSAGE = "Skipped malformed or unknown journal entry: ";
+
+    /**
+     * Torn journal message.
+     */
+    private static final String TORN_JOURNAL_MESSAGE = "Removed incomplete last line of journal from interrupted save.";
+
+    /**
+     * Skipped temporary file message.
+     */
+    private static final String SKIP_TEMP_MESSAGE = "Skipped temporary file that is not from a save: ";
+
+    /**
+     * Number of journal entries before journal is compacted into data files.
+     */
+    private static final int JOURNAL_COMPACTION_THRESHOLD = 256;
+
+    /**
+     * Number of files that can be loaded independently of each other.
+     */
+    private static final int NO_OF_INDEPENDENT_FILES = 5;
+
+    /**
+     * Milliseconds to wait for more saves to write together with a save, 0 to write every save immediately.
+     */
+    private static final long SAVE_WINDOW_MILLIS = Long.getLong("mystars.saveWindow", 0);
+
+    /**
+     * Default folder path.
      */
     private static final String FOLDER = "db";
 
@@ -126,18 +207,217 @@ public class Storage {
      */
     private static final String WAITLISTED_FILE = "waitlist.txt";
 
+    /**
+     * Journal file.
+     */
+    private static final String JOURNAL_FILE = "journal.txt";
+
+    /**
+     * Commit marker file.
+     */
+    private static final String COMMIT_FILE = "commit.txt";
+
+    /**
+     * Notification outbox file.
+     */
+    private static final String OUTBOX_FILE = "outbox.txt";
+
+    /**
+     * Notification log file, appended to by log channel.
+     */
+    private static final String NOTIFICATION_LOG_FILE = "notifications.log";
+
+    /**
+     * Snapshot file.
+     */
+    private static final String SNAPSHOT_FILE = "snapshot.bin";
+
+    /**
+     * Files that snapshot is taken from.
+     */
+    private static final String[] SNAPSHOT_SOURCE_FILES = {USERS_FILE, STUDENTS_FILE, ADMINS_FILE, COURSES_FILE,
+        REGISTERED_FILE, WAITLISTED_FILE, JOURNAL_FILE};
+
+    /**
+     * Whether snapshot is loaded and saved, set with -Dmystars.snapshot=true.
+     */
+    private static final boolean IS_SNAPSHOT_ENABLED = Boolean.getBoolean("mystars.snapshot");
+
+    /**
+     * Temporary file suffix.
+     */
+    private static final String TEMP_SUFFIX = ".tmp";
+
     /**
      * Parser object.
      */
     private final Parser parser;
 
+    /**
+     * Folder of data files.
+     */
+    private final Path folder;
+
+    /**
+     * Report of files loaded.
+     */
+    private final LoadReport loadReport = new LoadReport();
+
+    /**
+     * Outbox of notifications waiting to be sent.
+     */
+    private final NotificationOutbox outbox;
+
+    /**
+     * Lines last saved for each course, reused for courses that have not changed since.
+     */
+    private IdentityHashMap<Course, SerialisedCourse> serialisedCourses = new IdentityHashMap<>();
+
+    /**
+     * Lock guarding queued writes, shared with the writer thread.
+     */
+    private final Object writeLock = new Object();
+
+    /**
+     * Writes waiting for the writer thread, null if there is none.
+     */
+    private WriteBatch queuedWrites;
+
+    /**
+     * Number of saves queued for the writer thread so far.
+     */
+    private long noOfWritesQueued;
+
+    /**
+     * Number of saves written by the writer thread so far.
+     */
+    private long noOfWritesDone;
+
+    /**
+     * If the writer thread should write without waiting for the rest of the save window.
+     */
+    private boolean isFlushRequested;
+
+    /**
+     * Error of the last grouped write, reported to the next caller.
+     */
+    private MyStarsException writeError;
+
+    /**
+     * Writer thread, started on the first grouped save.
+     */
+    private Thread writer;
+
+    /**
+     * Journal entries read from file, null if journal is not read yet.
+     */
+    private ArrayList<String[]> journal;
+
+    /**
+     * Number of entries in journal file.
+     */
+    private int journalSize;
+
+    /**
+     * Generation of last committed save.
+     */
+    private int generation;
+
+    /**
+     * Snapshot loaded in place of data files, null if there is no up to date snapshot.
+     */
+    private Snapshot snapshot;
+
+    /**
+     * Lock of saving snapshot, separate from the storage lock as saving waits for the writer thread.
+     */
+    private final Object snapshotLock = new Object();
+
+    /**
+     * Whether snapshot file is read yet.
+     */
+    private boolean isSnapshotRead;
+
+    /**
+     * Fingerprint of data files when snapshot was last loaded or saved.
+     */
+    private long[] snapshotFingerprint;
+
     /**
      * Initializes storage handler.
      *
      * @param parser Parser object.
      */
     public Storage(Parser parser) {
+        this(parser, Paths.get(FOLDER));
+    }
+
+    /**
+     * Initializes storage handler with data files in the given folder.
+     *
+     * @param parser Parser object.
+     * @param folder Folder of data files.
+     */
+    Storage(Parser parser, Path folder) {
         this.parser = parser;
+        this.folder = folder;
+        outbox = new NotificationOutbox(folder.resolve(OUTBOX_FILE),
+                NotificationRouter.fromSettings(folder.resolve(NOTIFICATION_LOG_FILE)));
+    }
+
+    /**
+     * Recovers files from interrupted saves, loads courses, users, students, admins and access period in parallel,
+     * then loads registered and waitlisted students, which depend on them.
+     *
+     * @return Courses, users and access period loaded.
+     * @throws MyStarsException If there is issue loading file.
+     */
+    @Override
+    public Bootstrap bootstrap() throws MyStarsException {
+        recoverFiles();
+        ExecutorService executor = Executors.newFixedThreadPool(
+                Math.min(NO_OF_INDEPENDENT_FILES, Runtime.getRuntime().availableProcessors()));
+        try {
+            Future<CourseList> coursesLoaded = executor.submit(this::loadCourses);
+            Future<ArrayList<User>> usersLoaded = executor.submit(this::loadUsers);
+            Future<ArrayList<User>> studentsLoaded = executor.submit(this::loadStudents);
+            Future<ArrayList<User>> adminsLoaded = executor.submit(this::loadAdmins);
+            Future<LocalDateTime[]> accessPeriodLoaded = executor.submit(this::loadAccessPeriod);
+
+            CourseList courses = join(coursesLoaded);
+            UserList users = new UserList(join(usersLoaded));
+            users.addDetails(join(studentsLoaded), join(adminsLoaded));
+            AccessDateTime accessDateTime = new AccessDateTime(join(accessPeriodLoaded));
+
+            loadCourseRegisteredStudents(courses, users);
+            loadCourseWaitlistStudents(courses, users);
+            return new Bootstrap(courses, users, accessDateTime);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Waits for file to be loaded and returns its result.
+     *
+     * @param loaded File being loaded.
+     * @param <T>    Type of result.
+     * @return Result of loading file.
+     * @throws MyStarsException If there is issue loading file.
+     */
+    private <T> T join(Future<T> loaded) throws MyStarsException {
+        try {
+            return loaded.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new MyStarsException(READ_ERROR);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof MyStarsException) {
+                throw (MyStarsException) e.getCause();
+            }
+            MyStars.logger.log(Level.WARNING, e.getCause().toString());
+            throw new MyStarsException(READ_ERROR);
+        }
     }
 
     /**
@@ -147,21 +427,21 @@ public class Storage {
      * @throws MyStarsException If there is problem reading file.
      */
     public ArrayList<User> loadUsers() throws MyStarsException {
-        Path path = Paths.get(FOLDER, USERS_FILE);
+        if (loadSnapshot() != null) {
+            return snapshot.getUsers();
+        }
+
+        long startTime = System.nanoTime();
+        Path path = folder.resolve(USERS_FILE);
         ArrayList<User> users = new ArrayList<>();
 
         if (Files.exists(path)) {
-            try {
-                BufferedReader bufferedReader = Files.newBufferedReader(path);
-                bufferedReader.readLine();
+            try (BufferedReader bufferedReader = Files.newBufferedReader(path)) {
+                Tokenizer tokenizer = new Tokenizer(bufferedReader);
+                tokenizer.nextLine();
 
-                while (true) {
-                    String line = bufferedReader.readLine();
-                    if (line == null) {
-                        break;
-                    }
-
-                    User user = parser.readUser(line);
+                while (tokenizer.nextLine()) {
+                    User user = parser.readUser(tokenizer);
                     users.add(user);
                 }
             } catch (IOException e) {
@@ -171,6 +451,7 @@ public class Storage {
             throw new MyStarsException(FILE_NOT_FOUND_ERROR);
         }
 
+        loadReport.record(USERS_FILE, users.size(), 0, System.nanoTime() - startTime);
         return users;
     }
 
@@ -181,21 +462,22 @@ public class Storage {
      * @throws MyStarsException If there is problem reading file.
      */
     public ArrayList<User> loadStudents() throws MyStarsException {
-        Path path = Paths.get(FOLDER, STUDENTS_FILE);
+        if (loadSnapshot() != null) {
+            return snapshot.getUsers().stream().filter(Student.class::isInstance)
+                    .collect(Collectors.toCollection(ArrayList::new));
+        }
+
+        long startTime = System.nanoTime();
+        Path path = folder.resolve(STUDENTS_FILE);
         ArrayList<User> students = new ArrayList<>();
 
         if (Files.exists(path)) {
-            try {
-                BufferedReader bufferedReader = Files.newBufferedReader(path);
-                bufferedReader.readLine();
+            try (BufferedReader bufferedReader = Files.newBufferedReader(path)) {
+                Tokenizer tokenizer = new Tokenizer(bufferedReader);
+                tokenizer.nextLine();
 
-                while (true) {
-                    String line = bufferedReader.readLine();
-                    if (line == null) {
-                        break;
-                    }
-
-                    Student student = parser.readStudent(line);
+                while (tokenizer.nextLine()) {
+                    Student student = parser.readStudent(tokenizer);
                     students.add(student);
                 }
             } catch (IOException e) {
@@ -205,6 +487,7 @@ public class Storage {
             throw new MyStarsException(FILE_NOT_FOUND_ERROR);
         }
 
+        loadReport.record(STUDENTS_FILE, students.size(), 0, System.nanoTime() - startTime);
         return students;
     }
 
@@ -215,21 +498,22 @@ public class Storage {
      * @throws MyStarsException If there is problem reading file.
      */
     public ArrayList<User> loadAdmins() throws MyStarsException {
-        Path path = Paths.get(FOLDER, ADMINS_FILE);
+        if (loadSnapshot() != null) {
+            return snapshot.getUsers().stream().filter(Admin.class::isInstance)
+                    .collect(Collectors.toCollection(ArrayList::new));
+        }
+
+        long startTime = System.nanoTime();
+        Path path = folder.resolve(ADMINS_FILE);
         ArrayList<User> admins = new ArrayList<>();
 
         if (Files.exists(path)) {
-            try {
-                BufferedReader bufferedReader = Files.newBufferedReader(path);
-                bufferedReader.readLine();
+            try (BufferedReader bufferedReader = Files.newBufferedReader(path)) {
+                Tokenizer tokenizer = new Tokenizer(bufferedReader);
+                tokenizer.nextLine();
 
-                while (true) {
-                    String line = bufferedReader.readLine();
-                    if (line == null) {
-                        break;
-                    }
-
-                    Admin admin = parser.readAdmin(line);
+                while (tokenizer.nextLine()) {
+                    Admin admin = parser.readAdmin(tokenizer);
                     admins.add(admin);
                 }
             } catch (IOException e) {
@@ -239,6 +523,7 @@ public class Storage {
             throw new MyStarsException(FILE_NOT_FOUND_ERROR);
         }
 
+        loadReport.record(ADMINS_FILE, admins.size(), 0, System.nanoTime() - startTime);
         return admins;
     }
 
@@ -250,11 +535,160 @@ public class Storage {
      * @throws MyStarsException If there is issue loading file.
      */
     public void loadCourseRegisteredStudents(CourseList courses, UserList users) throws MyStarsException {
-        Path path = Paths.get(FOLDER, REGISTERED_FILE);
+        long startTime = System.nanoTime();
+        if (loadSnapshot() != null) {
+            // Courses and users were loaded from the same snapshot, so its students are already resolved.
+            IdentityHashMap<Course, ArrayList<Student>> registeredStudents = snapshot.getRegisteredStudents();
+            for (Course course : snapshot.getCourses()) {
+                if (registeredStudents.containsKey(course)) {
+                    addRegisteredStudents(course, registeredStudents.get(course));
+                }
+            }
+            loadReport.record(REGISTERED_FILE, registeredStudents.size(), 0, System.nanoTime() - startTime);
+            return;
+        }
+
+        LinkedHashMap<String, ArrayList<String>> rows = loadEnrolmentRows(REGISTERED_FILE);
+        replayJournal(rows, false, courses, users);
+        int noOfMisses = addRegisteredStudents(rows, courses, users);
+        loadReport.record(REGISTERED_FILE, rows.size(), noOfMisses, System.nanoTime() - startTime);
+    }
+
+    /**
+     * Updates courses and students about registrations.
+     *
+     * @param rows    Matriculation numbers of registered students, by index number.
+     * @param courses List of courses.
+     * @param users   List of users.
+     * @return Number of index numbers and matriculation numbers that could not be found.
+     * @throws MyStarsException If there is more students registered for a course than vacancies.
+     */
+    int addRegisteredStudents(LinkedHashMap<String, ArrayList<String>> rows, CourseList courses, UserList users)
+            throws MyStarsException {
+        HashMap<String, Student> studentsByMatricNo = users.getStudentsByMatricNo();
+        int noOfMisses = 0;
+        for (Map.Entry<String, ArrayList<String>> row : rows.entrySet()) {
+            Course course = courses.getCourseByIndex(row.getKey());
+            if (course == null) {
+                MyStars.logger.log(Level.WARNING, MISSING_INDEX_MESSAGE + row.getKey());
+                noOfMisses++;
+                continue;
+            }
+            ArrayList<Student> students = parser.readStudentList(row.getValue(), studentsByMatricNo);
+            noOfMisses += row.getValue().size() - students.size();
+            addRegisteredStudents(course, students);
+        }
+        return noOfMisses;
+    }
+
+    /**
+     * Updates course and students about registrations to the course.
+     *
+     * @param course   Course registered for.
+     * @param students Students registered.
+     * @throws MyStarsException If there is more students registered for the course than vacancies.
+     */
+    private void addRegisteredStudents(Course course, ArrayList<Student> students) throws MyStarsException {
+        if (!course.isVacancy()) {
+            throw new MyStarsException(VACANCY_ERROR);
+        }
+        for (Student student : students) {
+            student.addCourseToRegistered(course);
+        }
+        course.setRegisteredStudents(students);
+    }
+
+    /**
+     * Loads waitlisted students, and updates course and student about the waitlist.
+     * Students are not transferred to registered list here, see {@link CourseList#promoteWaitlistedStudents()}.
+     *
+     * @param courses List of courses.
+     * @param users   List of users.
+     * @throws MyStarsException If there is issue loading file.
+     */
+    public void loadCourseWaitlistStudents(CourseList courses, UserList users) throws MyStarsException {
+        long startTime = System.nanoTime();
+        if (loadSnapshot() != null) {
+            IdentityHashMap<Course, ArrayList<Student>> waitlistedStudents = snapshot.getWaitlistedStudents();
+            for (Course course : snapshot.getCourses()) {
+                if (waitlistedStudents.containsKey(course)) {
+                    addWaitlistedStudents(course, waitlistedStudents.get(course));
+                }
+            }
+            loadReport.record(WAITLISTED_FILE, waitlistedStudents.size(), 0, System.nanoTime() - startTime);
+            return;
+        }
+
+        LinkedHashMap<String, ArrayList<String>> rows = loadEnrolmentRows(WAITLISTED_FILE);
+        replayJournal(rows, true, courses, users);
+        int noOfMisses = addWaitlistedStudents(rows, courses, users);
+        loadReport.record(WAITLISTED_FILE, rows.size(), noOfMisses, System.nanoTime() - startTime);
+    }
+
+    /**
+     * Updates courses and students about waitlists.
+     *
+     * @param rows    Matriculation numbers of waitlisted students, by index number.
+     * @param courses List of courses.
+     * @param users   List of users.
+     * @return Number of index numbers and matriculation numbers that could not be found.
+     * @throws MyStarsException If a student is already waitlisted for the course.
+     */
+    int addWaitlistedStudents(LinkedHashMap<String, ArrayList<String>> rows, CourseList courses, UserList users)
+            throws MyStarsException {
+        HashMap<String, Student> studentsByMatricNo = users.getStudentsByMatricNo();
+        int noOfMisses = 0;
+        for (Map.Entry<String, ArrayList<String>> row : rows.entrySet()) {
+            Course course = courses.getCourseByIndex(row.getKey());
+            if (course == null) {
+                MyStars.logger.log(Level.WARNING, MISSING_INDEX_MESSAGE + row.getKey());
+                noOfMisses++;
+                continue;
+            }
+            ArrayList<Student> students = parser.readStudentList(row.getValue(), studentsByMatricNo);
+            noOfMisses += row.getValue().size() - students.size();
+            addWaitlistedStudents(course, students);
+        }
+        return noOfMisses;
+    }
+
+    /**
+     * Updates course and students about the waitlist of the course.
+     *
+     * @param course   Course waitlisted for.
+     * @param students Students waitlisted, in order.
+     * @throws MyStarsException If a student is already waitlisted for the course.
+     */
+    private void addWaitlistedStudents(Course course, ArrayList<Student> students) throws MyStarsException {
+        for (Student student : students) {
+            student.addCourseToWaitlisted(course);
+        }
+        course.setWaitlistedStudents(students);
+    }
+
+    /**
+     * Returns report of files loaded.
+     *
+     * @return Load report.
+     */
+    @Override
+    public LoadReport getLoadReport() {
+        return loadReport;
+    }
+
+    /**
+     * Loads rows of registered.txt or waitlist.txt, and returns matriculation numbers by index number.
+     *
+     * @param file Filename to read.
+     * @return Matriculation numbers by index number.
+     * @throws MyStarsException If there is problem reading file.
+     */
+    private LinkedHashMap<String, ArrayList<String>> loadEnrolmentRows(String file) throws MyStarsException {
+        Path path = folder.resolve(file);
+        LinkedHashMap<String, ArrayList<String>> rows = new LinkedHashMap<>();
 
         if (Files.exists(path)) {
-            try {
-                BufferedReader bufferedReader = Files.newBufferedReader(path);
+            try (BufferedReader bufferedReader = Files.newBufferedReader(path)) {
                 bufferedReader.readLine();
 
                 while (true) {
@@ -262,19 +696,7 @@ public class Storage {
                     if (line == null) {
                         break;
                     }
-                    String courseIndex = parser.readCourseIndex(line);
-                    Course course = courses.getCourseByIndex(courseIndex);
-                    ArrayList<Student> students = parser.readStudentList(line, users);
-
-                    if (course.isVacancy()) {
-                        for (Student student : students) {
-                            student.addCourseToRegistered(course);
-                        }
-                        course.setRegisteredStudents(students);
-
-                    } else {
-                        throw new MyStarsException(VACANCY_ERROR);
-                    }
+                    rows.put(parser.readCourseIndex(line), parser.readMatricNos(line));
                 }
             } catch (IOException e) {
                 throw new MyStarsException(READ_ERROR);
@@ -282,21 +704,31 @@ public class Storage {
         } else {
             throw new MyStarsException(FILE_NOT_FOUND_ERROR);
         }
+
+        return rows;
     }
 
     /**
-     * Loads waitlisted students, and updates course and student about the waitlist.
+     * Loads journal entries saved since the data files were last written.
+     * Entries that are malformed, or whose index or student does not exist, are logged and skipped.
      *
      * @param courses List of courses.
      * @param users   List of users.
-     * @throws MyStarsException If there is issue loading file.
+     * @return Journal entries.
+     * @throws MyStarsException If there is problem reading file.
      */
-    public void loadCourseWaitlistStudents(CourseList courses, UserList users) throws MyStarsException {
-        Path path = Paths.get(FOLDER, WAITLISTED_FILE);
+    private ArrayList<String[]> loadJournal(CourseList courses, UserList users) throws MyStarsException {
+        if (journal != null) {
+            return journal;
+        }
+
+        Path path = folder.resolve(JOURNAL_FILE);
+        HashMap<String, Student> studentsByMatricNo = users.getStudentsByMatricNo();
+        ArrayList<String[]> entries = new ArrayList<>();
+        int noOfLines = 0;
 
         if (Files.exists(path)) {
-            try {
-                BufferedReader bufferedReader = Files.newBufferedReader(path);
+            try (BufferedReader bufferedReader = Files.newBufferedReader(path)) {
                 bufferedReader.readLine();
 
                 while (true) {
@@ -304,56 +736,89 @@ public class Storage {
                     if (line == null) {
                         break;
                     }
-                    String courseIndex = parser.readCourseIndex(line);
-                    Course course = courses.getCourseByIndex(courseIndex);
-                    ArrayList<Student> students = parser.readStudentList(line, users);
-
-                    for (Student student : students) {
-                        student.addCourseToWaitlisted(course);
+                    if (line.isBlank()) {
+                        continue;
                     }
-                    course.setWaitlistedStudents(students);
-
-                    if (course.checkWaitlist()) {
-                        MyStars.logger.log(Level.INFO, Sender.SEND_MESSAGE);
-                        System.out.println(Sender.SEND_MESSAGE);
+                    noOfLines++;
+                    String[] entry = parser.readJournalEntry(line);
+                    if (entry == null || courses.getCourseByIndex(entry[1]) == null
+                            || !studentsByMatricNo.containsKey(entry[2])) {
+                        MyStars.logger.log(Level.WARNING, SKIP_JOURNAL_MESSAGE + line);
+                        continue;
                     }
-
-                    saveCourses(courses);
+                    entries.add(entry);
                 }
             } catch (IOException e) {
                 throw new MyStarsException(READ_ERROR);
             }
-        } else {
-            throw new MyStarsException(FILE_NOT_FOUND_ERROR);
         }
+
+        journal = entries;
+        journalSize = noOfLines;
+        return journal;
     }
 
     /**
-     * Loads courses, stores them into ArrayList and returns the ArrayList.
+     * Replays journal entries onto rows of registered.txt or waitlist.txt.
+     * Entries are applied idempotently, so replaying onto rows that already contain them has no effect.
      *
-     * @return ArrayList of courses.
-     * @throws MyStarsException If there is problem reading file.
+     * @param rows       Matriculation numbers by index number.
+     * @param isWaitlist True if rows are from waitlist.txt, false if rows are from registered.txt.
+     * @param courses    List of courses.
+     * @param users      List of users.
+     * @throws MyStarsException If there is problem reading journal.
      */
-    public ArrayList<Course> loadCourses() throws MyStarsException {
-        Path path = Paths.get(FOLDER, COURSES_FILE);
-        ArrayList<Course> courses = new ArrayList<>();
+    private void replayJournal(LinkedHashMap<String, ArrayList<String>> rows, boolean isWaitlist,
+                               CourseList courses, UserList users) throws MyStarsException {
+        for (String[] entry : loadJournal(courses, users)) {
+            EnrolmentChange change = EnrolmentChange.valueOf(entry[0]);
+            String matricNo = entry[2];
+
+            boolean isAdd = isWaitlist ? change == EnrolmentChange.WAITLIST
+                    : change == EnrolmentChange.REGISTER || change == EnrolmentChange.PROMOTE;
+            boolean isRemove = isWaitlist ? change == EnrolmentChange.UNWAITLIST || change == EnrolmentChange.PROMOTE
+                    : change == EnrolmentChange.DROP;
+
+            if (isAdd) {
+                ArrayList<String> matricNos = rows.computeIfAbsent(entry[1], indexNumber -> new ArrayList<>());
+                if (!matricNos.contains(matricNo)) {
+                    matricNos.add(matricNo);
+                }
+            } else if (isRemove && rows.containsKey(entry[1])) {
+                rows.get(entry[1]).remove(matricNo);
+            }
+        }
+    }
 
-        if (Files.exists(path)) {
-            try {
-                BufferedReader bufferedReader = Files.newBufferedReader(path);
-                bufferedReader.readLine();
+    /**
+     * Loads courses into a list of courses and returns it.
+     * Every index whose number of AUs differs from earlier indexes of its course code is reported with its line.
+     *
+     * @return List of courses.
+     * @throws MyStarsException If there is problem reading file, or indexes of a course code differ in AUs.
+     */
+    public CourseList loadCourses() throws MyStarsException {
+        if (loadSnapshot() != null) {
+            return new CourseList(snapshot.getCourses());
+        }
 
-                while (true) {
-                    String line = bufferedReader.readLine();
-                    if (line == null) {
-                        break;
-                    }
+        long startTime = System.nanoTime();
+        Path path = folder.resolve(COURSES_FILE);
+        CourseList courses = new CourseList();
+        StringJoiner violations = new StringJoiner(System.lineSeparator());
 
-                    Course course = parser.readCourse(line);
-                    if (!courses.stream().allMatch(course::isValidNumOfAUs)) {
-                        throw new MyStarsException(INVALID_AU_ERROR);
+        if (Files.exists(path)) {
+            try (BufferedReader bufferedReader = Files.newBufferedReader(path)) {
+                Tokenizer tokenizer = new Tokenizer(bufferedReader);
+                tokenizer.nextLine();
+
+                for (int lineNo = 2; tokenizer.nextLine(); lineNo++) {
+                    Course course = parser.readCourse(tokenizer);
+                    if (!courses.isValidNumOfAUs(course, 0)) {
+                        violations.add(String.format(LINE_FORMAT, lineNo, COURSES_FILE,
+                                courses.getAuViolation(course)));
                     }
-                    courses.add(course);
+                    courses.addCourse(course);
                 }
             } catch (IOException e) {
                 throw new MyStarsException(READ_ERROR);
@@ -362,6 +827,11 @@ public class Storage {
             throw new MyStarsException(FILE_NOT_FOUND_ERROR);
         }
 
+        if (violations.length() > 0) {
+            throw new MyStarsException(INVALID_AU_ERROR + System.lineSeparator() + violations);
+        }
+
+        loadReport.record(COURSES_FILE, courses.getNoOfCourses(), 0, System.nanoTime() - startTime);
         return courses;
     }
 
@@ -372,15 +842,17 @@ public class Storage {
      * @throws MyStarsException If there is problem reading file.
      */
     public LocalDateTime[] loadAccessPeriod() throws MyStarsException {
-        Path path = Paths.get(FOLDER, SETTINGS_FILE);
+        long startTime = System.nanoTime();
+        Path path = folder.resolve(SETTINGS_FILE);
         if (Files.exists(path)) {
-            try {
-                BufferedReader bufferedReader = Files.newBufferedReader(path);
+            try (BufferedReader bufferedReader = Files.newBufferedReader(path)) {
                 bufferedReader.readLine();
 
                 String line = bufferedReader.readLine();
 
-                return parser.readStudentAccessPeriod(line);
+                LocalDateTime[] accessPeriod = parser.readStudentAccessPeriod(line);
+                loadReport.record(SETTINGS_FILE, 1, 0, System.nanoTime() - startTime);
+                return accessPeriod;
 
             } catch (IOException e) {
                 throw new MyStarsException(READ_ERROR);
@@ -396,24 +868,89 @@ public class Storage {
      * @param courses Courses to save.
      * @throws MyStarsException If there is issue saving to file.
      */
-    public void saveCourses(CourseList courses) throws MyStarsException {
-        String coursesString = courses.getCourses().stream().map(Course::getStorageString)
-                .collect(Collectors.joining(System.lineSeparator()));
+    @Override
+    public synchronized void saveCourses(CourseList courses) throws MyStarsException {
+        // Changes are taken before courses are written, so changes made meanwhile are journaled at least once.
+        IdentityHashMap<Course, ArrayList<String>> changes = courses.takePendingChanges();
+        IdentityHashMap<Course, SerialisedCourse> serialised = new IdentityHashMap<>();
+        StringJoiner coursesString = new StringJoiner(System.lineSeparator());
+        StringJoiner registeredString = new StringJoiner(System.lineSeparator());
+        StringJoiner waitlistedString = new StringJoiner(System.lineSeparator());
+        for (Course course : courses.getCourses()) {
+            SerialisedCourse lines = serialisedCourses.get(course);
+            if (lines == null || !lines.isCurrent(course)) {
+                lines = new SerialisedCourse(course);
+            }
+            serialised.put(course, lines);
 
-        String coursesFileContent = COURSES_FORMAT + System.lineSeparator() + coursesString;
-        writeToFile(coursesFileContent, COURSES_FILE);
+            coursesString.add(lines.getCourseLine());
+            if (lines.getRegisteredLine() != null) {
+                registeredString.add(lines.getRegisteredLine());
+            }
+            if (lines.getWaitlistedLine() != null) {
+                waitlistedString.add(lines.getWaitlistedLine());
+            }
+        }
 
-        String registeredString = courses.getCourses().stream().filter(Course::isThereRegisteredStudents)
-                .map(Course::getRegisteredFormattedString).collect(Collectors.joining(System.lineSeparator()));
+        String coursesFileContent = COURSES_FORMAT + System.lineSeparator() + coursesString;
 
         String registeredFileContent = REGISTERED_FORMAT + System.lineSeparator() + registeredString;
-        writeToFile(registeredFileContent, REGISTERED_FILE);
-
-        String waitlistedString = courses.getCourses().stream().filter(Course::isThereWaitlistedStudents)
-                .map(Course::getWaitlistedFormattedString).collect(Collectors.joining(System.lineSeparator()));
 
         String waitlistedFileContent = WAITLISTED_FORMAT + System.lineSeparator() + waitlistedString;
-        writeToFile(waitlistedFileContent, WAITLISTED_FILE);
+
+        WriteBatch batch = new WriteBatch();
+        batch.commit(new String[]{COURSES_FILE, REGISTERED_FILE, WAITLISTED_FILE, JOURNAL_FILE},
+                new String[]{coursesFileContent, registeredFileContent, waitlistedFileContent, JOURNAL_FORMAT});
+        batch.onFailure(() -> courses.restorePendingChanges(changes));
+        try {
+            write(batch);
+        } catch (MyStarsException e) {
+            courses.restorePendingChanges(changes);
+            throw e;
+        }
+        journalSize = 0;
+        serialisedCourses = serialised;
+    }
+
+    /**
+     * Saves enrolment changes of courses by appending them to journal.
+     * Journal is compacted into data files when it grows too large.
+     * Changes are put back to be saved again if they fail to be written, even by the writer thread.
+     *
+     * @param courses List of courses.
+     * @throws MyStarsException If there is issue saving to file.
+     */
+    @Override
+    public synchronized void saveEnrolments(CourseList courses) throws MyStarsException {
+        IdentityHashMap<Course, ArrayList<String>> changes = courses.takePendingChanges();
+        StringJoiner entries = new StringJoiner(System.lineSeparator());
+        int noOfEntries = 0;
+        for (ArrayList<String> courseChanges : changes.values()) {
+            for (String change : courseChanges) {
+                entries.add(change);
+                noOfEntries++;
+            }
+        }
+
+        if (noOfEntries == 0) {
+            return;
+        }
+
+        try {
+            if (journalSize + noOfEntries > JOURNAL_COMPACTION_THRESHOLD) {
+                saveCourses(courses);
+                return;
+            }
+
+            WriteBatch batch = new WriteBatch();
+            batch.append(JOURNAL_FILE, entries.toString());
+            batch.onFailure(() -> courses.restorePendingChanges(changes));
+            write(batch);
+        } catch (MyStarsException e) {
+            courses.restorePendingChanges(changes);
+            throw e;
+        }
+        journalSize += noOfEntries;
     }
 
     /**
@@ -422,10 +959,13 @@ public class Storage {
      * @param accessPeriod Access period.
      * @throws MyStarsException If there is issue saving file.
      */
+    @Override
     public void saveAccessPeriod(LocalDateTime[] accessPeriod) throws MyStarsException {
         String accessPeriodString = SETTINGS_FORMAT + System.lineSeparator() + accessPeriod[0]
                 + Parser.LINE_SEPARATOR + accessPeriod[1];
-        writeToFile(accessPeriodString, SETTINGS_FILE);
+        WriteBatch batch = new WriteBatch();
+        batch.commit(new String[]{SETTINGS_FILE}, new String[]{accessPeriodString});
+        write(batch);
     }
 
     /**
@@ -434,34 +974,490 @@ public class Storage {
      * @param newStudent Student to append to file.
      * @throws MyStarsException If there is issue saving file.
      */
+    @Override
     public void saveStudent(Student newStudent) throws MyStarsException {
-        appendToFile(newStudent.getFormattedString(), STUDENTS_FILE);
-        appendToFile(newStudent.getFormattedUserInfo(), USERS_FILE);
+        WriteBatch batch = new WriteBatch();
+        batch.append(STUDENTS_FILE, newStudent.getFormattedString());
+        batch.append(USERS_FILE, newStudent.getFormattedUserInfo());
+        write(batch);
+    }
+
+    /**
+     * Writes batch, either now or, if saves are grouped, by the writer thread within the save window.
+     *
+     * @param batch Writes to do.
+     * @throws MyStarsException If there is issue writing, or an earlier grouped write failed.
+     */
+    private void write(WriteBatch batch) throws MyStarsException {
+        if (SAVE_WINDOW_MILLIS <= 0) {
+            writeBatch(batch);
+            return;
+        }
+
+        synchronized (writeLock) {
+            throwWriteError();
+            if (queuedWrites == null) {
+                queuedWrites = new WriteBatch();
+            }
+            queuedWrites.add(batch);
+            noOfWritesQueued++;
+            if (writer == null) {
+                writer = new Thread(this::runWriter);
+                writer.setDaemon(true);
+                writer.start();
+            }
+            writeLock.notifyAll();
+        }
+    }
+
+    /**
+     * Saves notifications to outbox file, to be sent in the background.
+     * Saves so far are written first, so that notifications do not reach disk before the changes they describe.
+     *
+     * @param notifications Notifications to send.
+     * @throws MyStarsException If there is issue saving to file, or an earlier save failed.
+     */
+    @Override
+    public void saveNotifications(List<Notification> notifications) throws MyStarsException {
+        if (!notifications.isEmpty()) {
+            flush();
+        }
+        outbox.add(notifications);
+    }
+
+    /**
+     * Waits until all saves so far are written to disk.
+     *
+     * @throws MyStarsException If there is issue writing.
+     */
+    @Override
+    public void flush() throws MyStarsException {
+        if (SAVE_WINDOW_MILLIS <= 0) {
+            return;
+        }
+
+        synchronized (writeLock) {
+            long target = noOfWritesQueued;
+            while (noOfWritesDone < target) {
+                isFlushRequested = true;
+                writeLock.notifyAll();
+                try {
+                    writeLock.wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new MyStarsException(WRITE_ERROR);
+                }
+            }
+            throwWriteError();
+        }
+    }
+
+    /**
+     * Throws error of an earlier grouped write, once.
+     *
+     * @throws MyStarsException If an earlier grouped write failed.
+     */
+    private void throwWriteError() throws MyStarsException {
+        if (writeError != null) {
+            MyStarsException error = writeError;
+            writeError = null;
+            throw error;
+        }
+    }
+
+    /**
+     * Writes queued batches, waiting up to the save window after the first one for more to group with it.
+     * If a write fails, changes the batches were to save are put back while holding the storage lock, so callers
+     * waiting for this thread must not hold that lock.
+     */
+    private void runWriter() {
+        while (true) {
+            WriteBatch batch;
+            long noOfWrites;
+            synchronized (writeLock) {
+                try {
+                    while (queuedWrites == null) {
+                        writeLock.wait();
+                    }
+                    long deadline = System.currentTimeMillis() + SAVE_WINDOW_MILLIS;
+                    long remaining = SAVE_WINDOW_MILLIS;
+                    while (!isFlushRequested && remaining > 0) {
+                        writeLock.wait(remaining);
+                        remaining = deadline - System.currentTimeMillis();
+                    }
+                } catch (InterruptedException e) {
+                    return;
+                }
+                batch = queuedWrites;
+                noOfWrites = noOfWritesQueued;
+                queuedWrites = null;
+                isFlushRequested = false;
+            }
+
+            MyStarsException error = null;
+            try {
+                writeBatch(batch);
+            } catch (MyStarsException e) {
+                MyStars.logger.log(Level.WARNING, e.getMessage());
+                error = e;
+                synchronized (this) {
+                    batch.fail();
+                    // Journal entries of the batch may be partly written, so the next save rewrites the data files.
+                    journalSize = JOURNAL_COMPACTION_THRESHOLD;
+                }
+            }
+
+            synchronized (writeLock) {
+                if (error != null) {
+                    writeError = error;
+                }
+                noOfWritesDone = noOfWrites;
+                writeLock.notifyAll();
+            }
+        }
+    }
+
+    /**
+     * Writes batch to disk. Replaced files are committed together, before lines are appended.
+     *
+     * @param batch Writes to do.
+     * @throws MyStarsException If there is issue writing.
+     */
+    private void writeBatch(WriteBatch batch) throws MyStarsException {
+        if (!batch.getCommittedFiles().isEmpty()) {
+            commitFiles(batch.getCommittedFiles().keySet().toArray(new String[0]),
+                    batch.getCommittedFiles().values().toArray(new String[0]));
+        }
+
+        for (Map.Entry<String, StringJoiner> lines : batch.getAppendedLines().entrySet()) {
+            if (lines.getKey().equals(JOURNAL_FILE)) {
+                appendToJournal(lines.getValue() + System.lineSeparator());
+            } else {
+                appendToFile(lines.getValue().toString(), lines.getKey());
+            }
+        }
+    }
+
+    /**
+     * Loads snapshot if it is enabled and up to date with data files.
+     * Journal entries are already applied in snapshot, so they are not replayed again.
+     *
+     * @return Snapshot, null if snapshot is disabled, missing or out of date.
+     */
+    private synchronized Snapshot loadSnapshot() {
+        if (!IS_SNAPSHOT_ENABLED || isSnapshotRead) {
+            return snapshot;
+        }
+
+        isSnapshotRead = true;
+        Path path = folder.resolve(SNAPSHOT_FILE);
+        if (!Files.exists(path)) {
+            return null;
+        }
+
+        try {
+            long[] fingerprint = getFingerprint();
+            Snapshot snapshotRead = Snapshot.read(path);
+            if (snapshotRead != null && snapshotRead.isFresh(fingerprint)) {
+                snapshot = snapshotRead;
+                snapshotFingerprint = fingerprint;
+            }
+        } catch (IOException | MyStarsException e) {
+            MyStars.logger.log(Level.WARNING, SNAPSHOT_READ_ERROR);
+        }
+        return snapshot;
+    }
+
+    /**
+     * Saves snapshot of users, courses and enrolments, if snapshot is enabled and data files changed since the
+     * snapshot was last loaded or saved. Unsaved enrolment changes are saved first.
+     * Snapshots are saved one at a time, so that they do not write the same temporary file.
+     *
+     * @param courses List of courses.
+     * @param users   List of users.
+     * @throws MyStarsException If there is issue saving to file.
+     */
+    @Override
+    public void saveSnapshot(CourseList courses, UserList users) throws MyStarsException {
+        if (!IS_SNAPSHOT_ENABLED) {
+            return;
+        }
+
+        synchronized (snapshotLock) {
+            saveEnrolments(courses);
+            flush();
+            long[] fingerprint = getFingerprint();
+            if (Arrays.equals(fingerprint, snapshotFingerprint)) {
+                return;
+            }
+
+            createFolder();
+            Path tempPath = folder.resolve(SNAPSHOT_FILE + TEMP_SUFFIX);
+            writeAndForce(tempPath, Snapshot.write(fingerprint, users, courses), StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+            moveIntoPlace(tempPath, SNAPSHOT_FILE);
+            snapshotFingerprint = fingerprint;
+        }
+    }
+
+    /**
+     * Returns sizes and last modified times of the files that snapshot is taken from.
+     *
+     * @return Fingerprint of data files.
+     * @throws MyStarsException If there is problem reading file attributes.
+     */
+    private long[] getFingerprint() throws MyStarsException {
+        long[] fingerprint = new long[SNAPSHOT_SOURCE_FILES.length * 2];
+        for (int i = 0; i < SNAPSHOT_SOURCE_FILES.length; i++) {
+            Path path = folder.resolve(SNAPSHOT_SOURCE_FILES[i]);
+            try {
+                boolean isPresent = Files.exists(path);
+                fingerprint[i * 2] = isPresent ? Files.size(path) : -1;
+                fingerprint[i * 2 + 1] = isPresent ? Files.getLastModifiedTime(path).toMillis() : -1;
+            } catch (IOException e) {
+                throw new MyStarsException(READ_ERROR);
+            }
+        }
+        return fingerprint;
+    }
+
+    /**
+     * Recovers data files after an interrupted save.
+     * Files of the last committed generation are moved into place, while files of incomplete saves are deleted.
+     * Temporary files not named file.generation.tmp are left alone.
+     *
+     * @throws MyStarsException If there is problem recovering files.
+     */
+    public void recoverFiles() throws MyStarsException {
+        Path folderPath = folder;
+        if (!Files.exists(folderPath)) {
+            return;
+        }
+
+        generation = loadGeneration();
+
+        try (DirectoryStream<Path> tempPaths = Files.newDirectoryStream(folderPath, "*" + TEMP_SUFFIX)) {
+            for (Path tempPath : tempPaths) {
+                String tempFile = tempPath.getFileName().toString();
+                String fileAndGeneration = tempFile.substring(0, tempFile.length() - TEMP_SUFFIX.length());
+                int separatorIndex = fileAndGeneration.lastIndexOf('.');
+                if (separatorIndex <= 0 || !fileAndGeneration.substring(separatorIndex + 1).matches("\\d+")) {
+                    MyStars.logger.log(Level.INFO, SKIP_TEMP_MESSAGE + tempFile);
+                    continue;
+                }
+                String file = fileAndGeneration.substring(0, separatorIndex);
+                String tempGeneration = fileAndGeneration.substring(separatorIndex + 1);
+
+                if (tempGeneration.equals(Integer.toString(generation))) {
+                    MyStars.logger.log(Level.WARNING, RECOVER_MESSAGE + file);
+                    moveIntoPlace(tempPath, file);
+                } else {
+                    Files.delete(tempPath);
+                }
+            }
+        } catch (IOException e) {
+            throw new MyStarsException(READ_ERROR);
+        }
+        recoverJournal();
+        forceFolder();
+    }
+
+    /**
+     * Cuts journal back to its last complete line, so that an entry torn by a crash is not replayed and the next
+     * entry starts on a line of its own. Journal without a complete line is deleted, as its format line is torn.
+     *
+     * @throws MyStarsException If there is problem recovering journal.
+     */
+    private void recoverJournal() throws MyStarsException {
+        Path path = folder.resolve(JOURNAL_FILE);
+        if (!Files.exists(path)) {
+            return;
+        }
+
+        try {
+            byte[] content = Files.readAllBytes(path);
+            int lastLineEnd = content.length - 1;
+            while (lastLineEnd >= 0 && content[lastLineEnd] != '\n') {
+                lastLineEnd--;
+            }
+            if (content.length > 0 && lastLineEnd == content.length - 1) {
+                return;
+            }
+
+            MyStars.logger.log(Level.WARNING, TORN_JOURNAL_MESSAGE);
+            if (lastLineEnd < 0) {
+                Files.delete(path);
+                return;
+            }
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+                channel.truncate(lastLineEnd + 1);
+                channel.force(false);
+            }
+        } catch (IOException e) {
+            throw new MyStarsException(WRITE_ERROR);
+        }
+    }
+
+    /**
+     * Loads generation of last committed save.
+     *
+     * @return Generation of last committed save, 0 if nothing is committed yet.
+     * @throws MyStarsException If there is problem reading file.
+     */
+    private int loadGeneration() throws MyStarsException {
+        Path path = folder.resolve(COMMIT_FILE);
+        if (!Files.exists(path)) {
+            return 0;
+        }
+
+        try (BufferedReader bufferedReader = Files.newBufferedReader(path)) {
+            bufferedReader.readLine();
+
+            String line = bufferedReader.readLine();
+            return line == null ? 0 : Integer.parseInt(line.trim());
+        } catch (IOException | NumberFormatException e) {
+            throw new MyStarsException(READ_ERROR);
+        }
+    }
+
+    /**
+     * Writes content of several files as one generation.
+     * All files are written and forced to temporary files before the commit marker is replaced,
+     * so either all files or none of them are seen after a crash.
+     *
+     * @param files        Filenames to write to.
+     * @param fileContents String content to write, in the same order as the filenames.
+     * @throws MyStarsException If there is problem writing files.
+     */
+    private void commitFiles(String[] files, String[] fileContents) throws MyStarsException {
+        createFolder();
+
+        int newGeneration = generation + 1;
+        Path[] tempPaths = new Path[files.length];
+        for (int i = 0; i < files.length; i++) {
+            tempPaths[i] = folder.resolve(files[i] + "." + newGeneration + TEMP_SUFFIX);
+            writeAndForce(tempPaths[i], fileContents[i] + System.lineSeparator(), StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        }
+
+        // Commit point, files of this generation are recovered from here onwards.
+        writeToFile(COMMIT_FORMAT + System.lineSeparator() + newGeneration, COMMIT_FILE);
+        generation = newGeneration;
+
+        for (int i = 0; i < files.length; i++) {
+            moveIntoPlace(tempPaths[i], files[i]);
+        }
+        forceFolder();
     }
 
     /**
-     * Writes content to file.
+     * Writes content to file, replacing the file atomically.
      *
      * @param fileContent String content to write.
      * @param file        Filename to write to.
      * @throws MyStarsException If there is problem writing files.
      */
     private void writeToFile(String fileContent, String file) throws MyStarsException {
-        Path folderPath = Paths.get(FOLDER);
-        if (!Files.exists(folderPath) && !new File(FOLDER).mkdir()) {
-            throw new MyStarsException(DIRECTORY_ERROR);
+        createFolder();
+
+        Path tempPath = folder.resolve(file + TEMP_SUFFIX);
+        writeAndForce(tempPath, fileContent + System.lineSeparator(), StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        moveIntoPlace(tempPath, file);
+        forceFolder();
+    }
+
+    /**
+     * Appends entries to journal and forces them to disk.
+     *
+     * @param entries Journal entries to append.
+     * @throws MyStarsException If there is problem writing journal.
+     */
+    private void appendToJournal(String entries) throws MyStarsException {
+        createFolder();
+
+        Path filePath = folder.resolve(JOURNAL_FILE);
+        String content = Files.exists(filePath) ? entries : JOURNAL_FORMAT + System.lineSeparator() + entries;
+        writeAndForce(filePath, content, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.APPEND);
+    }
+
+    /**
+     * Writes content to path and forces it to disk.
+     *
+     * @param path        Path to write to.
+     * @param fileContent String content to write.
+     * @param options     Options to open file with.
+     * @throws MyStarsException If there is problem writing file.
+     */
+    private void writeAndForce(Path path, String fileContent, OpenOption... options) throws MyStarsException {
+        writeAndForce(path, fileContent.getBytes(StandardCharsets.UTF_8), options);
+    }
+
+    /**
+     * Writes bytes to path and forces them to disk.
+     *
+     * @param path        Path to write to.
+     * @param fileContent Bytes to write.
+     * @param options     Options to open file with.
+     * @throws MyStarsException If there is problem writing file.
+     */
+    private void writeAndForce(Path path, byte[] fileContent, OpenOption... options) throws MyStarsException {
+        try (FileChannel channel = FileChannel.open(path, options)) {
+            ByteBuffer buffer = ByteBuffer.wrap(fileContent);
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(false);
+        } catch (IOException e) {
+            throw new MyStarsException(WRITE_ERROR);
         }
+    }
 
-        Path filePath = Paths.get(FOLDER, file);
+    /**
+     * Moves temporary file over file atomically.
+     *
+     * @param tempPath Path of temporary file.
+     * @param file     Filename to replace.
+     * @throws MyStarsException If there is problem moving file.
+     */
+    private void moveIntoPlace(Path tempPath, String file) throws MyStarsException {
+        Path filePath = folder.resolve(file);
         try {
-            BufferedWriter bufferedWriter = Files.newBufferedWriter(filePath);
-            bufferedWriter.write(fileContent + System.lineSeparator());
-            bufferedWriter.close();
+            try {
+                Files.move(tempPath, filePath, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tempPath, filePath, StandardCopyOption.REPLACE_EXISTING);
+            }
         } catch (IOException e) {
             throw new MyStarsException(WRITE_ERROR);
         }
     }
 
+    /**
+     * Creates folder if it does not exist.
+     *
+     * @throws MyStarsException If there is problem creating folder.
+     */
+    private void createFolder() throws MyStarsException {
+        Path folderPath = folder;
+        if (!Files.exists(folderPath) && !folderPath.toFile().mkdir()) {
+            throw new MyStarsException(DIRECTORY_ERROR);
+        }
+    }
+
+    /**
+     * Forces folder entries to disk, so that renamed files survive a crash.
+     * Not all platforms allow this, in which case it is skipped.
+     */
+    private void forceFolder() {
+        try (FileChannel channel = FileChannel.open(folder, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException e) {
+            MyStars.logger.log(Level.FINE, e.getMessage());
+        }
+    }
+
     /**
      * Appends content to file.
      *
@@ -470,8 +1466,8 @@ public class Storage {
      * @throws MyStarsException If there is problem writing files.
      */
     private void appendToFile(String fileContent, String file) throws MyStarsException {
-        Path folderPath = Paths.get(FOLDER);
-        Path filePath = Paths.get(FOLDER, file);
+        Path folderPath = folder;
+        Path filePath = folder.resolve(file);
 
         if (!(Files.exists(folderPath) && Files.exists(filePath))) {
             writeToFile(fileContent, file);
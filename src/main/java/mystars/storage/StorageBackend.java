@@ -0,0 +1,89 @@
+package mystars.storage;
+
+import mystars.data.course.CourseList;
+import mystars.data.exception.MyStarsException;
+import mystars.data.sender.Notification;
+import mystars.data.user.Student;
+import mystars.data.user.UserList;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Interface for where MySTARS loads and saves its data.
+ */
+public interface StorageBackend {
+
+    /**
+     * Loads courses, users, access period, registered and waitlisted students.
+     *
+     * @return Courses, users and access period loaded.
+     * @throws MyStarsException If there is issue loading data.
+     */
+    Bootstrap bootstrap() throws MyStarsException;
+
+    /**
+     * Returns report of data loaded.
+     *
+     * @return Load report.
+     */
+    LoadReport getLoadReport();
+
+    /**
+     * Saves courses, with their registered and waitlisted students.
+     *
+     * @param courses Courses to save.
+     * @throws MyStarsException If there is issue saving.
+     */
+    void saveCourses(CourseList courses) throws MyStarsException;
+
+    /**
+     * Saves enrolment changes of courses that are not saved yet.
+     *
+     * @param courses List of courses.
+     * @throws MyStarsException If there is issue saving.
+     */
+    void saveEnrolments(CourseList courses) throws MyStarsException;
+
+    /**
+     * Saves notifications to outbox, to be sent in the background.
+     * Notifications saved before and not sent yet are sent too. Saves so far are made durable first, so that
+     * notifications are never saved before the changes they describe.
+     *
+     * @param notifications Notifications to send.
+     * @throws MyStarsException If there is issue saving, or an earlier save failed.
+     */
+    void saveNotifications(List<Notification> notifications) throws MyStarsException;
+
+    /**
+     * Saves access period.
+     *
+     * @param accessPeriod Access period.
+     * @throws MyStarsException If there is issue saving.
+     */
+    void saveAccessPeriod(LocalDateTime[] accessPeriod) throws MyStarsException;
+
+    /**
+     * Saves new student.
+     *
+     * @param newStudent Student to save.
+     * @throws MyStarsException If there is issue saving.
+     */
+    void saveStudent(Student newStudent) throws MyStarsException;
+
+    /**
+     * Saves snapshot of all data for faster loading, if supported.
+     *
+     * @param courses List of courses.
+     * @param users   List of users.
+     * @throws MyStarsException If there is issue saving.
+     */
+    void saveSnapshot(CourseList courses, UserList users) throws MyStarsException;
+
+    /**
+     * Waits until all saves so far are durable.
+     *
+     * @throws MyStarsException If there is issue saving.
+     */
+    void flush() throws MyStarsException;
+}
@@ -0,0 +1,101 @@
+package mystars.storage;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.StringJoiner;
+
+/**
+ * Writes to data files waiting to be done together.
+ * Files replaced by a later write no longer need lines appended to them by earlier writes.
+ */
+class WriteBatch {
+
+    /**
+     * Content of files to replace together, by filename.
+     */
+    private final LinkedHashMap<String, String> committedFiles = new LinkedHashMap<>();
+
+    /**
+     * Lines to append to files, by filename.
+     */
+    private final LinkedHashMap<String, StringJoiner> appendedLines = new LinkedHashMap<>();
+
+    /**
+     * Actions undoing the effects of the batch being queued, run if the batch fails to be written.
+     */
+    private final ArrayList<Runnable> failureActions = new ArrayList<>();
+
+    /**
+     * Adds files to replace together.
+     *
+     * @param files        Filenames to replace.
+     * @param fileContents Content of files, in the same order as the filenames.
+     */
+    void commit(String[] files, String[] fileContents) {
+        for (int i = 0; i < files.length; i++) {
+            committedFiles.put(files[i], fileContents[i]);
+            appendedLines.remove(files[i]);
+        }
+    }
+
+    /**
+     * Adds lines to append to file.
+     *
+     * @param file  Filename to append to.
+     * @param lines Lines to append, without trailing line separator.
+     */
+    void append(String file, String lines) {
+        appendedLines.computeIfAbsent(file, key -> new StringJoiner(System.lineSeparator())).add(lines);
+    }
+
+    /**
+     * Adds action to run if batch fails to be written, such as putting back changes the batch was to save.
+     *
+     * @param action Action to run.
+     */
+    void onFailure(Runnable action) {
+        failureActions.add(action);
+    }
+
+    /**
+     * Runs actions of failed batch, latest first, so that earlier changes put back end up before later ones.
+     */
+    void fail() {
+        for (int i = failureActions.size() - 1; i >= 0; i--) {
+            failureActions.get(i).run();
+        }
+    }
+
+    /**
+     * Adds writes of a later batch to this batch.
+     *
+     * @param batch Later batch.
+     */
+    void add(WriteBatch batch) {
+        commit(batch.committedFiles.keySet().toArray(new String[0]),
+                batch.committedFiles.values().toArray(new String[0]));
+        for (Map.Entry<String, StringJoiner> lines : batch.appendedLines.entrySet()) {
+            append(lines.getKey(), lines.getValue().toString());
+        }
+        failureActions.addAll(batch.failureActions);
+    }
+
+    /**
+     * Returns content of files to replace together, by filename.
+     *
+     * @return Content of files by filename.
+     */
+    LinkedHashMap<String, String> getCommittedFiles() {
+        return committedFiles;
+    }
+
+    /**
+     * Returns lines to append to files, by filename.
+     *
+     * @return Lines to append by filename.
+     */
+    LinkedHashMap<String, StringJoiner> getAppendedLines() {
+        return appendedLines;
+    }
+}
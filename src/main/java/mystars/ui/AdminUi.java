@@ -1,5 +1,6 @@
 package mystars.ui;
 
+import mystars.Session;
 import mystars.data.course.Course;
 import mystars.data.course.lesson.Lesson;
 import mystars.data.course.lesson.LessonList;
@@ -16,6 +17,7 @@ import mystars.data.valid.CourseCodeValidChecker;
 import mystars.data.valid.DateTimeValidChecker;
 import mystars.data.valid.DayOfWeekValidChecker;
 import mystars.data.valid.EmailValidChecker;
+import mystars.data.valid.FileValidChecker;
 import mystars.data.valid.GenderValidChecker;
 import mystars.data.valid.InputValidChecker;
 import mystars.data.valid.LessonTypeValidChecker;
@@ -26,11 +28,13 @@ import mystars.data.valid.SchoolValidChecker;
 import mystars.data.valid.TimeValidChecker;
 import mystars.data.valid.WeekValidChecker;
 import mystars.data.valid.YearOfStudyValidChecker;
+import mystars.parser.Parser;
 
 import java.time.DayOfWeek;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.time.format.DateTimeFormatter;
+import java.util.List;
 
 /**
  * Admin user interface.
@@ -47,14 +51,24 @@ public class AdminUi extends Ui {
      */
     private static final String MENU = String.join(System.lineSeparator(), "1. Edit student access period",
             "2. Add a student", "3. Add/Update a course", "4. Check available slot for an index number",
-            "5. Print student list by index number", "6. Print student list by course", "7. Logout",
-            "Please select an item:");
+            "5. Print student list by index number", "6. Print student list by course",
+            "7. Import courses from file", "8. Logout", "Please select an item:");
 
     /**
      * Welcome message.
      */
     private static final String WELCOME_MESSAGE = "Hello Admin!";
 
+    /**
+     * Initializes Ui with session and parser.
+     *
+     * @param session Session of admin.
+     * @param parser  Parser object.
+     */
+    public AdminUi(Session session, Parser parser) {
+        super(session, parser);
+    }
+
     /**
      * Prints menu.
      */
@@ -123,34 +137,30 @@ public class AdminUi extends Ui {
     /**
      * Prints student list of an index.
      *
-     * @param users       List of users.
-     * @param indexNumber Index number to filter.
+     * @param students    Students registered in index.
+     * @param indexNumber Index number of students.
      */
-    public void showStudentListByIndex(UserList users, String indexNumber) {
+    public void showStudentListByIndex(List<Student> students, String indexNumber) {
         printNicely();
         printNicely("Here is the list of students of index " + indexNumber + ":");
         printNicely(STUDENT_HEADER);
-        for (User user : users.getUsers()) {
-            if (user instanceof Student && ((Student) user).getRegisteredCourses().isIndexNoInList(indexNumber)) {
-                printNicely(user.toString());
-            }
+        for (Student student : students) {
+            printNicely(student.toString());
         }
     }
 
     /**
      * Prints student list of a course code.
      *
-     * @param users      List of users.
-     * @param courseCode Course code to filter.
+     * @param students   Students registered in course.
+     * @param courseCode Course code of students.
      */
-    public void showStudentListByCourse(UserList users, String courseCode) {
+    public void showStudentListByCourse(List<Student> students, String courseCode) {
         printNicely();
         printNicely("Here is the list of students of course " + courseCode + ":");
         printNicely(STUDENT_HEADER);
-        for (User user : users.getUsers()) {
-            if (user instanceof Student && ((Student) user).getRegisteredCourses().isCourseInList(courseCode)) {
-                printNicely(user.toString());
-            }
+        for (Student student : students) {
+            printNicely(student.toString());
         }
     }
 
@@ -192,6 +202,26 @@ public class AdminUi extends Ui {
         return newCourse;
     }
 
+    /**
+     * Gets path of file of courses to import from user.
+     *
+     * @return Path of file.
+     */
+    public String getImportPath() {
+        return getUserInput("Enter path of file to import (courses.txt format, or .csv with the same fields):",
+                new FileValidChecker());
+    }
+
+    /**
+     * Prints number of courses imported.
+     *
+     * @param noOfCourses Number of courses added or updated.
+     */
+    public void showImportedCourses(int noOfCourses) {
+        printNicely();
+        printNicely("Successfully added/updated " + noOfCourses + " course index(es).");
+    }
+
     /**
      * Gets course details with input from user.
      *
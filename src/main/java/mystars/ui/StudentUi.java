@@ -1,5 +1,6 @@
 package mystars.ui;
 
+import mystars.Session;
 import mystars.data.course.Course;
 import mystars.data.course.CourseList;
 import mystars.data.user.Student;
@@ -23,19 +24,13 @@ public class StudentUi extends Ui {
     private static final String WELCOME_MESSAGE = "Hello Student!";
 
     /**
-     * Initializes Ui with parser.
+     * Initializes Ui with session and parser.
      *
-     * @param parser Parser object.
+     * @param session Session of student.
+     * @param parser  Parser object.
      */
-    public StudentUi(Parser parser) {
-        super(parser);
-    }
-
-    /**
-     * Empty constructor.
-     */
-    public StudentUi() {
-
+    public StudentUi(Session session, Parser parser) {
+        super(session, parser);
     }
 
     /**
@@ -83,6 +78,15 @@ public class StudentUi extends Ui {
         showCourse(course);
     }
 
+    /**
+     * Prints position of student in waitlist.
+     *
+     * @param position Position from 1 at the head.
+     */
+    public void showWaitlistPosition(int position) {
+        printNicely("Position on waitlist: " + position);
+    }
+
     /**
      * Prints deleted course.
      *
@@ -138,10 +142,8 @@ public class StudentUi extends Ui {
         printNicely();
         printNicely("Here are the indexes' vacancies/waitlist sizes");
         printNicely(String.format(Course.VACANCY_FORMAT, "Index", "Vacancies", "Waitlist Size"));
-        for (Course course : courses.getCourses()) {
-            if (course.getCourseCode().equals(courseCode)) {
-                printNicely(course.getVacancyString());
-            }
+        for (Course course : courses.getCoursesByCode(courseCode)) {
+            printNicely(course.getVacancyString());
         }
     }
 }
@@ -1,5 +1,6 @@
 package mystars.ui;
 
+import mystars.Session;
 import mystars.data.course.Course;
 import mystars.data.course.CourseList;
 import mystars.data.valid.CourseCodeValidChecker;
@@ -8,18 +9,11 @@ import mystars.data.valid.OptionValidChecker;
 import mystars.data.valid.ValidChecker;
 import mystars.parser.Parser;
 
-import java.util.Scanner;
-
 /**
- * User interface class.
+ * User interface class, reading from and printing to the streams of a session.
  */
 public abstract class Ui {
 
-    /**
-     * Scanner for user input.
-     */
-    static final Scanner IN = new Scanner(System.in);
-
     /**
      * Dotted line string.
      */
@@ -51,24 +45,24 @@ public abstract class Ui {
             "AU");
 
     /**
-     * Parser to parse user input.
+     * Session of user.
      */
-    static Parser parser;
+    private final Session session;
 
     /**
-     * Initializes Ui with parser.
-     *
-     * @param parser Parser object.
+     * Parser to parse user input.
      */
-    Ui(Parser parser) {
-        Ui.parser = parser;
-    }
+    final Parser parser;
 
     /**
-     * Empty constructor.
+     * Initializes Ui with session and parser.
+     *
+     * @param session Session of user.
+     * @param parser  Parser object.
      */
-    Ui() {
-
+    Ui(Session session, Parser parser) {
+        this.session = session;
+        this.parser = parser;
     }
 
     /**
@@ -107,7 +101,7 @@ public abstract class Ui {
     public String readCommand() {
         greetUser();
         showMenu();
-        String fullCommand = IN.nextLine();
+        String fullCommand = session.readLine();
         showLine();
         return fullCommand;
     }
@@ -118,7 +112,7 @@ public abstract class Ui {
      * @param string String to print.
      */
     void printNicely(String string) {
-        System.out.println(string);
+        session.println(string);
     }
 
     /**
@@ -135,7 +129,7 @@ public abstract class Ui {
      */
     private char[] readUsername() {
         printNicely("Enter Username:");
-        return IN.nextLine().replaceAll(Parser.ESCAPED_LINE_SEPARATOR, "").toUpperCase().toCharArray();
+        return session.readLine().replaceAll(Parser.ESCAPED_LINE_SEPARATOR, "").toUpperCase().toCharArray();
     }
 
     /**
@@ -145,12 +139,7 @@ public abstract class Ui {
      */
     private char[] readPassword() {
         printNicely("Enter Password:");
-
-        if (System.console() == null) {
-            return IN.nextLine().toCharArray();
-        }
-
-        return System.console().readPassword();
+        return session.readPassword();
     }
 
     /**
@@ -212,14 +201,13 @@ public abstract class Ui {
      * @param indexNumber Index number of course to show vacancy.
      */
     public void showVacancy(CourseList courses, String indexNumber) {
-        for (Course course : courses.getCourses()) {
-            if (course.getIndexNumber().equals(indexNumber)) {
-                printNicely("The number of vacancy is " + course.getVacancies() + ".");
-                printNicely("The waitlist size is " + course.getWaitlistedSize() + ".");
-                return;
-            }
+        Course course = courses.getCourseByIndex(indexNumber);
+        if (course == null) {
+            printNicely("Index not found!");
+            return;
         }
-        printNicely("Index not found!");
+        printNicely("The number of vacancy is " + course.getVacancies() + ".");
+        printNicely("The waitlist size is " + course.getWaitlistedSize() + ".");
     }
 
     /**
@@ -254,11 +242,11 @@ public abstract class Ui {
      */
     String getUserInput(String message, ValidChecker validChecker) {
         printNicely(message);
-        String line = IN.nextLine().trim();
+        String line = session.readLine().trim();
         while (!validChecker.isValid(line)) {
             printNicely("Invalid input!");
             printNicely(message);
-            line = IN.nextLine().trim();
+            line = session.readLine().trim();
         }
         return line;
     }
@@ -0,0 +1,44 @@
+package mystars.data.course;
+
+import mystars.data.course.lesson.LessonList;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class CourseTest {
+
+    @Test
+    void tryClaimVacancy_concurrentClaims_claimsEachVacancyOnce() throws Exception {
+        Course course = new Course("CZ2001", "SCSE", "10001", 10, 3, new LessonList());
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<Boolean>> claims = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            claims.add(executor.submit(course::tryClaimVacancy));
+        }
+        int noOfClaims = 0;
+        for (Future<Boolean> claim : claims) {
+            noOfClaims += claim.get() ? 1 : 0;
+        }
+        executor.shutdown();
+
+        assertEquals(10, noOfClaims);
+        assertEquals(0, course.getVacancies());
+        assertFalse(course.isVacancy());
+    }
+
+    @Test
+    void releaseVacancy_afterClaim_restoresVacancy() {
+        Course course = new Course("CZ2001", "SCSE", "10001", 1, 3, new LessonList());
+        assertTrue(course.tryClaimVacancy());
+        course.releaseVacancy();
+        assertEquals(1, course.getVacancies());
+    }
+}
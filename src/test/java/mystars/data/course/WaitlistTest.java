@@ -0,0 +1,72 @@
+package mystars.data.course;
+
+import mystars.data.shared.Gender;
+import mystars.data.user.Student;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+public class WaitlistTest {
+
+    @Test
+    void getPosition_afterRemovingAhead_movesUp() {
+        Waitlist waitlist = new Waitlist();
+        Student first = studentOf(1);
+        Student second = studentOf(2);
+        Student third = studentOf(3);
+        waitlist.add(first);
+        waitlist.add(second);
+        waitlist.add(third);
+
+        waitlist.remove(second);
+
+        assertEquals(2, waitlist.getPosition(third));
+        assertEquals(third, waitlist.get(1));
+        assertEquals(0, waitlist.getPosition(second));
+    }
+
+    @Test
+    void add_duplicateStudent_returnsFalse() {
+        Waitlist waitlist = new Waitlist();
+        waitlist.add(studentOf(1));
+        assertFalse(waitlist.add(studentOf(1)));
+        assertEquals(1, waitlist.size());
+    }
+
+    @Test
+    void randomAddsAndRemoves_matchList() {
+        Random random = new Random(2020);
+        Waitlist waitlist = new Waitlist();
+        List<Student> expected = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            Student student = studentOf(random.nextInt(300));
+            if (random.nextBoolean()) {
+                if (!expected.contains(student)) {
+                    expected.add(student);
+                }
+                waitlist.add(student);
+            } else {
+                expected.remove(student);
+                waitlist.remove(student);
+            }
+        }
+
+        assertEquals(expected, waitlist.toList());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i), waitlist.get(i));
+            assertEquals(i + 1, waitlist.getPosition(expected.get(i)));
+        }
+        assertNull(waitlist.get(expected.size()));
+    }
+
+    private Student studentOf(int id) {
+        return new Student("Student " + id, "U" + id, Gender.M, "Singaporean", "USER" + id, "CSC", 1,
+                "user" + id + "@e.ntu.edu.sg");
+    }
+}
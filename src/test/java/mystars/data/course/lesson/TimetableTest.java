@@ -0,0 +1,50 @@
+package mystars.data.course.lesson;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TimetableTest {
+
+    @Test
+    void isOverlap_clash_returnsTrue() {
+        assertTrue(timetableOf("09:30", "10:30", DayOfWeek.MONDAY, Week.BOTH)
+                .isOverlap(timetableOf("10:00", "11:00", DayOfWeek.MONDAY, Week.ODD)));
+    }
+
+    @Test
+    void isOverlap_backToBack_returnsFalse() {
+        assertFalse(timetableOf("09:30", "10:30", DayOfWeek.MONDAY, Week.BOTH)
+                .isOverlap(timetableOf("10:30", "11:30", DayOfWeek.MONDAY, Week.BOTH)));
+    }
+
+    @Test
+    void isOverlap_sameTimeDifferentWeek_returnsFalse() {
+        assertFalse(timetableOf("09:30", "10:30", DayOfWeek.SUNDAY, Week.EVEN)
+                .isOverlap(timetableOf("09:30", "10:30", DayOfWeek.SUNDAY, Week.ODD)));
+    }
+
+    @Test
+    void isClash_offSlotBoundaryNoClash_returnsFalse() {
+        LessonList lessons = new LessonList();
+        lessons.addLesson(new Lesson(LessonType.LEC, "LT2", LocalTime.parse("09:00"), LocalTime.parse("10:05"),
+                DayOfWeek.MONDAY, Week.BOTH, "CS2"));
+        LessonList otherLessons = new LessonList();
+        otherLessons.addLesson(new Lesson(LessonType.TUT, "TR1", LocalTime.parse("10:05"), LocalTime.parse("11:00"),
+                DayOfWeek.MONDAY, Week.BOTH, "CS1"));
+        assertFalse(lessons.getTimetable().isExact());
+        assertTrue(lessons.getTimetable().isOverlap(otherLessons.getTimetable()));
+        assertFalse(lessons.isClash(otherLessons));
+    }
+
+    private Timetable timetableOf(String startTime, String endTime, DayOfWeek day, Week week) {
+        Timetable timetable = new Timetable();
+        timetable.addLesson(new Lesson(LessonType.LEC, "LT2", LocalTime.parse(startTime), LocalTime.parse(endTime),
+                day, week, "CS2"));
+        return timetable;
+    }
+}
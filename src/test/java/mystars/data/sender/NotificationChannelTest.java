@@ -0,0 +1,110 @@
+package mystars.data.sender;
+
+import mystars.data.exception.MyStarsException;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class NotificationChannelTest {
+
+    @Test
+    void send_slowSender_failsAfterTimeout() {
+        NotificationChannel channel = new NotificationChannel("slow", email -> notification -> {
+            try {
+                Thread.sleep(5000);
+            } catch (InterruptedException e) {
+                throw new MyStarsException("Interrupted!");
+            }
+        }, 50, 1);
+
+        ExecutionException e = assertThrows(ExecutionException.class, () -> channel.send("a@e.ntu.edu.sg",
+                List.of(new Notification("a@e.ntu.edu.sg", "CZ2001", "10001", "Tan"))).get());
+        channel.close();
+
+        assertTrue(e.getCause() instanceof TimeoutException);
+    }
+
+    @Test
+    void send_slowSender_interruptedAfterTimeout() throws Exception {
+        CountDownLatch interrupted = new CountDownLatch(1);
+        NotificationChannel channel = new NotificationChannel("slow", email -> notification -> {
+            try {
+                Thread.sleep(5000);
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+            }
+        }, 50, 1);
+
+        channel.send("a@e.ntu.edu.sg", List.of(new Notification("a@e.ntu.edu.sg", "CZ2001", "10001", "Tan")));
+
+        assertTrue(interrupted.await(2, TimeUnit.SECONDS));
+        channel.close();
+    }
+
+    @Test
+    void send_queuedBehindSlowSend_timeoutStartsWhenSendStarts() throws Exception {
+        NotificationChannel channel = new NotificationChannel("queued", email -> notification -> {
+            try {
+                Thread.sleep(300);
+            } catch (InterruptedException e) {
+                throw new MyStarsException("Interrupted!");
+            }
+        }, 1000, 1);
+        List<Notification> notifications = List.of(new Notification("a@e.ntu.edu.sg", "CZ2001", "10001", "Tan"));
+        List<CompletableFuture<Void>> results = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            results.add(channel.send("a@e.ntu.edu.sg", notifications));
+        }
+
+        for (CompletableFuture<Void> result : results) {
+            result.get();
+        }
+        channel.close();
+    }
+
+    @Test
+    void send_queueFull_failsWithRejection() {
+        CountDownLatch blocked = new CountDownLatch(1);
+        NotificationChannel channel = new NotificationChannel("blocked", email -> notification -> {
+            try {
+                blocked.await();
+            } catch (InterruptedException e) {
+                throw new MyStarsException("Interrupted!");
+            }
+        }, 60_000, 1);
+        List<Notification> notifications = List.of(new Notification("a@e.ntu.edu.sg", "CZ2001", "10001", "Tan"));
+        for (int i = 0; i <= 100; i++) {
+            channel.send("a@e.ntu.edu.sg", notifications);
+        }
+
+        ExecutionException e = assertThrows(ExecutionException.class, () -> channel.send("a@e.ntu.edu.sg",
+                notifications).get());
+        blocked.countDown();
+        channel.close();
+
+        assertTrue(e.getCause() instanceof RejectedExecutionException);
+    }
+
+    @Test
+    void send_failingSender_failsWithSenderError() {
+        NotificationChannel channel = new NotificationChannel("failing", email -> notification -> {
+            throw new MyStarsException(Sender.SEND_ERROR);
+        }, 5000, 1);
+
+        ExecutionException e = assertThrows(ExecutionException.class, () -> channel.send("a@e.ntu.edu.sg",
+                List.of(new Notification("a@e.ntu.edu.sg", "CZ2001", "10001", "Tan"))).get());
+        channel.close();
+
+        assertTrue(e.getCause() instanceof MyStarsException);
+    }
+}
@@ -0,0 +1,39 @@
+package mystars.data.sender;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class NotificationTemplateTest {
+
+    @Test
+    void render_promotion_matchesEmailBody() {
+        String expected = String.join(System.lineSeparator(), "Dear Tan,", System.lineSeparator()
+                + "We are pleased to inform you that there is an available slot in CZ2002, of index number "
+                + "10001 and you have been successfully registered for the course.", System.lineSeparator()
+                + "Regards,", "STARS Administrators");
+
+        assertEquals(expected, NotificationType.PROMOTION.getBody()
+                .render(new Notification("tan@e.ntu.edu.sg", "CZ2002", "10001", "Tan")));
+    }
+
+    @Test
+    void render_digest_repeatsSectionForEachNotification() {
+        NotificationTemplate template = NotificationTemplate.compile(
+                "{name}:{#each} {courseCode}/{indexNumber}{/each}.");
+
+        assertEquals("Tan: CZ2001/10001 CZ2002/20710.", template.render(List.of(
+                new Notification("tan@e.ntu.edu.sg", "CZ2001", "10001", "Tan"),
+                new Notification("tan@e.ntu.edu.sg", "CZ2002", "20710", "Tan"))));
+    }
+
+    @Test
+    void compile_invalidTemplate_throwsException() {
+        assertThrows(IllegalArgumentException.class, () -> NotificationTemplate.compile("Dear {matricNo},"));
+        assertThrows(IllegalArgumentException.class, () -> NotificationTemplate.compile("{#each}{courseCode}"));
+        assertThrows(IllegalArgumentException.class, () -> NotificationTemplate.compile("Dear {name"));
+    }
+}
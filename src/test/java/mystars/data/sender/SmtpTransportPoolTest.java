@@ -0,0 +1,140 @@
+package mystars.data.sender;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.Properties;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class SmtpTransportPoolTest {
+
+    @Test
+    void send_manyEmails_reusesOneConnection() throws Exception {
+        try (FakeSmtpServer server = new FakeSmtpServer()) {
+            SmtpTransportPool pool = new SmtpTransportPool(server.getProperties(), null, 2, 60_000);
+            for (int i = 0; i < 5; i++) {
+                new EmailSender("student" + i + "@e.ntu.edu.sg", pool).send("CZ2002", "10001", "Tan");
+            }
+            pool.close();
+
+            assertEquals(1, server.noOfConnections.get());
+            assertEquals(5, server.noOfMessages.get());
+        }
+    }
+
+    @Test
+    void send_afterIdleTimeout_opensNewConnection() throws Exception {
+        try (FakeSmtpServer server = new FakeSmtpServer()) {
+            SmtpTransportPool pool = new SmtpTransportPool(server.getProperties(), null, 2, 50);
+            new EmailSender("a@e.ntu.edu.sg", pool).send("CZ2002", "10001", "Tan");
+            Thread.sleep(300);
+            assertEquals(0, pool.getNoOfIdle());
+
+            new EmailSender("b@e.ntu.edu.sg", pool).send("CZ2002", "10001", "Tan");
+            pool.close();
+
+            assertEquals(2, server.noOfConnections.get());
+            assertEquals(2, server.noOfMessages.get());
+        }
+    }
+
+    @Test
+    void send_connectionClosedByServer_resendsOverNewConnection() throws Exception {
+        try (FakeSmtpServer server = new FakeSmtpServer()) {
+            server.messagesPerConnection = 1;
+            SmtpTransportPool pool = new SmtpTransportPool(server.getProperties(), null, 2, 60_000);
+            new EmailSender("a@e.ntu.edu.sg", pool).send("CZ2002", "10001", "Tan");
+            new EmailSender("b@e.ntu.edu.sg", pool).send("CZ2002", "10001", "Tan");
+            pool.close();
+
+            assertEquals(2, server.noOfMessages.get());
+        }
+    }
+
+    /**
+     * SMTP server on localhost that accepts every message.
+     */
+    private static class FakeSmtpServer implements AutoCloseable {
+
+        private final ServerSocket serverSocket = new ServerSocket(0, 0, InetAddress.getLoopbackAddress());
+
+        private final AtomicInteger noOfConnections = new AtomicInteger();
+
+        private final AtomicInteger noOfMessages = new AtomicInteger();
+
+        private volatile int messagesPerConnection = Integer.MAX_VALUE;
+
+        private FakeSmtpServer() throws IOException {
+            Thread acceptor = new Thread(() -> {
+                while (!serverSocket.isClosed()) {
+                    try {
+                        Socket socket = serverSocket.accept();
+                        noOfConnections.incrementAndGet();
+                        Thread handler = new Thread(() -> handle(socket));
+                        handler.setDaemon(true);
+                        handler.start();
+                    } catch (IOException e) {
+                        return;
+                    }
+                }
+            });
+            acceptor.setDaemon(true);
+            acceptor.start();
+        }
+
+        private Properties getProperties() {
+            Properties props = new Properties();
+            props.put("mail.smtp.host", serverSocket.getInetAddress().getHostAddress());
+            props.put("mail.smtp.port", String.valueOf(serverSocket.getLocalPort()));
+            return props;
+        }
+
+        private void handle(Socket socket) {
+            try (socket; BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(),
+                    StandardCharsets.US_ASCII)); PrintWriter out = new PrintWriter(socket.getOutputStream(), true)) {
+                out.print("220 localhost ESMTP\r\n");
+                out.flush();
+                int noOfMessagesOnConnection = 0;
+                for (String line = in.readLine(); line != null; line = in.readLine()) {
+                    String command = line.length() < 4 ? line.toUpperCase() : line.substring(0, 4).toUpperCase();
+                    if (command.equals("QUIT")) {
+                        out.print("221 Bye\r\n");
+                        out.flush();
+                        return;
+                    } else if (command.equals("DATA")) {
+                        out.print("354 End data with <CR><LF>.<CR><LF>\r\n");
+                        out.flush();
+                        for (String data = in.readLine(); data != null && !data.equals("."); data = in.readLine()) {
+                            // Message body is discarded.
+                        }
+                        noOfMessages.incrementAndGet();
+                        out.print("250 OK\r\n");
+                        out.flush();
+                        if (++noOfMessagesOnConnection >= messagesPerConnection) {
+                            return;
+                        }
+                    } else {
+                        out.print("250 OK\r\n");
+                        out.flush();
+                    }
+                }
+            } catch (IOException e) {
+                // Client disconnected.
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            serverSocket.close();
+        }
+    }
+}
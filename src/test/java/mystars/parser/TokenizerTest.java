@@ -0,0 +1,74 @@
+package mystars.parser;
+
+import mystars.data.course.lesson.LessonType;
+import mystars.data.exception.MyStarsException;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.time.LocalTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TokenizerTest {
+
+    @Test
+    void nextField_paddedFields_returnsTrimmedFields() throws IOException, MyStarsException {
+        Tokenizer tokenizer = new Tokenizer(new StringReader(" cz2001 | scse |10001"));
+        assertTrue(tokenizer.nextLine());
+        assertEquals("CZ2001", tokenizer.nextUpperCaseField('|'));
+        assertEquals("scse", tokenizer.nextField('|'));
+        assertEquals(10001, tokenizer.nextInt('|'));
+        assertFalse(tokenizer.hasMoreFields());
+    }
+
+    @Test
+    void nextLine_mixedLineEndings_returnsEveryLine() throws IOException, MyStarsException {
+        Tokenizer tokenizer = new Tokenizer(new StringReader("a\r\nb\rc\n"));
+        assertTrue(tokenizer.nextLine());
+        assertEquals("a", tokenizer.nextField('|'));
+        assertTrue(tokenizer.nextLine());
+        assertEquals("b", tokenizer.nextField('|'));
+        assertTrue(tokenizer.nextLine());
+        assertEquals("c", tokenizer.nextField('|'));
+        assertFalse(tokenizer.nextLine());
+    }
+
+    @Test
+    void nextSharedField_repeatedValue_returnsSameString() throws IOException, MyStarsException {
+        Tokenizer tokenizer = new Tokenizer(new StringReader("scse|x\nSCSE|y"));
+        tokenizer.nextLine();
+        String first = tokenizer.nextSharedUpperCaseField('|');
+        tokenizer.nextLine();
+        assertSame(first, tokenizer.nextSharedUpperCaseField('|'));
+    }
+
+    @Test
+    void nextTime_lessonDetails_returnsValues() throws IOException, MyStarsException {
+        Tokenizer tokenizer = new Tokenizer(new StringReader("lec~09:30~10:30*TUT"));
+        tokenizer.nextLine();
+        assertEquals(LessonType.LEC, tokenizer.nextEnum(LessonType.class, '~'));
+        assertEquals(LocalTime.of(9, 30), tokenizer.nextTime('~'));
+        assertEquals(LocalTime.of(10, 30), tokenizer.nextTime('*'));
+        assertEquals("TUT", tokenizer.nextField('*'));
+    }
+
+    @Test
+    void nextInt_notInteger_throwsNumberFormatException() throws IOException {
+        Tokenizer tokenizer = new Tokenizer(new StringReader("1a|"));
+        tokenizer.nextLine();
+        assertThrows(NumberFormatException.class, () -> tokenizer.nextInt('|'));
+    }
+
+    @Test
+    void nextField_noMoreFields_throwsMyStarsException() throws IOException, MyStarsException {
+        Tokenizer tokenizer = new Tokenizer(new StringReader("a"));
+        tokenizer.nextLine();
+        tokenizer.nextField('|');
+        assertThrows(MyStarsException.class, () -> tokenizer.nextField('|'));
+    }
+}
@@ -0,0 +1,190 @@
+package mystars.storage;
+
+import mystars.MyStars;
+import mystars.data.exception.MyStarsException;
+import mystars.data.sender.Notification;
+import mystars.data.sender.NotificationChannel;
+import mystars.data.sender.NotificationRouter;
+import mystars.data.sender.NotificationType;
+import mystars.data.sender.Sender;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class NotificationOutboxTest {
+
+    @Test
+    void add_failingSender_retriesUntilSent() throws Exception {
+        Path file = Files.createTempDirectory("outbox").resolve("outbox.txt");
+        AtomicInteger noOfAttempts = new AtomicInteger();
+        NotificationOutbox outbox = new NotificationOutbox(file, routerOf(email -> notification -> {
+            if (noOfAttempts.incrementAndGet() < 3) {
+                throw new MyStarsException("Failed to send notification!");
+            }
+        }), 10, 10);
+
+        outbox.add(List.of(notificationOf("a@e.ntu.edu.sg")));
+        waitUntilSent(outbox);
+        outbox.close();
+
+        assertEquals(3, noOfAttempts.get());
+        NotificationOutbox reloaded = new NotificationOutbox(file, routerOf(email -> notification -> {
+            throw new MyStarsException("Sent twice!");
+        }), 10, 10);
+        reloaded.start();
+        assertEquals(0, reloaded.getNoOfPending());
+        reloaded.close();
+    }
+
+    @Test
+    void start_notificationNotSent_sentAfterRestart() throws Exception {
+        Path file = Files.createTempDirectory("outbox").resolve("outbox.txt");
+        NotificationOutbox outbox = new NotificationOutbox(file, routerOf(email -> notification -> {
+            throw new MyStarsException("Failed to send notification!");
+        }), 60_000, 10);
+        outbox.add(List.of(notificationOf("a@e.ntu.edu.sg"), notificationOf("b@e.ntu.edu.sg")));
+        outbox.close();
+
+        List<String> sentTo = new CopyOnWriteArrayList<>();
+        NotificationOutbox restarted = new NotificationOutbox(file, routerOf(email -> notification ->
+                sentTo.add(email)), 10, 10);
+        restarted.start();
+        waitUntilSent(restarted);
+        restarted.close();
+
+        assertEquals(2, sentTo.size());
+        assertTrue(sentTo.contains("b@e.ntu.edu.sg"));
+    }
+
+    @Test
+    void add_notificationsToSameStudent_sentInBatches() throws Exception {
+        Path file = Files.createTempDirectory("outbox").resolve("outbox.txt");
+        List<String> batches = new CopyOnWriteArrayList<>();
+        NotificationOutbox outbox = new NotificationOutbox(file, routerOf(email -> new Sender() {
+            @Override
+            public void send(Notification notification) {
+                batches.add(email + " 1");
+            }
+
+            @Override
+            public void send(List<Notification> notifications) {
+                batches.add(email + " " + notifications.size());
+            }
+        }), 10, 2);
+
+        outbox.add(List.of(notificationOf("a@e.ntu.edu.sg"), notificationOf("b@e.ntu.edu.sg"),
+                notificationOf("a@e.ntu.edu.sg"), notificationOf("a@e.ntu.edu.sg")));
+        waitUntilSent(outbox);
+        outbox.close();
+
+        assertEquals(3, batches.size());
+        assertTrue(batches.contains("a@e.ntu.edu.sg 2"));
+        assertTrue(batches.contains("a@e.ntu.edu.sg 1"));
+        assertTrue(batches.contains("b@e.ntu.edu.sg 1"));
+    }
+
+    @Test
+    void add_notificationsOfDifferentEvents_sentInSeparateBatches() throws Exception {
+        Path file = Files.createTempDirectory("outbox").resolve("outbox.txt");
+        List<String> batches = new CopyOnWriteArrayList<>();
+        NotificationOutbox outbox = new NotificationOutbox(file, routerOf(email -> new Sender() {
+            @Override
+            public void send(Notification notification) {
+                batches.add(notification.getType() + " 1");
+            }
+
+            @Override
+            public void send(List<Notification> notifications) {
+                batches.add(notifications.get(0).getType() + " " + notifications.size());
+            }
+        }), 10, 10);
+
+        outbox.add(List.of(notificationOf("a@e.ntu.edu.sg"),
+                new Notification("a@e.ntu.edu.sg", "CZ2001", "10002", "Test User", NotificationType.DROP),
+                notificationOf("a@e.ntu.edu.sg")));
+        waitUntilSent(outbox);
+        outbox.close();
+
+        assertEquals(2, batches.size());
+        assertTrue(batches.contains("DROP 1"));
+        assertTrue(batches.contains("PROMOTION 2"));
+    }
+
+    @Test
+    void add_slowChannel_otherChannelsNotDelayed() throws Exception {
+        Path file = Files.createTempDirectory("outbox").resolve("outbox.txt");
+        CountDownLatch slowSent = new CountDownLatch(1);
+        CountDownLatch fastSent = new CountDownLatch(1);
+        NotificationRouter router = new NotificationRouter(List.of(
+                new NotificationChannel("slow", email -> notification -> {
+                    try {
+                        slowSent.await();
+                    } catch (InterruptedException e) {
+                        throw new MyStarsException("Interrupted!");
+                    }
+                }, 60_000, 1),
+                new NotificationChannel("fast", email -> notification ->
+                        fastSent.countDown(), 60_000, 1)));
+        NotificationOutbox outbox = new NotificationOutbox(file, router, 10, 10);
+
+        outbox.add(List.of(notificationOf("a@e.ntu.edu.sg")));
+
+        assertTrue(fastSent.await(5, TimeUnit.SECONDS));
+        assertEquals(1, outbox.getNoOfPending());
+        slowSent.countDown();
+        waitUntilSent(outbox);
+        outbox.close();
+    }
+
+    @Test
+    void start_malformedRecords_skipped() throws Exception {
+        Path file = Files.createTempDirectory("outbox").resolve("outbox.txt");
+        Files.writeString(file, String.join(System.lineSeparator(), "format",
+                "QUEUED|1|a@e.ntu.edu.sg|CZ2001|10001|Test User|DROP",
+                "QUEUED|x|b@e.ntu.edu.sg|CZ2001|10001|Test User|DROP",
+                "QUEUED|2|c@e.ntu.edu.sg|CZ2001|10001|Test User|UNKNOWN",
+                "QUEUED|3|d@e.ntu.edu.sg|CZ20"));
+        List<String> sentTo = new CopyOnWriteArrayList<>();
+        NotificationOutbox outbox = new NotificationOutbox(file, routerOf(email -> notification ->
+                sentTo.add(email)), 10, 10);
+
+        notificationOf("a@e.ntu.edu.sg");
+        outbox.start();
+        waitUntilSent(outbox);
+        outbox.close();
+
+        assertEquals(List.of("a@e.ntu.edu.sg"), sentTo);
+    }
+
+    private static NotificationRouter routerOf(Function<String, Sender> senderFactory) {
+        return new NotificationRouter(List.of(new NotificationChannel("test", senderFactory, 5000, 2)));
+    }
+
+    private static Notification notificationOf(String email) {
+        if (MyStars.logger == null) {
+            MyStars.logger = Logger.getLogger(MyStars.class.getName());
+            MyStars.logger.setLevel(Level.OFF);
+        }
+        return new Notification(email, "CZ2001", "10001", "Test User");
+    }
+
+    private static void waitUntilSent(NotificationOutbox outbox) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (outbox.getNoOfPending() > 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(0, outbox.getNoOfPending());
+    }
+}
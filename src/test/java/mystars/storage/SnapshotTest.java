@@ -0,0 +1,84 @@
+package mystars.storage;
+
+import mystars.data.course.Course;
+import mystars.data.course.CourseList;
+import mystars.data.course.lesson.Lesson;
+import mystars.data.course.lesson.LessonList;
+import mystars.data.course.lesson.LessonType;
+import mystars.data.course.lesson.Week;
+import mystars.data.shared.Gender;
+import mystars.data.user.Admin;
+import mystars.data.user.Student;
+import mystars.data.user.User;
+import mystars.data.user.UserList;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SnapshotTest {
+
+    @Test
+    void read_writtenSnapshot_sameUsersCoursesAndEnrolments() throws Exception {
+        Student tan = new Student("Tan", "U1920001A", Gender.M, "Singaporean", "Computer Science", 2,
+                "tan@e.ntu.edu.sg", "tan".toCharArray(), "hash1".toCharArray());
+        Student lim = new Student("Lim", "U1920002B", Gender.F, "Malaysian", "Computer Engineering", 1,
+                "lim@e.ntu.edu.sg", "lim".toCharArray(), "hash2".toCharArray());
+        Admin admin = new Admin("Lee", "S1234", Gender.F, "Singaporean", "lee");
+        admin.setPassword("hash3".toCharArray());
+        LessonList lessons = new LessonList();
+        lessons.addLesson(new Lesson(LessonType.LEC, "LT1", LocalTime.of(9, 30), LocalTime.of(10, 30),
+                DayOfWeek.MONDAY, Week.ODD, "CS1"));
+        Course course = new Course("CZ2001", "SCSE", "10001", 1, 3, lessons);
+        course.setRegisteredStudents(new ArrayList<>(List.of(tan)));
+        course.setWaitlistedStudents(new ArrayList<>(List.of(lim)));
+        long[] fingerprint = {1, 2, 3};
+
+        Path file = Files.createTempDirectory("snapshot").resolve("snapshot.bin");
+        Files.write(file, Snapshot.write(fingerprint, new UserList(new ArrayList<>(List.of(tan, admin, lim))),
+                new CourseList(new ArrayList<>(List.of(course)))));
+        Snapshot snapshot = Snapshot.read(file);
+
+        assertTrue(snapshot.isFresh(fingerprint));
+        ArrayList<User> users = snapshot.getUsers();
+        assertEquals(3, users.size());
+        Student readTan = (Student) users.get(0);
+        assertEquals("U1920001A", readTan.getMatricNo());
+        assertEquals("tan@e.ntu.edu.sg", readTan.getEmail());
+        assertArrayEquals("hash1".toCharArray(), readTan.getPassword());
+        assertArrayEquals("lee".toCharArray(), users.get(1).getUsername());
+
+        Course readCourse = snapshot.getCourses().get(0);
+        assertEquals("10001", readCourse.getIndexNumber());
+        Lesson readLesson = readCourse.getLessonList().getLessons().get(0);
+        assertEquals("LT1", readLesson.getVenue());
+        assertEquals(LocalTime.of(9, 30), readLesson.getStartTime());
+
+        assertEquals(1, snapshot.getRegisteredStudents().get(readCourse).size());
+        assertSame(readTan, snapshot.getRegisteredStudents().get(readCourse).get(0));
+        assertSame(users.get(2), snapshot.getWaitlistedStudents().get(readCourse).get(0));
+    }
+
+    @Test
+    void read_truncatedSnapshot_returnsNull() throws Exception {
+        Student tan = new Student("Tan", "U1920001A", Gender.M, "Singaporean", "Computer Science", 2,
+                "tan@e.ntu.edu.sg", "tan".toCharArray(), "hash1".toCharArray());
+        byte[] bytes = Snapshot.write(new long[]{1}, new UserList(new ArrayList<>(List.of(tan))), new CourseList());
+
+        Path file = Files.createTempDirectory("snapshot").resolve("snapshot.bin");
+        Files.write(file, Arrays.copyOf(bytes, bytes.length - 3));
+
+        assertNull(Snapshot.read(file));
+    }
+}
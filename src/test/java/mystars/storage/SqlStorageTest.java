@@ -0,0 +1,139 @@
+package mystars.storage;
+
+import mystars.MyStars;
+import mystars.data.course.Course;
+import mystars.data.course.CourseList;
+import mystars.data.shared.Gender;
+import mystars.data.user.Student;
+import mystars.parser.Parser;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+public class SqlStorageTest {
+
+    @Test
+    void bootstrap_emptyDatabase_importsTextFilesAndReloads() throws Exception {
+        Path folder = copyOfDb();
+        String url = urlOf(folder);
+
+        Bootstrap imported = new SqlStorage(new Parser(), url, new Storage(new Parser(), folder)).bootstrap();
+        Bootstrap text = new Storage(new Parser(), folder).bootstrap();
+        assertSameCourses(text.getCourses(), imported.getCourses());
+
+        Bootstrap reloaded = new SqlStorage(new Parser(), url, new Storage(new Parser(), folder)).bootstrap();
+        assertSameCourses(text.getCourses(), reloaded.getCourses());
+        assertEquals(text.getUsers().getUsers().size(), reloaded.getUsers().getUsers().size());
+        Student student = reloaded.getUsers().getStudentsByMatricNo().get("U1920301J");
+        assertEquals("IRVIN001", String.valueOf(student.getUsername()));
+        assertEquals(text.getUsers().getStudentsByMatricNo().get("U1920301J").getEmail(), student.getEmail());
+        assertArrayEquals(text.getAccessDateTime().getAccessDateTime(),
+                reloaded.getAccessDateTime().getAccessDateTime());
+    }
+
+    @Test
+    void saveEnrolments_registerDropWaitlistPromote_reloaded() throws Exception {
+        Path folder = copyOfDb();
+        String url = urlOf(folder);
+        SqlStorage storage = new SqlStorage(new Parser(), url, new Storage(new Parser(), folder));
+        Bootstrap bootstrap = storage.bootstrap();
+        CourseList courses = bootstrap.getCourses();
+        HashMap<String, Student> students = bootstrap.getUsers().getStudentsByMatricNo();
+
+        Course course = courses.getCourseByIndex("10001");
+        course.dropRegisteredStudent(students.get("U1920004N"));
+        assertFalse(course.promoteWaitlistedStudents().isEmpty());
+        courses.getCourseByIndex("10813").addWaitlistedStudent(students.get("U1920001N"));
+        courses.getCourseByIndex("10002").dropWaitlistedStudent(students.get("U2021021K"));
+        courses.getCourseByIndex("90830").addRegisteredStudent(students.get("U2021010M"));
+        storage.saveEnrolments(courses);
+
+        Bootstrap reloaded = new SqlStorage(new Parser(), url, new Storage(new Parser(), folder)).bootstrap();
+        assertSameCourses(courses, reloaded.getCourses());
+        List<String> registered = matricNosOf(reloaded.getCourses().getCourseByIndex("10001"), false);
+        assertEquals("U2021042T", registered.get(registered.size() - 1));
+        assertEquals(List.of("U2021050P"), matricNosOf(reloaded.getCourses().getCourseByIndex("10001"), true));
+    }
+
+    @Test
+    void saveCourses_changedAndRemovedCourses_reloaded() throws Exception {
+        Path folder = copyOfDb();
+        String url = urlOf(folder);
+        SqlStorage storage = new SqlStorage(new Parser(), url, new Storage(new Parser(), folder));
+        Bootstrap bootstrap = storage.bootstrap();
+        CourseList courses = bootstrap.getCourses();
+
+        Course course = courses.getCourseByIndex("10002");
+        int vacancies = course.getInitialVacancies() + 5;
+        courses.updateCourse(new Course(course.getCourseCode(), course.getSchool(), "10002", vacancies,
+                course.getNumOfAUs(), course.getLessonList()));
+        courses.dropCourse(courses.getCourseByIndex("90830"));
+        courses.addCourse(new Course("CZ9999", "SCSE", "99999", 10, 3, course.getLessonList()));
+        storage.saveCourses(courses);
+        storage.saveCourses(courses);
+
+        Student student = new Student("Test User", "U1999999Z", Gender.M, "Singaporean", "CSC", 1,
+                "test@e.ntu.edu.sg", "TEST999".toCharArray(), "hash".toCharArray());
+        storage.saveStudent(student);
+        LocalDateTime[] accessPeriod = {LocalDateTime.of(2099, 1, 1, 10, 0), LocalDateTime.of(2099, 1, 2, 17, 0)};
+        storage.saveAccessPeriod(accessPeriod);
+
+        Bootstrap reloaded = new SqlStorage(new Parser(), url, new Storage(new Parser(), folder)).bootstrap();
+        assertSameCourses(courses, reloaded.getCourses());
+        assertEquals(vacancies, reloaded.getCourses().getCourseByIndex("10002").getInitialVacancies());
+        assertNotNull(reloaded.getUsers().getStudentsByMatricNo().get("U1999999Z"));
+        assertArrayEquals(accessPeriod, reloaded.getAccessDateTime().getAccessDateTime());
+    }
+
+    private static void assertSameCourses(CourseList expected, CourseList actual) {
+        List<String> expectedCourses = expected.getCourses().stream().map(Course::getStorageString)
+                .collect(Collectors.toList());
+        assertEquals(expectedCourses, actual.getCourses().stream().map(Course::getStorageString)
+                .collect(Collectors.toList()));
+        for (Course course : expected.getCourses()) {
+            Course actualCourse = actual.getCourseByIndex(course.getIndexNumber());
+            assertEquals(matricNosOf(course, false), matricNosOf(actualCourse, false));
+            assertEquals(matricNosOf(course, true), matricNosOf(actualCourse, true));
+        }
+    }
+
+    private static List<String> matricNosOf(Course course, boolean isWaitlisted) {
+        List<Student> students = isWaitlisted ? course.getWaitlistedStudentList()
+                : course.getRegisteredStudentList();
+        return students.stream().map(Student::getMatricNo).collect(Collectors.toList());
+    }
+
+    private static String urlOf(Path folder) {
+        return "jdbc:h2:" + folder.resolve("mystars").toAbsolutePath();
+    }
+
+    private static Path copyOfDb() throws Exception {
+        if (MyStars.logger == null) {
+            MyStars.logger = Logger.getLogger(MyStars.class.getName());
+            MyStars.logger.setLevel(Level.OFF);
+        }
+        Path folder = Files.createTempDirectory("db");
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(Paths.get("db"), "*.txt")) {
+            for (Path file : files) {
+                if (!file.getFileName().toString().equals("journal.txt")) {
+                    Files.copy(file, folder.resolve(file.getFileName()));
+                }
+            }
+        }
+        return folder;
+    }
+}
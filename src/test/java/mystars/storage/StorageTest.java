@@ -0,0 +1,94 @@
+package mystars.storage;
+
+import mystars.MyStars;
+import mystars.data.course.Course;
+import mystars.data.user.Student;
+import mystars.parser.Parser;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class StorageTest {
+
+    private static final String JOURNAL_HEADER = "format: enrolment change|index number|matric no."
+            + System.lineSeparator();
+
+    @Test
+    void bootstrap_tornJournalTail_ignoredAndNextEntryOnOwnLine() throws Exception {
+        Path folder = copyOfDb();
+        Path journal = folder.resolve("journal.txt");
+        Files.writeString(journal, JOURNAL_HEADER + "DROP|10001|U1920301J" + System.lineSeparator()
+                + "REGISTER|10001|U1922");
+
+        Bootstrap bootstrap = new Storage(new Parser(), folder).bootstrap();
+
+        Course course = bootstrap.getCourses().getCourseByIndex("10001");
+        assertEquals(List.of("U1920001N", "U1920002P", "U1920003R", "U1920004N"), matricNosOf(course));
+        assertEquals(JOURNAL_HEADER + "DROP|10001|U1920301J" + System.lineSeparator(), Files.readString(journal));
+
+        Storage storage = new Storage(new Parser(), folder);
+        bootstrap = storage.bootstrap();
+        course = bootstrap.getCourses().getCourseByIndex("10001");
+        course.dropRegisteredStudent(course.getRegisteredStudentList().get(0));
+        storage.saveEnrolments(bootstrap.getCourses());
+
+        course = new Storage(new Parser(), folder).bootstrap().getCourses().getCourseByIndex("10001");
+        assertEquals(List.of("U1920002P", "U1920003R", "U1920004N"), matricNosOf(course));
+    }
+
+    @Test
+    void bootstrap_halfAppliedAndMalformedJournalEntries_replayedOnce() throws Exception {
+        Path folder = copyOfDb();
+        // Promotion already reached registered.txt, but not waitlist.txt.
+        Path registered = folder.resolve("registered.txt");
+        Files.writeString(registered, Files.readString(registered).replace("10001|U1920301J|U1920001N|U1920002P|"
+                + "U1920003R|U1920004N", "10001|U1920301J|U1920001N|U1920002P|U1920003R|U2021042T"));
+        Files.writeString(folder.resolve("journal.txt"), JOURNAL_HEADER
+                + "DROP|10001|U1920004N" + System.lineSeparator()
+                + "REGI" + System.lineSeparator()
+                + "ENROL|10001|U1920004N" + System.lineSeparator()
+                + "REGISTER|99999|U1920004N" + System.lineSeparator()
+                + "REGISTER|10001|U0000000X" + System.lineSeparator()
+                + "PROMOTE|10001|U2021042T" + System.lineSeparator());
+
+        Course course = new Storage(new Parser(), folder).bootstrap().getCourses().getCourseByIndex("10001");
+
+        assertEquals(List.of("U1920301J", "U1920001N", "U1920002P", "U1920003R", "U2021042T"),
+                matricNosOf(course));
+        List<String> waitlisted = course.getWaitlistedStudentList().stream().map(Student::getMatricNo)
+                .collect(Collectors.toList());
+        assertFalse(waitlisted.contains("U2021042T"));
+        assertTrue(waitlisted.contains("U2021050P"));
+    }
+
+    private static List<String> matricNosOf(Course course) {
+        return course.getRegisteredStudentList().stream().map(Student::getMatricNo).collect(Collectors.toList());
+    }
+
+    private static Path copyOfDb() throws Exception {
+        if (MyStars.logger == null) {
+            MyStars.logger = Logger.getLogger(MyStars.class.getName());
+            MyStars.logger.setLevel(Level.OFF);
+        }
+        Path folder = Files.createTempDirectory("db");
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(Paths.get("db"), "*.txt")) {
+            for (Path file : files) {
+                if (!file.getFileName().toString().equals("journal.txt")) {
+                    Files.copy(file, folder.resolve(file.getFileName()));
+                }
+            }
+        }
+        return folder;
+    }
+}